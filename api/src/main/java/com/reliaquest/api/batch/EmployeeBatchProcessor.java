@@ -0,0 +1,226 @@
+package com.reliaquest.api.batch;
+
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamUnavailableException;
+import com.reliaquest.api.model.ApiFetchResponse;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientResponseException;
+
+/**
+ * Runs bulk creates and deletes as a few upstream batch calls. Items are split into chunks of the configured size and
+ * the chunks are sent concurrently on the batch executor, whose thread count bounds how many are in flight; every
+ * chunk still goes through the upstream rate limiter. Each item gets its own result, so one failed chunk does not
+ * fail the whole request.
+ */
+@Component
+public class EmployeeBatchProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeBatchProcessor.class);
+
+    private static final int MIN_AGE = 16;
+    private static final int MAX_AGE = 75;
+
+    private final EmployeeUpstreamClient upstreamClient;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final Executor batchExecutor;
+    private final int chunkSize;
+
+    public EmployeeBatchProcessor(
+            EmployeeUpstreamClient upstreamClient,
+            EmployeeSnapshotCache snapshotCache,
+            @Qualifier("upstreamBatchExecutor") Executor batchExecutor,
+            @Value("${api.employee.batch.chunk-size:100}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Batch chunk size must be positive: " + chunkSize);
+        }
+        this.upstreamClient = upstreamClient;
+        this.snapshotCache = snapshotCache;
+        this.batchExecutor = batchExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return one result per input, in input order; inputs the upstream would reject fail without an upstream call,
+     *     so they cannot fail the valid inputs sent in the same chunk
+     */
+    public List<BatchItemResult> createAll(List<CreateMockEmployeeInput> inputs) {
+        BatchItemResult[] results = new BatchItemResult[inputs.size()];
+        List<Integer> indexes = new ArrayList<>(inputs.size());
+        List<CreateMockEmployeeInput> valid = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            String invalid = validate(inputs.get(i));
+            if (Objects.isNull(invalid)) {
+                valid.add(inputs.get(i));
+                indexes.add(i);
+            } else {
+                results[i] = BatchItemResult.failed(i, "Invalid input: " + invalid);
+            }
+        }
+        run(
+                "create",
+                indexes,
+                valid,
+                upstreamClient::createAll,
+                (index, employee) -> {
+                    if (Objects.isNull(employee)) {
+                        return BatchItemResult.failed(index, "Upstream returned no employee");
+                    }
+                    return new BatchItemResult(index, BatchItemResult.Status.CREATED, employee, null);
+                },
+                results);
+        snapshotCache.onCreated(Arrays.stream(results)
+                .filter(BatchItemResult::isSuccessful)
+                .map(BatchItemResult::getEmployee)
+                .toList());
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @return one result per id, in input order; ids that are not UUIDs fail without an upstream call
+     */
+    public List<BatchItemResult> deleteAll(List<String> ids) {
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Integer> indexes = new ArrayList<>(ids.size());
+        List<UUID> uuids = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            try {
+                uuids.add(UUID.fromString(Objects.requireNonNull(ids.get(i))));
+                indexes.add(i);
+            } catch (RuntimeException ex) {
+                results[i] = BatchItemResult.failed(i, "Invalid id: " + ids.get(i));
+            }
+        }
+        run(
+                "delete",
+                indexes,
+                uuids,
+                upstreamClient::deleteAll,
+                (index, employee) -> {
+                    if (Objects.isNull(employee)) {
+                        return new BatchItemResult(index, BatchItemResult.Status.NOT_FOUND, null, null);
+                    }
+                    return new BatchItemResult(index, BatchItemResult.Status.DELETED, employee, null);
+                },
+                results);
+        Set<UUID> deleted = new HashSet<>();
+        for (BatchItemResult result : results) {
+            if (result.isSuccessful()) {
+                deleted.add(result.getEmployee().getId());
+            }
+        }
+        snapshotCache.onDeleted(deleted);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Sends {@code items} in chunks and stores a result for each at its original index. The upstream answers each
+     * chunk with one employee (or {@code null}) per item, in chunk order.
+     */
+    private <T> void run(
+            String operation,
+            List<Integer> indexes,
+            List<T> items,
+            Function<List<T>, ResponseEntity<ApiFetchResponse>> call,
+            BiFunction<Integer, MockEmployee, BatchItemResult> toResult,
+            BatchItemResult[] results) {
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<Integer> chunkIndexes = indexes.subList(from, Math.min(items.size(), from + chunkSize));
+            List<T> chunkItems = items.subList(from, Math.min(items.size(), from + chunkSize));
+            chunks.add(CompletableFuture.runAsync(
+                            () -> {
+                                List<MockEmployee> employees = sendChunk(operation, chunkItems, call);
+                                for (int i = 0; i < chunkIndexes.size(); i++) {
+                                    results[chunkIndexes.get(i)] =
+                                            toResult.apply(chunkIndexes.get(i), employees.get(i));
+                                }
+                            },
+                            batchExecutor)
+                    .exceptionally(ex -> {
+                        Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                        logger.error("Batch " + operation + " of " + chunkItems.size() + " item(s) failed: " + cause);
+                        String error = describe(cause);
+                        chunkIndexes.forEach(index -> results[index] = BatchItemResult.failed(index, error));
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        logger.info("Batch " + operation + " of " + items.size() + " item(s) sent in " + chunks.size() + " chunk(s)");
+    }
+
+    private static <T> List<MockEmployee> sendChunk(
+            String operation, List<T> chunk, Function<List<T>, ResponseEntity<ApiFetchResponse>> call) {
+        ResponseEntity<ApiFetchResponse> response = call.apply(chunk);
+        if (response.getStatusCode() != HttpStatus.OK
+                || Objects.isNull(response.getBody())
+                || Objects.isNull(response.getBody().getData())
+                || response.getBody().getData().size() != chunk.size()) {
+            throw new IllegalStateException("Upstream batch " + operation + " answered "
+                    + response.getStatusCode().value() + ": " + response.getBody());
+        }
+        return response.getBody().getData();
+    }
+
+    /**
+     * Same constraints the upstream checks, so an invalid item fails alone instead of failing its whole chunk, and an
+     * invalid single create is turned away without an upstream call.
+     *
+     * @return what is invalid, or {@code null} if the input is valid
+     */
+    public static String validate(CreateMockEmployeeInput input) {
+        if (Objects.isNull(input)) {
+            return "missing employee";
+        }
+        if (!StringUtils.hasText(input.getName())) {
+            return "name must not be blank";
+        }
+        if (Objects.isNull(input.getSalary()) || input.getSalary() <= 0) {
+            return "salary must be positive";
+        }
+        if (Objects.isNull(input.getAge()) || input.getAge() < MIN_AGE || input.getAge() > MAX_AGE) {
+            return "age must be between " + MIN_AGE + " and " + MAX_AGE;
+        }
+        if (!StringUtils.hasText(input.getTitle())) {
+            return "title must not be blank";
+        }
+        return null;
+    }
+
+    /**
+     * @return a short reason for the client; the details are only logged, as they may carry upstream internals
+     */
+    private static String describe(Throwable ex) {
+        if (ex instanceof UpstreamUnavailableException unavailable) {
+            return "Upstream unavailable, retry after " + unavailable.getRetryAfterSeconds() + "s";
+        }
+        if (ex instanceof RestClientResponseException response) {
+            return response.getStatusCode().is4xxClientError()
+                    ? "Upstream rejected the input (" + response.getStatusCode().value() + ")"
+                    : "Upstream failed (" + response.getStatusCode().value() + ")";
+        }
+        return "Upstream batch call failed";
+    }
+}
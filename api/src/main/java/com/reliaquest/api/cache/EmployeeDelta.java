@@ -0,0 +1,55 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Creates and deletes to apply to an employee list: every employee whose id is in {@code removed} is dropped, then
+ * {@code created} is appended. The ids of created employees are always in {@code removed} too, so applying a create
+ * that is already in the list replaces it instead of adding it twice, and applying a delta more than once changes
+ * nothing.
+ *
+ * @param created employees to append, in order
+ * @param removed ids of the deleted employees and of the created ones
+ */
+public record EmployeeDelta(List<MockEmployee> created, Set<UUID> removed) {
+
+    public EmployeeDelta {
+        created = List.copyOf(created);
+        Set<UUID> ids = new HashSet<>(removed);
+        created.forEach(employee -> ids.add(employee.getId()));
+        removed = Collections.unmodifiableSet(ids);
+    }
+
+    public static EmployeeDelta created(Collection<MockEmployee> employees) {
+        return new EmployeeDelta(List.copyOf(employees), Set.of());
+    }
+
+    public static EmployeeDelta deleted(Set<UUID> ids) {
+        return new EmployeeDelta(List.of(), ids);
+    }
+
+    public boolean isEmpty() {
+        return removed.isEmpty();
+    }
+
+    /**
+     * @return a new list with this delta applied to {@code employees}
+     */
+    public List<MockEmployee> applyTo(List<MockEmployee> employees) {
+        List<MockEmployee> updated = new ArrayList<>(employees.size() + created.size());
+        for (MockEmployee employee : employees) {
+            if (!removed.contains(employee.getId())) {
+                updated.add(employee);
+            }
+        }
+        updated.addAll(created);
+        return updated;
+    }
+}
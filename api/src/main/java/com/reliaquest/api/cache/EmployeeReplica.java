@@ -0,0 +1,226 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeFeedSnapshot;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamUnavailableException;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.MockEmployee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Local copy of the upstream employee list, kept current by following the upstream change feed instead of refetching
+ * the list. It starts from one full fetch, then long polls for the creates and deletes made since and applies them;
+ * the list is fetched again only when the feed can no longer continue from the replica's position, because the
+ * changes were evicted or the upstream restarted.
+ *
+ * <p>Changes are coalesced into one {@link EmployeeDelta} and applied to the {@link EmployeeSnapshotCache} snapshot
+ * once the feed has no more, or at the latest every {@code publish-interval} while it keeps delivering. A steady stream
+ * of changes thus costs one copy of the list per interval rather than one per poll. Every empty poll confirms the
+ * snapshot, so the cache stays fresh without refetching. While the upstream is unreachable, rate limiting us or
+ * failing fast, reads keep being served from the last state and the replica retries with exponential backoff.
+ *
+ * <p>Enabled with {@code api.employee.replica.enabled}.
+ */
+@Component
+@ConditionalOnProperty(name = "api.employee.replica.enabled", havingValue = "true")
+public class EmployeeReplica implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeReplica.class);
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+    private final EmployeeUpstreamClient upstreamClient;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final Duration pollWait;
+    private final long publishIntervalNanos;
+    private final Duration maxBackoff;
+    private final boolean virtualThread;
+
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder appliedChanges = new LongAdder();
+    private volatile boolean running;
+    private Thread thread;
+
+    // Only touched by the replica thread; employees is null until the first full fetch and after the feed is lost.
+    private LinkedHashMap<UUID, MockEmployee> employees;
+    private String epoch;
+    private volatile long sequence;
+    // Changes received but not yet applied to the cache, and since when the oldest of them is pending.
+    private final LinkedHashMap<UUID, MockEmployee> pendingCreated = new LinkedHashMap<>();
+    private final Set<UUID> pendingRemoved = new HashSet<>();
+    private long pendingSinceNanos;
+
+    public EmployeeReplica(
+            EmployeeUpstreamClient upstreamClient,
+            EmployeeSnapshotCache snapshotCache,
+            @Value("${api.employee.replica.poll-wait:4s}") Duration pollWait,
+            @Value("${api.employee.replica.publish-interval:1s}") Duration publishInterval,
+            @Value("${api.employee.replica.max-backoff:30s}") Duration maxBackoff,
+            @Value("${api.upstream.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThread) {
+        if (pollWait.toSeconds() < 1 || pollWait.compareTo(readTimeout) >= 0) {
+            throw new IllegalArgumentException(
+                    "Replica poll wait must be at least 1s and below the upstream read timeout "
+                            + readTimeout.toMillis() + "ms, was " + pollWait.toMillis() + "ms");
+        }
+        this.upstreamClient = upstreamClient;
+        this.snapshotCache = snapshotCache;
+        this.pollWait = pollWait;
+        this.publishIntervalNanos = publishInterval.toNanos();
+        this.maxBackoff = maxBackoff;
+        this.virtualThread = virtualThread;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        Thread.Builder builder =
+                virtualThread ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        thread = builder.name("employee-replica").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    /**
+     * Fetches the full list if the replica has none, otherwise fetches and applies the next changes: waiting for them
+     * if none are pending, else only taking those already there so the pending ones are not held back.
+     *
+     * @throws HttpClientErrorException.Gone if the feed cannot continue from the replica's position; the next call
+     *     fetches the full list again
+     */
+    void sync() {
+        if (Objects.isNull(employees)) {
+            resync();
+            return;
+        }
+        boolean pending = !pendingRemoved.isEmpty();
+        List<EmployeeChange> changes;
+        try {
+            changes = upstreamClient.fetchChanges(epoch, sequence, pending ? Duration.ZERO : pollWait);
+        } catch (HttpClientErrorException.Gone ex) {
+            employees = null;
+            throw ex;
+        }
+        if (changes.isEmpty()) {
+            if (pending) {
+                publish();
+            } else {
+                snapshotCache.confirm();
+            }
+            return;
+        }
+        if (!pending) {
+            pendingSinceNanos = System.nanoTime();
+        }
+        for (EmployeeChange change : changes) {
+            if (change.getType() == EmployeeChange.Type.CREATED) {
+                employees.put(change.getId(), change.getEmployee());
+                pendingCreated.put(change.getId(), change.getEmployee());
+            } else {
+                employees.remove(change.getId());
+                pendingCreated.remove(change.getId());
+            }
+            // Created ids are removed too, so the delta replaces rather than duplicates an employee already cached.
+            pendingRemoved.add(change.getId());
+            sequence = change.getSequence();
+        }
+        appliedChanges.add(changes.size());
+        logger.debug(changes.size() + " change(s) applied to replica, sequence=" + sequence);
+        if (System.nanoTime() - pendingSinceNanos >= publishIntervalNanos) {
+            publish();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("api.employee.replica.resyncs", resyncs, LongAdder::sum)
+                .description("Full fetches of the upstream list by the replica")
+                .register(registry);
+        FunctionCounter.builder("api.employee.replica.changes", appliedChanges, LongAdder::sum)
+                .description("Upstream changes applied to the replica")
+                .register(registry);
+        Gauge.builder("api.employee.replica.sequence", this, replica -> replica.sequence)
+                .description("Position of the replica in the upstream change feed")
+                .register(registry);
+    }
+
+    /**
+     * Applies the pending changes to the cached snapshot, or installs the whole replica if none is cached.
+     */
+    private void publish() {
+        EmployeeDelta delta = new EmployeeDelta(List.copyOf(pendingCreated.values()), pendingRemoved);
+        pendingCreated.clear();
+        pendingRemoved.clear();
+        if (!snapshotCache.applyUpstream(delta)) {
+            snapshotCache.replace(List.copyOf(employees.values()));
+        }
+    }
+
+    private void resync() {
+        EmployeeFeedSnapshot snapshot = upstreamClient.fetchFeedSnapshot();
+        LinkedHashMap<UUID, MockEmployee> fetched =
+                new LinkedHashMap<>(Math.max(16, snapshot.employees().size() * 4 / 3 + 1));
+        snapshot.employees().forEach(employee -> fetched.put(employee.getId(), employee));
+        employees = fetched;
+        pendingCreated.clear();
+        pendingRemoved.clear();
+        epoch = snapshot.epoch();
+        sequence = snapshot.sequence();
+        resyncs.increment();
+        snapshotCache.replace(snapshot.employees());
+        logger.info("Replica loaded " + fetched.size() + " Record(s) at epoch=" + epoch + " sequence=" + sequence);
+    }
+
+    private void run() {
+        Duration backoff = INITIAL_BACKOFF;
+        while (running) {
+            try {
+                sync();
+                backoff = INITIAL_BACKOFF;
+            } catch (HttpClientErrorException.Gone ex) {
+                logger.info("Upstream change feed cannot continue from sequence=" + sequence + ", resyncing replica");
+            } catch (UpstreamUnavailableException ex) {
+                logger.warn(
+                        "Replica sync turned away, retry after " + ex.getRetryAfterSeconds() + "s: " + ex.getMessage());
+                sleep(ex.getRetryAfter());
+            } catch (RuntimeException ex) {
+                logger.warn("Replica sync failed, retry in " + backoff.toMillis() + "ms: " + ex.getMessage());
+                sleep(backoff);
+                backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the employee list as known to this API at a point in time.
+ *
+ * @param version monotonically increasing number, bumped on every refresh and on every local write
+ * @param employees the employees, never {@code null}
+ * @param refreshedAt when the data was last confirmed against the upstream server
+ */
+public record EmployeeSnapshot(long version, List<MockEmployee> employees, Instant refreshedAt) {}
@@ -0,0 +1,470 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamUnavailableException;
+import com.reliaquest.api.model.MockEmployee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Holds the last known employee list so read endpoints do not each pay an upstream round trip.
+ *
+ * <p>The first read loads the list synchronously. Once the snapshot is older than the configured TTL, reads keep
+ * being served from it while a single background refresh fetches a new one (stale-while-revalidate). Writes made
+ * through this API are applied to the snapshot directly, so callers see their own creates and deletes immediately.
+ * Writes applied while a background refresh is in flight are replayed onto the list it loads, so the refresh neither
+ * overwrites them nor is thrown away because of them.
+ *
+ * <p>Reactive callers read through {@link #getAsync}, which loads and refreshes the same way without blocking. A list
+ * it loads is copied and installed on a separate scheduler, not on the thread that delivered it, which for a
+ * non-blocking client is one of the few event loop threads every call in flight shares.
+ *
+ * <p>Every new snapshot is passed to the {@link EmployeeSnapshotListener}s, with the {@link EmployeeDelta} that
+ * produced it when it came from a local write.
+ *
+ * <p>Reads are counted as {@code api.employee.cache.requests} by result: {@code hit}, {@code stale} (served while
+ * refreshing) or {@code miss} (loaded synchronously).
+ */
+@Component
+public class EmployeeSnapshotCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSnapshotCache.class);
+
+    private final Supplier<List<MockEmployee>> loader;
+    private final Executor refreshExecutor;
+    private final Duration ttl;
+    private final Clock clock;
+    private final List<EmployeeSnapshotListener> listeners;
+    private final Scheduler installScheduler;
+
+    private final AtomicReference<EmployeeSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // Serializes changes to current; reads stay lock-free.
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Guarded by writeLock. The local writes applied since the refresh in flight started, to be replayed onto the list
+    // it loads; null while no refresh is in flight, or once a replacement made its result obsolete.
+    private List<EmployeeDelta> writesDuringRefresh;
+    private final AtomicLong versions = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Autowired
+    public EmployeeSnapshotCache(
+            EmployeeUpstreamClient upstreamClient,
+            @Qualifier("employeeRefreshExecutor") Executor refreshExecutor,
+            @Value("${api.employee.cache.ttl:30s}") Duration ttl,
+            ObjectProvider<EmployeeSnapshotListener> listeners) {
+        this(
+                upstreamClient::fetchAll,
+                refreshExecutor,
+                ttl,
+                Clock.systemUTC(),
+                listeners.orderedStream().toList(),
+                Schedulers.boundedElastic());
+    }
+
+    EmployeeSnapshotCache(Supplier<List<MockEmployee>> loader, Executor refreshExecutor, Duration ttl, Clock clock) {
+        this(loader, refreshExecutor, ttl, clock, List.of());
+    }
+
+    EmployeeSnapshotCache(
+            Supplier<List<MockEmployee>> loader,
+            Executor refreshExecutor,
+            Duration ttl,
+            Clock clock,
+            List<EmployeeSnapshotListener> listeners) {
+        this(loader, refreshExecutor, ttl, clock, listeners, Schedulers.immediate());
+    }
+
+    EmployeeSnapshotCache(
+            Supplier<List<MockEmployee>> loader,
+            Executor refreshExecutor,
+            Duration ttl,
+            Clock clock,
+            List<EmployeeSnapshotListener> listeners,
+            Scheduler installScheduler) {
+        this.loader = loader;
+        this.refreshExecutor = refreshExecutor;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.listeners = listeners;
+        this.installScheduler = installScheduler;
+    }
+
+    /**
+     * Returns the current snapshot, loading it synchronously if none is cached yet. An expired snapshot is still
+     * returned, but schedules a background refresh.
+     */
+    public EmployeeSnapshot get() {
+        EmployeeSnapshot snapshot = current.get();
+        if (Objects.isNull(snapshot)) {
+            misses.increment();
+            return install(loader.get(), null);
+        }
+        if (isExpired(snapshot)) {
+            staleHits.increment();
+            refreshAsync(snapshot);
+        } else {
+            hits.increment();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Like {@link #get()}, but without blocking: a missing snapshot is loaded, and an expired one refreshed in the
+     * background, through {@code loader} when the returned {@link Mono} is subscribed.
+     *
+     * @param loader makes the upstream call for the full list, such as a reactive client's fetch
+     */
+    public Mono<EmployeeSnapshot> getAsync(Supplier<Mono<List<MockEmployee>>> loader) {
+        return Mono.defer(() -> {
+            EmployeeSnapshot snapshot = current.get();
+            if (Objects.isNull(snapshot)) {
+                misses.increment();
+                return loader.get().publishOn(installScheduler).map(employees -> install(employees, null));
+            }
+            if (isExpired(snapshot)) {
+                staleHits.increment();
+                refreshAsync(snapshot, loader);
+            } else {
+                hits.increment();
+            }
+            return Mono.just(snapshot);
+        });
+    }
+
+    /**
+     * Returns the current snapshot without loading or refreshing it, or {@code null} if nothing is cached.
+     */
+    public EmployeeSnapshot peek() {
+        return current.get();
+    }
+
+    public boolean isExpired(EmployeeSnapshot snapshot) {
+        return snapshot.refreshedAt().plus(ttl).isBefore(clock.instant());
+    }
+
+    /**
+     * @return the time since the snapshot was last known to match the upstream
+     */
+    public Duration age(EmployeeSnapshot snapshot) {
+        return Duration.between(snapshot.refreshedAt(), clock.instant());
+    }
+
+    /**
+     * Applies an employee created through this API to the cached snapshot, if any.
+     */
+    public void onCreated(MockEmployee employee) {
+        onCreated(List.of(employee));
+    }
+
+    /**
+     * Applies employees created through this API to the cached snapshot, if any, in a single update.
+     */
+    public void onCreated(Collection<MockEmployee> created) {
+        update(EmployeeDelta.created(created));
+    }
+
+    /**
+     * Removes an employee deleted through this API from the cached snapshot, if any.
+     */
+    public void onDeleted(UUID id) {
+        onDeleted(Set.of(id));
+    }
+
+    /**
+     * Removes employees deleted through this API from the cached snapshot, if any, in a single update.
+     */
+    public void onDeleted(Set<UUID> ids) {
+        update(EmployeeDelta.deleted(ids));
+    }
+
+    /**
+     * Installs a list known to match the upstream, such as one kept in sync by an {@link EmployeeReplica}, in place of
+     * the cached snapshot and any local writes applied to it.
+     */
+    public void replace(List<MockEmployee> employees) {
+        EmployeeSnapshot fresh =
+                new EmployeeSnapshot(versions.incrementAndGet(), List.copyOf(employees), clock.instant());
+        writeLock.lock();
+        try {
+            publish(fresh, null);
+            writesDuringRefresh = null;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.debug("Employee snapshot replaced with version=" + fresh.version() + " with " + employees.size()
+                + " Record(s)");
+    }
+
+    /**
+     * Applies changes read from the upstream, such as those an {@link EmployeeReplica} follows, to the cached snapshot.
+     * Unlike a local write this restarts the TTL, as the result is known to match the upstream.
+     *
+     * @return {@code false} if no snapshot is cached, in which case nothing is applied
+     */
+    public boolean applyUpstream(EmployeeDelta delta) {
+        EmployeeSnapshot updated;
+        writeLock.lock();
+        try {
+            EmployeeSnapshot snapshot = current.get();
+            if (Objects.isNull(snapshot)) {
+                return false;
+            }
+            updated = new EmployeeSnapshot(
+                    versions.incrementAndGet(), List.copyOf(delta.applyTo(snapshot.employees())), clock.instant());
+            publish(updated, delta);
+            if (Objects.nonNull(writesDuringRefresh)) {
+                writesDuringRefresh.add(delta);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        logger.debug("Employee snapshot updated from upstream changes to version=" + updated.version());
+        return true;
+    }
+
+    /**
+     * Records that the cached snapshot, if any, still matches the upstream, which restarts its TTL.
+     */
+    public void confirm() {
+        writeLock.lock();
+        try {
+            EmployeeSnapshot snapshot = current.get();
+            if (Objects.nonNull(snapshot)) {
+                current.set(new EmployeeSnapshot(snapshot.version(), snapshot.employees(), clock.instant()));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached snapshot; the next read loads a fresh one synchronously.
+     */
+    public void invalidate() {
+        writeLock.lock();
+        try {
+            current.set(null);
+            writesDuringRefresh = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        requestCounter(registry, "hit", hits);
+        requestCounter(registry, "stale", staleHits);
+        requestCounter(registry, "miss", misses);
+        Gauge.builder("api.employee.cache.size", current, reference -> {
+                    EmployeeSnapshot snapshot = reference.get();
+                    return Objects.isNull(snapshot) ? 0 : snapshot.employees().size();
+                })
+                .description("Employees in the cached snapshot")
+                .register(registry);
+        Gauge.builder("api.employee.cache.age", current, reference -> {
+                    EmployeeSnapshot snapshot = reference.get();
+                    return Objects.isNull(snapshot) ? 0 : age(snapshot).toMillis() / 1000d;
+                })
+                .description("Time since the cached snapshot was loaded from upstream")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private static void requestCounter(MeterRegistry registry, String result, LongAdder count) {
+        FunctionCounter.builder("api.employee.cache.requests", count, LongAdder::sum)
+                .description("Snapshot reads by result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private void update(EmployeeDelta delta) {
+        EmployeeSnapshot updated;
+        writeLock.lock();
+        try {
+            EmployeeSnapshot snapshot = current.get();
+            if (Objects.isNull(snapshot)) {
+                return;
+            }
+            // Keeps refreshedAt: a local write does not confirm the rest of the list against the upstream.
+            updated = new EmployeeSnapshot(
+                    versions.incrementAndGet(),
+                    List.copyOf(delta.applyTo(snapshot.employees())),
+                    snapshot.refreshedAt());
+            publish(updated, delta);
+            if (Objects.nonNull(writesDuringRefresh)) {
+                writesDuringRefresh.add(delta);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        logger.debug("Employee snapshot updated locally to version=" + updated.version());
+    }
+
+    /**
+     * Caches {@code snapshot} and tells the listeners; to be called holding the write lock.
+     */
+    private void publish(EmployeeSnapshot snapshot, EmployeeDelta delta) {
+        EmployeeSnapshot previous = current.getAndSet(snapshot);
+        for (EmployeeSnapshotListener listener : listeners) {
+            listener.onSnapshotChanged(previous, snapshot, delta);
+        }
+    }
+
+    private void refreshAsync(EmployeeSnapshot basis) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        // Started before the load, so every write the loaded list might miss is recorded.
+        startRefresh();
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    completeRefresh(loader.get());
+                } catch (UpstreamUnavailableException ex) {
+                    abandonRefresh();
+                    logger.warn("Background refresh failed, still serving snapshot version=" + basis.version() + ": "
+                            + ex.getMessage());
+                } catch (RuntimeException ex) {
+                    abandonRefresh();
+                    logger.warn("Background refresh failed, still serving snapshot version=" + basis.version(), ex);
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            abandonRefresh();
+            refreshing.set(false);
+            logger.warn("Background refresh rejected, still serving snapshot version=" + basis.version());
+        }
+    }
+
+    private void refreshAsync(EmployeeSnapshot basis, Supplier<Mono<List<MockEmployee>>> loader) {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        startRefresh();
+        Mono.defer(loader)
+                .publishOn(installScheduler)
+                .subscribe(
+                        this::completeRefresh,
+                        ex -> {
+                            abandonRefresh();
+                            refreshing.set(false);
+                            if (ex instanceof UpstreamUnavailableException) {
+                                logger.warn("Background refresh failed, still serving snapshot version="
+                                        + basis.version() + ": " + ex.getMessage());
+                            } else {
+                                logger.warn(
+                                        "Background refresh failed, still serving snapshot version=" + basis.version(),
+                                        ex);
+                            }
+                        },
+                        () -> {
+                            // A no-op once completeRefresh ran; drops the recorded writes if nothing was loaded.
+                            abandonRefresh();
+                            refreshing.set(false);
+                        });
+    }
+
+    private void startRefresh() {
+        writeLock.lock();
+        try {
+            writesDuringRefresh = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void abandonRefresh() {
+        writeLock.lock();
+        try {
+            writesDuringRefresh = null;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Installs the list loaded by the refresh in flight, with the local writes applied since it started replayed onto
+     * it. Replaying a write the upstream already included changes nothing. The list is dropped if the snapshot was
+     * replaced or invalidated in the meantime.
+     */
+    private void completeRefresh(List<MockEmployee> employees) {
+        EmployeeSnapshot fresh;
+        writeLock.lock();
+        try {
+            if (Objects.isNull(writesDuringRefresh)) {
+                logger.debug("Background refresh discarded, the snapshot was replaced while it ran");
+                return;
+            }
+            List<MockEmployee> rebased = employees;
+            for (EmployeeDelta write : writesDuringRefresh) {
+                rebased = write.applyTo(rebased);
+            }
+            fresh = new EmployeeSnapshot(versions.incrementAndGet(), List.copyOf(rebased), clock.instant());
+            publish(fresh, null);
+            writesDuringRefresh = null;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.debug("Employee snapshot refreshed to version=" + fresh.version() + " with "
+                + fresh.employees().size() + " Record(s)");
+    }
+
+    /**
+     * Installs a list loaded by the caller in place of {@code basis}, the snapshot it was loaded to replace
+     * ({@code null} for none). If the snapshot changed in the meantime, through a local write or another load, that
+     * one is kept instead.
+     *
+     * @return the snapshot now cached
+     */
+    private EmployeeSnapshot install(List<MockEmployee> employees, EmployeeSnapshot basis) {
+        EmployeeSnapshot fresh =
+                new EmployeeSnapshot(versions.incrementAndGet(), List.copyOf(employees), clock.instant());
+        writeLock.lock();
+        try {
+            if (current.get() != basis) {
+                // Another load or a local write won the race. Keep that view, it is refreshed again once expired.
+                EmployeeSnapshot winner = current.get();
+                return Objects.nonNull(winner) ? winner : fresh;
+            }
+            publish(fresh, null);
+        } finally {
+            writeLock.unlock();
+        }
+        logger.debug("Employee snapshot refreshed to version=" + fresh.version() + " with " + employees.size()
+                + " Record(s)");
+        return fresh;
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.api.cache;
+
+/**
+ * Told about every new {@link EmployeeSnapshot} the {@link EmployeeSnapshotCache} installs, so state derived from
+ * the employee list can follow small changes without being rebuilt from the whole list.
+ */
+public interface EmployeeSnapshotListener {
+
+    /**
+     * Called in order, while the cache holds its write lock, so it must be quick.
+     *
+     * @param previous the snapshot replaced, or {@code null} if there was none
+     * @param current the snapshot now cached
+     * @param delta how {@code current}'s list differs from {@code previous}'s, or {@code null} if it was replaced as a
+     *     whole
+     */
+    void onSnapshotChanged(EmployeeSnapshot previous, EmployeeSnapshot current, EmployeeDelta delta);
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caps the calls of one upstream operation in flight at a time, so an operation whose calls stall cannot hold every
+ * upstream connection and request thread while the other operations wait behind it.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException(
+                    "Bulkhead " + name + " must admit at least 1 call, was " + maxConcurrent);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    /**
+     * Makes the call once fewer than the maximum number of calls are in flight.
+     *
+     * @throws UpstreamBulkheadFullException if no call finished within the configured maximum wait
+     */
+    public <T> T execute(Supplier<T> call) {
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new UpstreamBulkheadFullException(
+                        "Too many upstream " + name + " calls in flight", Duration.ofSeconds(1));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamBulkheadFullException(
+                    "Interrupted while waiting for upstream " + name, Duration.ofSeconds(1));
+        }
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Takes a slot without waiting, for a call that holds no thread while in flight. The slot must be given back with
+     * {@link #release()} once the call has finished.
+     *
+     * @throws UpstreamBulkheadFullException if every slot is taken
+     */
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            throw new UpstreamBulkheadFullException(
+                    "Too many upstream " + name + " calls in flight", Duration.ofSeconds(1));
+        }
+    }
+
+    /**
+     * Gives back a slot taken with {@link #acquire()}.
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * @return the number of calls currently in flight
+     */
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of calls turned away since the bulkhead was created
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
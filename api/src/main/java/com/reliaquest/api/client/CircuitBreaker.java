@@ -0,0 +1,289 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stops calling an upstream operation that keeps failing, so callers get an answer at once instead of each waiting
+ * out the same timeout.
+ *
+ * <p>The circuit opens after {@code failureThreshold} consecutive failed calls. While open, calls fail fast with an
+ * {@link UpstreamCircuitOpenException} for {@code openDuration}. After that the circuit is half open: up to
+ * {@code halfOpenProbes} calls go through as probes while the rest keep failing fast. The circuit closes once that
+ * many probes succeed, and a single failed probe opens it again.
+ *
+ * <p>Which exceptions count as failures is up to the caller; any other outcome, including an exception that does not
+ * count, shows the upstream is answering and counts as a success. The exception is an
+ * {@link UpstreamUnavailableException}: the call was turned away before it reached the upstream, so it counts as
+ * neither.
+ *
+ * <p>Each probe is tagged with the half-open window it was admitted in, and only gives its slot back to that window:
+ * a probe that outlives its window, because the circuit reset or reopened meanwhile, does not hand the next window an
+ * extra slot, and its outcome is ignored like that of any other call let through before the circuit changed.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    // Tag of a call that is not a probe.
+    private static final long NOT_A_PROBE = -1;
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final Predicate<RuntimeException> isFailure;
+    private final LongSupplier nanoClock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Guarded by lock.
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    // Advanced by every transition, so a probe can tell whether the window it was admitted in is still the current one.
+    private long generation;
+    private int probesInFlight;
+    private int probeSuccesses;
+    private long rejected;
+
+    public CircuitBreaker(
+            String name,
+            int failureThreshold,
+            Duration openDuration,
+            int halfOpenProbes,
+            Predicate<RuntimeException> isFailure) {
+        this(name, failureThreshold, openDuration, halfOpenProbes, isFailure, System::nanoTime);
+    }
+
+    CircuitBreaker(
+            String name,
+            int failureThreshold,
+            Duration openDuration,
+            int halfOpenProbes,
+            Predicate<RuntimeException> isFailure,
+            LongSupplier nanoClock) {
+        if (failureThreshold < 1 || halfOpenProbes < 1) {
+            throw new IllegalArgumentException("Circuit breaker " + name
+                    + " needs a failure threshold and half-open probes of at least 1, were " + failureThreshold
+                    + " and " + halfOpenProbes);
+        }
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.isFailure = isFailure;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Makes the call unless the circuit is open, and records its outcome.
+     *
+     * @throws UpstreamCircuitOpenException if the circuit is open, or half open with every probe already in flight
+     */
+    public <T> T execute(Supplier<T> call) {
+        long probe = acquire();
+        boolean recorded = false;
+        try {
+            T result = call.get();
+            onSuccess(probe);
+            recorded = true;
+            return result;
+        } catch (UpstreamUnavailableException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            if (isFailure.test(ex)) {
+                onFailure(probe);
+            } else {
+                onSuccess(probe);
+            }
+            recorded = true;
+            throw ex;
+        } finally {
+            // Turned away downstream, or ended by an Error: the call says nothing about the upstream.
+            if (!recorded) {
+                onSkipped(probe);
+            }
+        }
+    }
+
+    /**
+     * Admits a call whose outcome is only known later, as for a non-blocking client. Exactly one outcome must be
+     * reported to the returned permit.
+     *
+     * @throws UpstreamCircuitOpenException if the circuit is open, or half open with every probe already in flight
+     */
+    public Permit acquirePermit() {
+        return new Permit(acquire());
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return currentState();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of calls failed fast since the breaker was created
+     */
+    public long getRejected() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the circuit and forgets the failures counted so far.
+     */
+    public void reset() {
+        lock.lock();
+        try {
+            transition(State.CLOSED);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the generation of the half-open window the call is a probe in, or {@link #NOT_A_PROBE}
+     */
+    private long acquire() {
+        lock.lock();
+        try {
+            State current = currentState();
+            if (current == State.CLOSED) {
+                return NOT_A_PROBE;
+            }
+            if (current == State.HALF_OPEN && probesInFlight < halfOpenProbes) {
+                probesInFlight++;
+                return generation;
+            }
+            rejected++;
+            long remaining = openedAtNanos + openNanos - nanoClock.getAsLong();
+            // Turned away while the probes are in flight, a caller should come back about when they have finished.
+            throw new UpstreamCircuitOpenException(
+                    "Upstream " + name + " circuit is open",
+                    remaining > 0 ? Duration.ofNanos(remaining) : Duration.ofSeconds(1));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(long probe) {
+        lock.lock();
+        try {
+            if (state == State.CLOSED) {
+                consecutiveFailures = 0;
+            } else if (probe == generation) {
+                probesInFlight--;
+                if (++probeSuccesses >= halfOpenProbes) {
+                    transition(State.CLOSED);
+                }
+            }
+            // Calls that were let through before the circuit opened do not say anything about the upstream now.
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onFailure(long probe) {
+        lock.lock();
+        try {
+            if (state == State.CLOSED) {
+                if (++consecutiveFailures >= failureThreshold) {
+                    transition(State.OPEN);
+                }
+            } else if (probe == generation) {
+                transition(State.OPEN);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSkipped(long probe) {
+        lock.lock();
+        try {
+            if (probe == generation) {
+                probesInFlight--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAtNanos >= openNanos) {
+            transition(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            logger.info("Upstream " + name + " circuit " + state + " -> " + next);
+        }
+        state = next;
+        generation++;
+        consecutiveFailures = 0;
+        probesInFlight = 0;
+        probeSuccesses = 0;
+        if (next == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * A call admitted by {@link #acquirePermit()}, waiting for its outcome.
+     */
+    public final class Permit {
+
+        private final long probe;
+
+        private Permit(long probe) {
+            this.probe = probe;
+        }
+
+        public void onSuccess() {
+            CircuitBreaker.this.onSuccess(probe);
+        }
+
+        /**
+         * Records the call as failed if the caller counts {@code ex} as a failure, and as a success otherwise. An
+         * {@link UpstreamUnavailableException} or any other exception than a {@link RuntimeException} says nothing
+         * about the upstream and counts as neither.
+         */
+        public void onError(Throwable ex) {
+            if (ex instanceof UpstreamUnavailableException || !(ex instanceof RuntimeException runtime)) {
+                onSkipped(probe);
+            } else if (isFailure.test(runtime)) {
+                onFailure(probe);
+            } else {
+                CircuitBreaker.this.onSuccess(probe);
+            }
+        }
+
+        /**
+         * Gives the call's slot back without an outcome, as for a call cancelled before it finished.
+         */
+        public void release() {
+            onSkipped(probe);
+        }
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.util.List;
+
+/**
+ * The full upstream employee list together with the position in the upstream change feed it reflects.
+ *
+ * @param epoch identifies the upstream change feed; it changes when the upstream restarts
+ * @param sequence the feed sequence to follow changes from
+ */
+public record EmployeeFeedSnapshot(String epoch, long sequence, List<MockEmployee> employees) {}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.client;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.reliaquest.api.model.MockEmployee;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the upstream {@code {"data": [...], "status": ...}} list document, or its newline-delimited variant with one
+ * employee per line, from the Jackson token stream and hands each employee to a consumer as soon as it is parsed, so
+ * only one employee is held in memory at a time.
+ */
+@Component
+public class EmployeeJsonStreamReader {
+
+    private static final String DATA_FIELD = "data";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader employeeReader;
+
+    public EmployeeJsonStreamReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.employeeReader = objectMapper.readerFor(MockEmployee.class);
+    }
+
+    /**
+     * @return the number of employees handed to the consumer
+     * @throws IllegalStateException if the document has no employee data
+     */
+    public long read(InputStream body, Consumer<MockEmployee> consumer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected employee list document to be an object");
+            }
+            long count = -1;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (DATA_FIELD.equals(field) && value == JsonToken.START_ARRAY) {
+                    count = 0;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        consumer.accept(employeeReader.readValue(parser));
+                        count++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (count < 0) {
+                throw new IllegalStateException("Upstream returned no employee data");
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Reads newline-delimited JSON, one employee per line.
+     *
+     * @return the number of employees handed to the consumer
+     */
+    public long readLines(InputStream body, Consumer<MockEmployee> consumer) throws IOException {
+        long count = 0;
+        try (MappingIterator<MockEmployee> employees = employeeReader.readValues(body)) {
+            while (employees.hasNextValue()) {
+                consumer.accept(employees.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
+}
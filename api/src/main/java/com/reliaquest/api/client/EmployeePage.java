@@ -0,0 +1,11 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.util.List;
+
+/**
+ * One page of the upstream employee list.
+ *
+ * @param nextCursor opaque cursor of the following page, or {@code null} if this is the last page
+ */
+public record EmployeePage(List<MockEmployee> employees, String nextCursor) {}
@@ -0,0 +1,63 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Iterates over the pages of the upstream employee list. The first page is fetched on the calling thread; as soon
+ * as a page is handed out, the next one is requested on the prefetch executor, so it is usually already there by the
+ * time the caller has processed the current one. At most one page is prefetched.
+ */
+public class EmployeePageIterator implements Iterator<List<MockEmployee>> {
+
+    private final Function<String, EmployeePage> fetcher;
+    private final Executor prefetchExecutor;
+    private boolean started;
+    private CompletableFuture<EmployeePage> prefetched;
+
+    /**
+     * @param fetcher fetches the page at the given cursor, {@code null} being the first page
+     */
+    public EmployeePageIterator(Function<String, EmployeePage> fetcher, Executor prefetchExecutor) {
+        this.fetcher = fetcher;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !started || prefetched != null;
+    }
+
+    /**
+     * @throws UpstreamRateLimitedException or any other exception the page fetch failed with
+     */
+    @Override
+    public List<MockEmployee> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        EmployeePage page = started ? join(prefetched) : fetcher.apply(null);
+        started = true;
+        prefetched = page.nextCursor() == null
+                ? null
+                : CompletableFuture.supplyAsync(() -> fetcher.apply(page.nextCursor()), prefetchExecutor);
+        return page.employees();
+    }
+
+    private static EmployeePage join(CompletableFuture<EmployeePage> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
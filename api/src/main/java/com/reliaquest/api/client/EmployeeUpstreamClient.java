@@ -0,0 +1,516 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.config.UpstreamRequestFactory;
+import com.reliaquest.api.model.APIActionResponse;
+import com.reliaquest.api.model.ApiFetchResponse;
+import com.reliaquest.api.model.ApiFetchResponseObject;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.CreateMockEmployeesInput;
+import com.reliaquest.api.model.DeleteMockEmployeesInput;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.MockEmployee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * The only component that talks to the Mock Employee API. Every call goes through the {@link UpstreamRateLimiter},
+ * and calls rejected with a 429 are retried once the limiter expects the rate limit window to reopen. Concurrent reads
+ * of the full list, or of the same id, share a single upstream call and its deserialized result. When a page size is
+ * configured, the full list is read page by page through an {@link EmployeePageIterator} instead of in one response;
+ * otherwise it can be requested as newline-delimited JSON and parsed while it arrives. A list read in a single JSON
+ * response is revalidated with its ETag on the next read and reused if the upstream answers 304.
+ */
+@Component
+public class EmployeeUpstreamClient implements MeterBinder {
+
+    public static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+
+    public static final String BATCH_URL = BASE_URL + "/batch";
+
+    public static final String MAX_SALARY_URL = BASE_URL + "/aggregate/salary/max";
+
+    public static final String TOP_SALARIES_URL = BASE_URL + "/aggregate/salary/top";
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String CHANGES_URL = BASE_URL + "/changes";
+
+    public static final String CHANGE_EPOCH_HEADER = "X-Change-Epoch";
+
+    public static final String CHANGE_SEQUENCE_HEADER = "X-Change-Sequence";
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeUpstreamClient.class);
+
+    private static final ParameterizedTypeReference<APIActionResponse<MockEmployee>> CREATE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private static final ParameterizedTypeReference<APIActionResponse<Integer>> MAX_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private static final ParameterizedTypeReference<APIActionResponse<List<EmployeeChange>>> CHANGES_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+    private final UpstreamRateLimiter rateLimiter;
+    private final UpstreamIsolation isolation;
+    private final EmployeeJsonStreamReader streamReader;
+    private final int maxAttempts;
+    private final Executor prefetchExecutor;
+    private final int pageSize;
+    private final boolean ndjson;
+    private final SingleFlight<String, List<MockEmployee>> fetchAllFlights = new SingleFlight<>();
+    private final SingleFlight<String, ApiFetchResponseObject> fetchByIdFlights = new SingleFlight<>();
+    // The last list read in a single response, with the ETag to revalidate it; null until one came with an ETag.
+    private final AtomicReference<ValidatedEmployees> lastFetched = new AtomicReference<>();
+    private final LongAdder modified = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    public EmployeeUpstreamClient(
+            RestTemplate restTemplate,
+            UpstreamRateLimiter rateLimiter,
+            UpstreamIsolation isolation,
+            EmployeeJsonStreamReader streamReader,
+            @Value("${api.upstream.rate-limit.max-attempts:3}") int maxAttempts,
+            @Qualifier("upstreamPrefetchExecutor") Executor prefetchExecutor,
+            @Value("${api.upstream.page-size:0}") int pageSize,
+            @Value("${api.upstream.ndjson.enabled:false}") boolean ndjson) {
+        this.restTemplate = restTemplate;
+        this.rateLimiter = rateLimiter;
+        this.isolation = isolation;
+        this.streamReader = streamReader;
+        this.maxAttempts = maxAttempts;
+        this.prefetchExecutor = prefetchExecutor;
+        this.pageSize = pageSize;
+        this.ndjson = ndjson;
+    }
+
+    /**
+     * Fetches the full employee list from the upstream server.
+     *
+     * @throws IllegalStateException if the upstream answered without any employee data
+     * @throws UpstreamUnavailableException if the upstream is rate limiting us for longer than we are willing to wait,
+     *     or the operation is failing fast
+     */
+    public List<MockEmployee> fetchAll() {
+        return fetchAllFlights.execute(BASE_URL, () -> {
+            if (pageSize > 0) {
+                List<MockEmployee> employees = new ArrayList<>();
+                pages(pageSize).forEachRemaining(employees::addAll);
+                logger.debug(employees.size() + " Record(s) fetched from upstream in pages of " + pageSize);
+                return employees;
+            }
+            if (ndjson) {
+                List<MockEmployee> employees = new ArrayList<>();
+                streamAll(employees::add);
+                return employees;
+            }
+            return fetchAllConditionally();
+        });
+    }
+
+    /**
+     * Revalidates the list fetched last with its ETag, so an unchanged list costs a 304 instead of a full transfer and
+     * parse. The list is kept immutable and handed out again as is, so caches keyed on its identity stay valid.
+     */
+    private List<MockEmployee> fetchAllConditionally() {
+        ValidatedEmployees last = lastFetched.get();
+        HttpHeaders headers = new HttpHeaders();
+        if (Objects.nonNull(last)) {
+            headers.setIfNoneMatch(last.etag());
+        }
+        ResponseEntity<ApiFetchResponse> response = execute(
+                UpstreamOperation.LIST,
+                "fetchAll",
+                () -> restTemplate.exchange(
+                        URI.create(BASE_URL), HttpMethod.GET, new HttpEntity<>(headers), ApiFetchResponse.class));
+        if (Objects.nonNull(response) && response.getStatusCode() == HttpStatus.NOT_MODIFIED && Objects.nonNull(last)) {
+            notModified.increment();
+            logger.debug(last.employees().size() + " Record(s) unchanged upstream, etag=" + last.etag());
+            return last.employees();
+        }
+        if (Objects.isNull(response)
+                || Objects.isNull(response.getBody())
+                || Objects.isNull(response.getBody().getData())) {
+            throw new IllegalStateException("Upstream returned no employee data");
+        }
+        List<MockEmployee> employees = List.copyOf(response.getBody().getData());
+        String etag = response.getHeaders().getETag();
+        lastFetched.set(Objects.nonNull(etag) ? new ValidatedEmployees(etag, employees) : null);
+        modified.increment();
+        logger.debug(employees.size() + " Record(s) fetched from upstream, etag=" + etag);
+        return employees;
+    }
+
+    /**
+     * Streams the full employee list from the upstream server, handing each employee to the consumer as it is parsed
+     * instead of materializing the list.
+     *
+     * @return the number of employees handed to the consumer
+     * @throws IllegalStateException if the upstream answered without any employee data
+     * @throws UpstreamUnavailableException if the upstream is rate limiting us for longer than we are willing to wait,
+     *     or the operation is failing fast
+     */
+    public long streamAll(Consumer<MockEmployee> consumer) {
+        if (pageSize > 0) {
+            long count = 0;
+            for (EmployeePageIterator pages = pages(pageSize); pages.hasNext(); ) {
+                List<MockEmployee> page = pages.next();
+                page.forEach(consumer);
+                count += page.size();
+            }
+            logger.debug(count + " Record(s) streamed from upstream in pages of " + pageSize);
+            return count;
+        }
+        MediaType format = ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        Long count = execute(
+                UpstreamOperation.LIST,
+                "streamAll",
+                () -> restTemplate.execute(
+                        URI.create(BASE_URL),
+                        HttpMethod.GET,
+                        request -> {
+                            request.getHeaders().setAccept(List.of(format));
+                            UpstreamRequestFactory.streaming(request);
+                        },
+                        response -> ndjson
+                                ? streamReader.readLines(response.getBody(), consumer)
+                                : streamReader.read(response.getBody(), consumer)));
+        logger.debug(count + " Record(s) streamed from upstream");
+        return Objects.requireNonNull(count);
+    }
+
+    /**
+     * Fetches one page of the upstream employee list.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @throws IllegalStateException if the upstream answered without any employee data
+     * @throws UpstreamUnavailableException if the upstream is rate limiting us for longer than we are willing to wait,
+     *     or the operation is failing fast
+     */
+    public EmployeePage fetchPage(String cursor, int limit) {
+        UriComponentsBuilder uri = UriComponentsBuilder.fromHttpUrl(BASE_URL).queryParam("limit", limit);
+        if (Objects.nonNull(cursor)) {
+            uri.queryParam("cursor", cursor);
+        }
+        ResponseEntity<ApiFetchResponse> response = execute(
+                UpstreamOperation.LIST,
+                "fetchPage",
+                () -> restTemplate.exchange(uri.build().toUri(), HttpMethod.GET, null, ApiFetchResponse.class));
+        if (Objects.isNull(response.getBody())
+                || Objects.isNull(response.getBody().getData())) {
+            throw new IllegalStateException("Upstream returned no employee data");
+        }
+        return new EmployeePage(
+                response.getBody().getData(), response.getHeaders().getFirst(NEXT_CURSOR_HEADER));
+    }
+
+    /**
+     * @return an iterator over the upstream employee list in pages of the given size, prefetching one page ahead
+     */
+    public EmployeePageIterator pages(int limit) {
+        return new EmployeePageIterator(cursor -> fetchPage(cursor, limit), prefetchExecutor);
+    }
+
+    /**
+     * @return the upstream response for the given id, possibly {@code null}
+     */
+    public ApiFetchResponseObject fetchById(String id) {
+        return fetchByIdFlights.execute(
+                id,
+                () -> execute(
+                        UpstreamOperation.GET_BY_ID,
+                        "fetchById",
+                        () -> restTemplate.getForObject(
+                                URI.create(BASE_URL + "/" + id), ApiFetchResponseObject.class)));
+    }
+
+    /**
+     * Fetches the full employee list in a single response, with the change feed position it reflects.
+     *
+     * @throws IllegalStateException if the upstream answered without employee data or feed position
+     * @throws UpstreamUnavailableException if the upstream is rate limiting us for longer than we are willing to wait,
+     *     or the operation is failing fast
+     */
+    public EmployeeFeedSnapshot fetchFeedSnapshot() {
+        ResponseEntity<ApiFetchResponse> response = execute(
+                UpstreamOperation.LIST,
+                "fetchFeedSnapshot",
+                () -> restTemplate.exchange(URI.create(BASE_URL), HttpMethod.GET, null, ApiFetchResponse.class));
+        if (Objects.isNull(response)
+                || Objects.isNull(response.getBody())
+                || Objects.isNull(response.getBody().getData())) {
+            throw new IllegalStateException("Upstream returned no employee data");
+        }
+        String epoch = response.getHeaders().getFirst(CHANGE_EPOCH_HEADER);
+        String sequence = response.getHeaders().getFirst(CHANGE_SEQUENCE_HEADER);
+        if (Objects.isNull(epoch) || Objects.isNull(sequence)) {
+            throw new IllegalStateException("Upstream does not publish a change feed");
+        }
+        return new EmployeeFeedSnapshot(
+                epoch, Long.parseLong(sequence), response.getBody().getData());
+    }
+
+    /**
+     * Long polls the upstream change feed. Isolated as {@link UpstreamOperation#CHANGES} and kept out of the rate
+     * limiter, so a poll held open for up to {@code wait} takes neither a list slot nor an upstream call permit, and
+     * its failures do not open the circuit list reads depend on. A 429 is not retried; the caller backs off instead.
+     *
+     * @return the changes after {@code since}, oldest first; empty if none arrived within {@code wait}
+     * @throws HttpClientErrorException.Gone if the feed cannot continue from {@code since}, so the list has to be
+     *     fetched again with {@link #fetchFeedSnapshot()}
+     * @throws UpstreamUnavailableException if the upstream is rate limiting us for longer than we are willing to wait,
+     *     or the operation is failing fast
+     */
+    public List<EmployeeChange> fetchChanges(String epoch, long since, Duration wait) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(CHANGES_URL)
+                .queryParam("since", since)
+                .queryParam("epoch", epoch)
+                .queryParam("wait", wait.toSeconds())
+                .build()
+                .toUri();
+        ResponseEntity<APIActionResponse<List<EmployeeChange>>> response = executeUnpaced(
+                UpstreamOperation.CHANGES,
+                "fetchChanges",
+                () -> restTemplate.exchange(uri, HttpMethod.GET, null, CHANGES_RESPONSE));
+        if (Objects.isNull(response)
+                || Objects.isNull(response.getBody())
+                || Objects.isNull(response.getBody().getData())) {
+            throw new IllegalStateException("Upstream returned no change data");
+        }
+        return response.getBody().getData();
+    }
+
+    /**
+     * Lets the upstream compute the highest salary instead of fetching every employee.
+     *
+     * @return the highest salary, or {@code null} if no employee has one
+     * @throws IllegalStateException if the upstream answered without a body
+     * @throws UpstreamUnavailableException if the upstream is rate limiting us for longer than we are willing to wait,
+     *     or the operation is failing fast
+     */
+    public Integer fetchMaxSalary() {
+        ResponseEntity<APIActionResponse<Integer>> response = execute(
+                UpstreamOperation.LIST,
+                "fetchMaxSalary",
+                () -> restTemplate.exchange(URI.create(MAX_SALARY_URL), HttpMethod.GET, null, MAX_RESPONSE));
+        if (Objects.isNull(response) || Objects.isNull(response.getBody())) {
+            throw new IllegalStateException("Upstream returned no highest salary");
+        }
+        return response.getBody().getData();
+    }
+
+    /**
+     * Lets the upstream select the highest earners instead of fetching every employee.
+     *
+     * @return up to {@code n} employees, highest salary first
+     * @throws IllegalStateException if the upstream answered without any employee data
+     * @throws UpstreamUnavailableException if the upstream is rate limiting us for longer than we are willing to wait,
+     *     or the operation is failing fast
+     */
+    public List<MockEmployee> fetchTopBySalary(int n) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(TOP_SALARIES_URL)
+                .queryParam("n", n)
+                .build()
+                .toUri();
+        ApiFetchResponse response = execute(
+                UpstreamOperation.LIST,
+                "fetchTopBySalary",
+                () -> restTemplate.getForObject(uri, ApiFetchResponse.class));
+        if (Objects.isNull(response) || Objects.isNull(response.getData())) {
+            throw new IllegalStateException("Upstream returned no employee data");
+        }
+        return response.getData();
+    }
+
+    public ResponseEntity<APIActionResponse<MockEmployee>> create(CreateMockEmployeeInput input) {
+        return execute(
+                UpstreamOperation.CREATE,
+                "create",
+                () -> restTemplate.exchange(BASE_URL, HttpMethod.POST, new HttpEntity<>(input), CREATE_RESPONSE));
+    }
+
+    /**
+     * Creates all given employees in a single upstream call.
+     *
+     * @return the upstream response, whose data lists the created employees in input order
+     */
+    public ResponseEntity<ApiFetchResponse> createAll(List<CreateMockEmployeeInput> inputs) {
+        return execute(
+                UpstreamOperation.CREATE,
+                "createAll",
+                () -> restTemplate.exchange(
+                        BATCH_URL,
+                        HttpMethod.POST,
+                        new HttpEntity<>(new CreateMockEmployeesInput(inputs)),
+                        ApiFetchResponse.class));
+    }
+
+    /**
+     * Deletes all employees with the given ids in a single upstream call.
+     *
+     * @return the upstream response, whose data lists the deleted employees in input order, {@code null} for ids
+     *     that were not found
+     */
+    public ResponseEntity<ApiFetchResponse> deleteAll(List<UUID> ids) {
+        return execute(
+                UpstreamOperation.DELETE,
+                "deleteAll",
+                () -> restTemplate.exchange(
+                        BATCH_URL,
+                        HttpMethod.DELETE,
+                        new HttpEntity<>(new DeleteMockEmployeesInput(ids)),
+                        ApiFetchResponse.class));
+    }
+
+    /**
+     * Deletes the employee with the given id in a single upstream call.
+     *
+     * @return the upstream response, whose data is the deleted employee
+     */
+    public ResponseEntity<ApiFetchResponseObject> deleteById(String id) {
+        return execute(
+                UpstreamOperation.DELETE,
+                "deleteById",
+                () -> restTemplate.exchange(
+                        BASE_URL + "/" + id, HttpMethod.DELETE, HttpEntity.EMPTY, ApiFetchResponseObject.class));
+    }
+
+    public SingleFlight<String, List<MockEmployee>> getFetchAllFlights() {
+        return fetchAllFlights;
+    }
+
+    public SingleFlight<String, ApiFetchResponseObject> getFetchByIdFlights() {
+        return fetchByIdFlights;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindSingleFlight(registry, "fetchAll", fetchAllFlights);
+        bindSingleFlight(registry, "fetchById", fetchByIdFlights);
+        FunctionCounter.builder("api.upstream.conditional.responses", modified, LongAdder::sum)
+                .description("Revalidations of the full list by whether the upstream sent it again")
+                .tag("result", "modified")
+                .register(registry);
+        FunctionCounter.builder("api.upstream.conditional.responses", notModified, LongAdder::sum)
+                .description("Revalidations of the full list by whether the upstream sent it again")
+                .tag("result", "not-modified")
+                .register(registry);
+        Gauge.builder("api.upstream.in-flight", rateLimiter, UpstreamRateLimiter::getInFlight)
+                .description("Upstream calls currently in flight")
+                .register(registry);
+        Gauge.builder("api.upstream.rate-limit.budget", rateLimiter, UpstreamRateLimiter::getLearnedBudget)
+                .description("Upstream calls admitted per rate limit window, 0 until learned")
+                .register(registry);
+        Gauge.builder(
+                        "api.upstream.rate-limit.wait",
+                        rateLimiter,
+                        limiter -> limiter.estimatedWait().toMillis() / 1000d)
+                .description("Time a call issued now would wait for the rate limit window")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private static void bindSingleFlight(MeterRegistry registry, String operation, SingleFlight<?, ?> flights) {
+        Gauge.builder("api.upstream.single-flight.in-flight", flights, SingleFlight::getInFlight)
+                .description("Distinct upstream calls in flight that concurrent callers can join")
+                .tag("operation", operation)
+                .register(registry);
+        FunctionCounter.builder("api.upstream.single-flight.calls", flights, SingleFlight::getExecutions)
+                .description("Callers by whether they made the upstream call or joined one in flight")
+                .tags("operation", operation, "result", "executed")
+                .register(registry);
+        FunctionCounter.builder("api.upstream.single-flight.calls", flights, SingleFlight::getCoalesced)
+                .description("Callers by whether they made the upstream call or joined one in flight")
+                .tags("operation", operation, "result", "coalesced")
+                .register(registry);
+    }
+
+    /**
+     * Makes the call through the operation's circuit breaker, retrying it while the upstream rate limits it. Each
+     * attempt takes its own bulkhead slot once the rate limiter lets it through, so no slot is held while waiting out
+     * a backoff.
+     */
+    private <T> T execute(UpstreamOperation group, String operation, Supplier<T> call) {
+        Bulkhead bulkhead = isolation.getBulkhead(group);
+        return isolation.getCircuitBreaker(group).execute(() -> executeWithRetries(operation, bulkhead, call));
+    }
+
+    /**
+     * Makes a single call through the operation's circuit breaker and bulkhead without consulting the rate limiter,
+     * and without counting towards the window it learns.
+     */
+    private <T> T executeUnpaced(UpstreamOperation group, String operation, Supplier<T> call) {
+        Bulkhead bulkhead = isolation.getBulkhead(group);
+        return isolation.getCircuitBreaker(group).execute(() -> {
+            try {
+                return bulkhead.execute(call);
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                Duration retryAfter = retryAfter(ex.getResponseHeaders());
+                Duration wait = Objects.nonNull(retryAfter) ? retryAfter : rateLimiter.getLearnedBackoff();
+                throw new UpstreamRateLimitedException("Upstream rate limited " + operation, wait);
+            }
+        });
+    }
+
+    private <T> T executeWithRetries(String operation, Bulkhead bulkhead, Supplier<T> call) {
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire();
+            try {
+                T result = bulkhead.execute(call);
+                rateLimiter.onSuccess();
+                return result;
+            } catch (HttpClientErrorException.TooManyRequests ex) {
+                Duration wait = rateLimiter.onRejected(retryAfter(ex.getResponseHeaders()));
+                logger.warn("Upstream rate limited " + operation + " (attempt " + attempt + "/" + maxAttempts
+                        + "), expected wait=" + wait.toMillis() + "ms");
+                if (attempt >= maxAttempts) {
+                    throw new UpstreamRateLimitedException("Upstream rate limited " + operation, wait);
+                }
+            } finally {
+                rateLimiter.release();
+            }
+        }
+    }
+
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = Objects.nonNull(headers) ? headers.getFirst(HttpHeaders.RETRY_AFTER) : null;
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private record ValidatedEmployees(String etag, List<MockEmployee> employees) {}
+}
@@ -0,0 +1,286 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.APIActionResponse;
+import com.reliaquest.api.model.ApiFetchResponseObject;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.MockEmployee;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeUpstreamClient}. No thread waits on a slow upstream: calls run on the
+ * small event loop of the {@code upstreamWebClient}, so the number of calls in flight is bounded by its connection
+ * pool and pending-acquire queue rather than by threads. A call turned away by a full queue fails with an
+ * {@link UpstreamBulkheadFullException}.
+ *
+ * <p>Calls share the {@link UpstreamRateLimiter}'s view of the rate limit window: one made while the window is
+ * predicted closed fails fast with an {@link UpstreamRateLimitedException}, and 429s and successes teach the limiter
+ * as blocking calls do. They do not take one of its concurrency slots, which would cap them at the few calls in
+ * flight the blocking client allows.
+ *
+ * <p>Likewise, calls go through the per-operation circuits of {@link UpstreamIsolation}, failing fast with an
+ * {@link UpstreamCircuitOpenException} while the operation's circuit is open, but take a slot of a bulkhead of their
+ * own: up to {@code api.upstream.reactive.bulkhead.max-concurrent} calls of one operation are in flight at once, and
+ * later ones fail at once with an {@link UpstreamBulkheadFullException} instead of waiting.
+ */
+@Component
+public class ReactiveEmployeeUpstreamClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeUpstreamClient.class);
+
+    private static final ParameterizedTypeReference<APIActionResponse<MockEmployee>> CREATE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final UpstreamRateLimiter rateLimiter;
+    private final UpstreamIsolation isolation;
+    private final Map<UpstreamOperation, Bulkhead> bulkheads = new EnumMap<>(UpstreamOperation.class);
+    private final int fanOutConcurrency;
+    private final AtomicReference<Mono<List<MockEmployee>>> fetchAllFlight = new AtomicReference<>();
+
+    public ReactiveEmployeeUpstreamClient(
+            @Qualifier("upstreamWebClient") WebClient webClient,
+            UpstreamRateLimiter rateLimiter,
+            UpstreamIsolation isolation,
+            @Value("${api.upstream.reactive.bulkhead.max-concurrent:500}") int maxConcurrent,
+            @Value("${api.upstream.reactive.fan-out-concurrency:256}") int fanOutConcurrency) {
+        this.webClient = webClient;
+        this.rateLimiter = rateLimiter;
+        this.isolation = isolation;
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            bulkheads.put(operation, new Bulkhead("reactive " + operation.tag(), maxConcurrent, Duration.ZERO));
+        }
+        this.fanOutConcurrency = fanOutConcurrency;
+    }
+
+    /**
+     * Streams the upstream employee list as newline-delimited JSON. Employees are decoded as they arrive, and the
+     * connection is only read as fast as the subscriber requests them.
+     */
+    public Flux<MockEmployee> streamAll() {
+        return guarded(UpstreamOperation.LIST, "streamAll", Flux.defer(() -> webClient
+                .get()
+                .uri(EmployeeUpstreamClient.BASE_URL)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(MockEmployee.class)
+                .doOnComplete(rateLimiter::onSuccess)));
+    }
+
+    /**
+     * Fetches the full employee list. Concurrent callers share the call in flight instead of each making their own.
+     */
+    public Mono<List<MockEmployee>> fetchAll() {
+        return Mono.defer(() -> {
+            while (true) {
+                Mono<List<MockEmployee>> flight = fetchAllFlight.get();
+                if (Objects.nonNull(flight)) {
+                    return flight;
+                }
+                Sinks.One<List<MockEmployee>> result = Sinks.one();
+                Mono<List<MockEmployee>> joined = result.asMono();
+                if (fetchAllFlight.compareAndSet(null, joined)) {
+                    // Subscribed here rather than by the first caller, so a caller that cancels does not cancel the
+                    // call for the others.
+                    streamAll()
+                            .collectList()
+                            .map(List::copyOf)
+                            .doFinally(signal -> fetchAllFlight.compareAndSet(joined, null))
+                            .subscribe(result::tryEmitValue, result::tryEmitError);
+                    return joined;
+                }
+            }
+        });
+    }
+
+    /**
+     * @return the employee with the given id, or empty if the upstream does not know it
+     */
+    public Mono<MockEmployee> fetchById(String id) {
+        return guarded(UpstreamOperation.GET_BY_ID, "fetchById", Mono.defer(() -> webClient
+                .get()
+                .uri(EmployeeUpstreamClient.BASE_URL + "/{id}", id)
+                .retrieve()
+                .bodyToMono(ApiFetchResponseObject.class)
+                .doOnSuccess(response -> rateLimiter.onSuccess())
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> {
+                    rateLimiter.onSuccess();
+                    return Mono.empty();
+                })
+                .mapNotNull(ApiFetchResponseObject::getData)));
+    }
+
+    /**
+     * Looks the ids up with up to {@code api.upstream.reactive.fan-out-concurrency} calls in flight at once.
+     *
+     * @return the employees found, in the order of their ids; ids the upstream does not know are left out
+     */
+    public Flux<MockEmployee> fetchByIds(List<String> ids) {
+        return Flux.fromIterable(ids).flatMapSequential(this::fetchById, fanOutConcurrency);
+    }
+
+    /**
+     * @return the created employee
+     * @throws IllegalStateException if the upstream answered without one
+     */
+    public Mono<MockEmployee> create(CreateMockEmployeeInput input) {
+        return guarded(UpstreamOperation.CREATE, "create", Mono.defer(() -> webClient
+                .post()
+                .uri(EmployeeUpstreamClient.BASE_URL)
+                .bodyValue(input)
+                .retrieve()
+                .bodyToMono(CREATE_RESPONSE)
+                .doOnSuccess(response -> rateLimiter.onSuccess())
+                .mapNotNull(APIActionResponse::getData)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Upstream returned no created employee")))));
+    }
+
+    /**
+     * @return the deleted employee, or empty if the upstream does not know the id
+     */
+    public Mono<MockEmployee> deleteById(String id) {
+        return guarded(UpstreamOperation.DELETE, "deleteById", Mono.defer(() -> webClient
+                .delete()
+                .uri(EmployeeUpstreamClient.BASE_URL + "/{id}", id)
+                .retrieve()
+                .bodyToMono(ApiFetchResponseObject.class)
+                .doOnSuccess(response -> rateLimiter.onSuccess())
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> {
+                    rateLimiter.onSuccess();
+                    return Mono.empty();
+                })
+                .mapNotNull(ApiFetchResponseObject::getData)));
+    }
+
+    /**
+     * Makes the call once the rate limit window, the operation's circuit and its bulkhead let it through, and records
+     * its outcome. A call cancelled before it finished gives its slots back without one.
+     */
+    private <T> Mono<T> guarded(UpstreamOperation group, String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Admission admission = admit(group, operation);
+            return call.onErrorMap(translate(operation))
+                    .doOnSuccess(result -> admission.succeeded())
+                    .doOnError(admission::failed)
+                    .doOnCancel(admission::abandoned);
+        });
+    }
+
+    private <T> Flux<T> guarded(UpstreamOperation group, String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            Admission admission = admit(group, operation);
+            return call.onErrorMap(translate(operation))
+                    .doOnComplete(admission::succeeded)
+                    .doOnError(admission::failed)
+                    .doOnCancel(admission::abandoned);
+        });
+    }
+
+    /**
+     * @throws UpstreamUnavailableException if the rate limit window is closed, the circuit is open or the bulkhead is
+     *     full
+     */
+    private Admission admit(UpstreamOperation group, String operation) {
+        Duration wait = rateLimiter.estimatedWait();
+        if (!wait.isZero()) {
+            throw new UpstreamRateLimitedException("Upstream rate limit window is closed for " + operation, wait);
+        }
+        CircuitBreaker.Permit permit = isolation.getCircuitBreaker(group).acquirePermit();
+        Bulkhead bulkhead = bulkheads.get(group);
+        try {
+            bulkhead.acquire();
+        } catch (UpstreamBulkheadFullException ex) {
+            permit.release();
+            throw ex;
+        }
+        return new Admission(permit, bulkhead);
+    }
+
+    private Function<Throwable, Throwable> translate(String operation) {
+        return ex -> {
+            if (ex instanceof WebClientResponseException.TooManyRequests rejected) {
+                Duration wait = rateLimiter.onRejected(EmployeeUpstreamClient.retryAfter(rejected.getHeaders()));
+                logger.warn("Upstream rate limited " + operation + ", expected wait=" + wait.toMillis() + "ms");
+                return new UpstreamRateLimitedException("Upstream rate limited " + operation, wait);
+            }
+            if (ex instanceof WebClientRequestException && isPoolExhausted(ex.getCause())) {
+                return new UpstreamBulkheadFullException(
+                        "Too many upstream calls pending for " + operation, Duration.ofSeconds(1));
+            }
+            return ex;
+        };
+    }
+
+    /**
+     * The circuit permit and bulkhead slot of a call in flight, given back once, on whichever of completion, error or
+     * cancellation comes first.
+     */
+    private static final class Admission {
+
+        private final CircuitBreaker.Permit permit;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        Admission(CircuitBreaker.Permit permit, Bulkhead bulkhead) {
+            this.permit = permit;
+            this.bulkhead = bulkhead;
+        }
+
+        void succeeded() {
+            if (finish()) {
+                permit.onSuccess();
+            }
+        }
+
+        void failed(Throwable ex) {
+            if (finish()) {
+                permit.onError(ex);
+            }
+        }
+
+        void abandoned() {
+            if (finish()) {
+                permit.release();
+            }
+        }
+
+        private boolean finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            bulkhead.release();
+            return true;
+        }
+    }
+
+    /**
+     * Whether the connection pool turned the call away. Reactor Netty shades its pool into an internal package, so the
+     * exceptions are matched by simple name rather than by a type that may move in any release.
+     */
+    private static boolean isPoolExhausted(Throwable cause) {
+        if (Objects.isNull(cause)) {
+            return false;
+        }
+        String name = cause.getClass().getSimpleName();
+        return name.equals("PoolAcquirePendingLimitException") || name.equals("PoolAcquireTimeoutException");
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling an upstream operation that already has as many calls in flight as its {@link Bulkhead}
+ * allows.
+ */
+public class UpstreamBulkheadFullException extends UpstreamUnavailableException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UpstreamBulkheadFullException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
@@ -0,0 +1,15 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+
+/**
+ * Thrown instead of calling an upstream operation whose {@link CircuitBreaker} is open.
+ */
+public class UpstreamCircuitOpenException extends UpstreamUnavailableException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UpstreamCircuitOpenException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Gives every {@link UpstreamOperation} its own {@link CircuitBreaker} and {@link Bulkhead}, so a failing or stalled
+ * operation fails fast on its own instead of dragging the others down.
+ *
+ * <p>Only timeouts, connection failures and 5xx responses count as failures, from the blocking and the non-blocking
+ * client alike. 4xx responses are answers, and 429s are already paced by the {@link UpstreamRateLimiter}. The bulkhead
+ * is checked after the circuit, so a call turned away by an open circuit never waits for a slot. A call retried after
+ * a 429 passes the circuit once but takes a bulkhead slot per attempt, so the slot is never held across the backoff
+ * between attempts.
+ *
+ * <p>Both clients share the circuits, as they call the same upstream. The bulkheads here bound the threads of the
+ * blocking client; {@link ReactiveEmployeeUpstreamClient} holds its own, sized for calls that hold no thread.
+ */
+@Component
+public class UpstreamIsolation implements MeterBinder {
+
+    private final Map<UpstreamOperation, CircuitBreaker> circuitBreakers = new EnumMap<>(UpstreamOperation.class);
+    private final Map<UpstreamOperation, Bulkhead> bulkheads = new EnumMap<>(UpstreamOperation.class);
+
+    public UpstreamIsolation(
+            @Value("${api.upstream.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${api.upstream.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${api.upstream.circuit-breaker.half-open-probes:1}") int halfOpenProbes,
+            @Value("${api.upstream.bulkhead.max-concurrent:3}") int maxConcurrent,
+            @Value("${api.upstream.bulkhead.max-wait:1s}") Duration maxWait) {
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            circuitBreakers.put(
+                    operation,
+                    new CircuitBreaker(
+                            operation.tag(),
+                            failureThreshold,
+                            openDuration,
+                            halfOpenProbes,
+                            UpstreamIsolation::isFailure));
+            bulkheads.put(operation, new Bulkhead(operation.tag(), maxConcurrent, maxWait));
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker(UpstreamOperation operation) {
+        return circuitBreakers.get(operation);
+    }
+
+    public Bulkhead getBulkhead(UpstreamOperation operation) {
+        return bulkheads.get(operation);
+    }
+
+    /**
+     * Closes every circuit.
+     */
+    public void reset() {
+        circuitBreakers.values().forEach(CircuitBreaker::reset);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (UpstreamOperation operation : UpstreamOperation.values()) {
+            CircuitBreaker circuitBreaker = circuitBreakers.get(operation);
+            Bulkhead bulkhead = bulkheads.get(operation);
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder(
+                                "api.upstream.circuit-breaker.state",
+                                circuitBreaker,
+                                breaker -> breaker.getState() == state ? 1 : 0)
+                        .description("1 for the state the operation's circuit is in, 0 for the others")
+                        .tags(
+                                "operation",
+                                operation.tag(),
+                                "state",
+                                state.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                        .register(registry);
+            }
+            FunctionCounter.builder("api.upstream.rejected", circuitBreaker, CircuitBreaker::getRejected)
+                    .description("Upstream calls failed fast without being sent")
+                    .tags("operation", operation.tag(), "reason", "circuit-open")
+                    .register(registry);
+            FunctionCounter.builder("api.upstream.rejected", bulkhead, Bulkhead::getRejected)
+                    .description("Upstream calls failed fast without being sent")
+                    .tags("operation", operation.tag(), "reason", "bulkhead-full")
+                    .register(registry);
+            Gauge.builder("api.upstream.bulkhead.in-flight", bulkhead, Bulkhead::getInFlight)
+                    .description("Upstream calls of the operation currently in flight")
+                    .tag("operation", operation.tag())
+                    .register(registry);
+        }
+    }
+
+    private static boolean isFailure(RuntimeException ex) {
+        return ex instanceof ResourceAccessException
+                || ex instanceof HttpServerErrorException
+                || ex instanceof WebClientRequestException
+                || (ex instanceof WebClientResponseException response
+                        && response.getStatusCode().is5xxServerError());
+    }
+}
@@ -0,0 +1,192 @@
+package com.reliaquest.api.client;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records every upstream exchange:
+ *
+ * <ul>
+ *   <li>{@code api.upstream.requests}: time until the response headers arrived, tagged with method, uri template and
+ *       status, so its count per status doubles as the status code counter (429s included).
+ *   <li>{@code api.upstream.response.read}: time from the headers until the body was closed, which is where the
+ *       response is deserialized.
+ *   <li>{@code api.upstream.response.size}: bytes of (decompressed) response body read.
+ * </ul>
+ */
+@Component
+public class UpstreamMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String BASE_PATH =
+            URI.create(EmployeeUpstreamClient.BASE_URL).getPath();
+    private static final Set<String> SUB_PATHS = Set.of(
+            URI.create(EmployeeUpstreamClient.BATCH_URL).getPath(),
+            URI.create(EmployeeUpstreamClient.MAX_SALARY_URL).getPath(),
+            URI.create(EmployeeUpstreamClient.TOP_SALARIES_URL).getPath(),
+            URI.create(EmployeeUpstreamClient.CHANGES_URL).getPath());
+    // Canonical form only: UUID.fromString also accepts short groups such as 1-2-3-4-5.
+    private static final Pattern UUID_SEGMENT =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private final MeterRegistry registry;
+
+    public UpstreamMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String method = request.getMethod().name();
+        String uri = uriTemplate(request.getURI());
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException ex) {
+            requestTimer(method, uri, "IO_ERROR").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+        long headersAt = System.nanoTime();
+        requestTimer(method, uri, String.valueOf(response.getStatusCode().value()))
+                .record(headersAt - start, TimeUnit.NANOSECONDS);
+        return new MeteredResponse(response, method, uri, headersAt);
+    }
+
+    private Timer requestTimer(String method, String uri, String status) {
+        return Timer.builder("api.upstream.requests")
+                .description("Upstream calls until the response headers arrived")
+                .tags("method", method, "uri", uri, "status", status)
+                .register(registry);
+    }
+
+    /**
+     * Collapses the employee id in the path so the uri tag stays low-cardinality. The known sub-paths of the employee
+     * API are kept as they are; below it, a segment that is a UUID becomes {@code {id}} and any other one
+     * {@code {other}}, as ids are passed on as the caller gave them.
+     */
+    static String uriTemplate(URI uri) {
+        String path = Objects.requireNonNullElse(uri.getPath(), "");
+        if (path.equals(BASE_PATH) || SUB_PATHS.contains(path) || !path.startsWith(BASE_PATH + "/")) {
+            return path;
+        }
+        StringBuilder template = new StringBuilder(BASE_PATH);
+        for (String segment : path.substring(BASE_PATH.length() + 1).split("/", -1)) {
+            template.append('/').append(UUID_SEGMENT.matcher(segment).matches() ? "{id}" : "{other}");
+        }
+        return template.toString();
+    }
+
+    private final class MeteredResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final String method;
+        private final String uri;
+        private final long headersAt;
+        private CountingInputStream body;
+        private boolean closed;
+
+        private MeteredResponse(ClientHttpResponse delegate, String method, String uri, long headersAt) {
+            this.delegate = delegate;
+            this.method = method;
+            this.uri = uri;
+            this.headersAt = headersAt;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new CountingInputStream(delegate.getBody());
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                delegate.close();
+            } finally {
+                Timer.builder("api.upstream.response.read")
+                        .description("Time spent reading and deserializing upstream response bodies")
+                        .tags("method", method, "uri", uri)
+                        .register(registry)
+                        .record(System.nanoTime() - headersAt, TimeUnit.NANOSECONDS);
+                DistributionSummary.builder("api.upstream.response.size")
+                        .description("Upstream response body size")
+                        .baseUnit("bytes")
+                        .tags("method", method, "uri", uri)
+                        .register(registry)
+                        .record(body == null ? 0 : body.count);
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
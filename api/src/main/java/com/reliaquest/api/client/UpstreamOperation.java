@@ -0,0 +1,23 @@
+package com.reliaquest.api.client;
+
+import java.util.Locale;
+
+/**
+ * Groups of upstream calls isolated from each other by {@link UpstreamIsolation}: a failing or stalled group cannot
+ * take the others down with it.
+ */
+public enum UpstreamOperation {
+    LIST,
+    GET_BY_ID,
+    CREATE,
+    DELETE,
+    /** Long polls of the change feed, which hold a call open for up to the poll wait. */
+    CHANGES;
+
+    /**
+     * @return the name used in metric tags, e.g. {@code get-by-id}
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
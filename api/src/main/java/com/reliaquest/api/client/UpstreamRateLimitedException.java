@@ -0,0 +1,16 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an upstream call cannot be made because the Mock Employee API is (or is predicted to be) rate limiting
+ * us for longer than callers are willing to wait.
+ */
+public class UpstreamRateLimitedException extends UpstreamUnavailableException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UpstreamRateLimitedException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
@@ -0,0 +1,218 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paces calls to the Mock Employee API based on what its 429 responses have taught us.
+ *
+ * <p>The server admits a fixed number of requests and then rejects everything for a backoff window measured from
+ * the last admitted request. This limiter counts successful calls in the current window; on the first 429 that count
+ * becomes the learned budget, and the window is assumed to last until {@code lastSuccess + backoff}. Once the budget
+ * is known, the limiter stops sending calls that are bound to be rejected. Probes that are still rejected grow the
+ * backoff estimate, and the first success after a rejection records how long the window actually was.
+ *
+ * <p>Callers queue fairly for a bounded number of concurrent upstream calls and wait up to {@code max-wait} for the
+ * window to reopen; beyond that they get an {@link UpstreamRateLimitedException} telling them how long to wait.
+ */
+@Component
+public class UpstreamRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamRateLimiter.class);
+
+    private static final long MIN_PROBE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxConcurrent;
+    private final Semaphore inFlight;
+    private final long maxWaitNanos;
+    private final long maxBackoffNanos;
+    private final long jitterNanos;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long blockedUntilNanos;
+    private long lastSuccessNanos;
+    private long firstRejectedAtNanos;
+    private boolean rejecting;
+    private int windowCount;
+    private int learnedBudget;
+    private long learnedBackoffNanos;
+
+    @Autowired
+    public UpstreamRateLimiter(
+            @Value("${api.upstream.rate-limit.max-concurrent:4}") int maxConcurrent,
+            @Value("${api.upstream.rate-limit.max-wait:2s}") Duration maxWait,
+            @Value("${api.upstream.rate-limit.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${api.upstream.rate-limit.max-backoff:90s}") Duration maxBackoff,
+            @Value("${api.upstream.rate-limit.jitter:250ms}") Duration jitter) {
+        this(maxConcurrent, maxWait, initialBackoff, maxBackoff, jitter, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    UpstreamRateLimiter(
+            int maxConcurrent,
+            Duration maxWait,
+            Duration initialBackoff,
+            Duration maxBackoff,
+            Duration jitter,
+            LongSupplier nanoClock,
+            Sleeper sleeper) {
+        this.maxConcurrent = maxConcurrent;
+        this.inFlight = new Semaphore(maxConcurrent, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.learnedBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.jitterNanos = jitter.toNanos();
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+        this.lastSuccessNanos = nanoClock.getAsLong();
+        this.blockedUntilNanos = lastSuccessNanos;
+    }
+
+    /**
+     * Blocks until a call may be sent, i.e. the rate limit window is (predicted to be) open and a concurrency slot is
+     * free. Every successful acquire must be paired with {@link #release()}.
+     *
+     * @throws UpstreamRateLimitedException if that would take longer than the configured maximum wait
+     */
+    public void acquire() {
+        long deadline = nanoClock.getAsLong() + maxWaitNanos;
+        try {
+            long wait;
+            while ((wait = waitNanos()) > 0) {
+                long now = nanoClock.getAsLong();
+                if (now + wait > deadline) {
+                    throw new UpstreamRateLimitedException(
+                            "Upstream rate limit window is closed", Duration.ofNanos(wait));
+                }
+                sleeper.sleep(Math.min(deadline - now, wait + jitter()));
+            }
+            long remaining = Math.max(0, deadline - nanoClock.getAsLong());
+            if (!inFlight.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                throw new UpstreamRateLimitedException(
+                        "Too many upstream calls queued", Duration.ofNanos(Math.max(maxWaitNanos, 1)));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamRateLimitedException("Interrupted while waiting for upstream", estimatedWait());
+        }
+    }
+
+    public void release() {
+        inFlight.release();
+    }
+
+    /**
+     * Records a call the upstream admitted.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (rejecting) {
+                // The window reopened somewhere between the last rejected probe and now.
+                learnedBackoffNanos = Math.min(maxBackoffNanos, now - lastSuccessNanos);
+                rejecting = false;
+                windowCount = 0;
+                logger.info("Upstream rate limit window reopened after "
+                        + Duration.ofNanos(now - firstRejectedAtNanos).toMillis() + "ms, learned backoff="
+                        + Duration.ofNanos(learnedBackoffNanos).toMillis() + "ms");
+            }
+            windowCount++;
+            lastSuccessNanos = now;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a 429 from the upstream.
+     *
+     * @param retryAfter the server's {@code Retry-After} hint, or {@code null} if it sent none
+     * @return how long callers should now expect to wait
+     */
+    public Duration onRejected(Duration retryAfter) {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (!rejecting) {
+                rejecting = true;
+                firstRejectedAtNanos = now;
+                if (windowCount > 0) {
+                    learnedBudget = windowCount;
+                }
+                logger.warn(
+                        "Upstream started rate limiting after " + windowCount + " call(s), budget=" + learnedBudget);
+            } else if (now >= blockedUntilNanos) {
+                // A probe at the predicted end of the window was still rejected; the window is longer than we thought.
+                learnedBackoffNanos = Math.min(maxBackoffNanos, learnedBackoffNanos + learnedBackoffNanos / 2);
+            }
+            windowCount = 0;
+            long until = retryAfter != null ? now + retryAfter.toNanos() : lastSuccessNanos + learnedBackoffNanos;
+            blockedUntilNanos = Math.max(blockedUntilNanos, Math.max(until, now + MIN_PROBE_INTERVAL_NANOS));
+            return Duration.ofNanos(blockedUntilNanos - now);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return how long a call issued now would have to wait for the rate limit window, {@link Duration#ZERO} if none
+     */
+    public Duration estimatedWait() {
+        return Duration.ofNanos(Math.max(0, waitNanos()));
+    }
+
+    /**
+     * @return the number of calls the upstream admits per window, or 0 while it has not rate limited us yet
+     */
+    public int getLearnedBudget() {
+        return learnedBudget;
+    }
+
+    /**
+     * @return the number of calls currently holding a concurrency slot
+     */
+    public int getInFlight() {
+        return maxConcurrent - inFlight.availablePermits();
+    }
+
+    public Duration getLearnedBackoff() {
+        return Duration.ofNanos(learnedBackoffNanos);
+    }
+
+    private long waitNanos() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            if (!rejecting && learnedBudget > 0 && windowCount >= learnedBudget) {
+                // The budget is spent; the next call would only earn us a 429.
+                blockedUntilNanos = Math.max(blockedUntilNanos, lastSuccessNanos + learnedBackoffNanos);
+                rejecting = true;
+                firstRejectedAtNanos = now;
+                windowCount = 0;
+            }
+            return blockedUntilNanos - now;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long jitter() {
+        return jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0;
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+}
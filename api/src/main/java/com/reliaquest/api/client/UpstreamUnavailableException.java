@@ -0,0 +1,32 @@
+package com.reliaquest.api.client;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an upstream call is not made, or not completed, because the Mock Employee API cannot take it right now.
+ * Callers should answer 503 with a {@code Retry-After} of {@link #getRetryAfterSeconds()}, or fall back to data they
+ * already have.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * @return {@link #getRetryAfter()} rounded up to whole seconds, as used by the {@code Retry-After} header
+     */
+    public long getRetryAfterSeconds() {
+        long seconds = retryAfter.toSeconds();
+        return retryAfter.minusSeconds(seconds).isZero() ? seconds : seconds + 1;
+    }
+}
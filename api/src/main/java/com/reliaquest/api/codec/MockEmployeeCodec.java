@@ -0,0 +1,62 @@
+package com.reliaquest.api.codec;
+
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.codec.EmployeeJsonCodec;
+import java.util.UUID;
+
+/**
+ * Binds the shared {@link EmployeeJsonCodec} to the API's {@link MockEmployee}.
+ */
+public final class MockEmployeeCodec {
+
+    private MockEmployeeCodec() {}
+
+    public static final class Serializer extends EmployeeJsonCodec.Serializer<MockEmployee> {
+
+        public Serializer() {
+            super(MockEmployee.class);
+        }
+
+        @Override
+        protected UUID id(MockEmployee employee) {
+            return employee.getId();
+        }
+
+        @Override
+        protected String name(MockEmployee employee) {
+            return employee.getEmployee_name();
+        }
+
+        @Override
+        protected Integer salary(MockEmployee employee) {
+            return employee.getEmployee_salary();
+        }
+
+        @Override
+        protected Integer age(MockEmployee employee) {
+            return employee.getEmployee_age();
+        }
+
+        @Override
+        protected String title(MockEmployee employee) {
+            return employee.getEmployee_title();
+        }
+
+        @Override
+        protected String email(MockEmployee employee) {
+            return employee.getEmployee_email();
+        }
+    }
+
+    public static final class Deserializer extends EmployeeJsonCodec.Deserializer<MockEmployee> {
+
+        public Deserializer() {
+            super(MockEmployee.class);
+        }
+
+        @Override
+        protected MockEmployee create(UUID id, String name, Integer salary, Integer age, String title, String email) {
+            return new MockEmployee(id, name, salary, age, title, email);
+        }
+    }
+}
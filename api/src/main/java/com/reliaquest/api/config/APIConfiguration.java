@@ -1,13 +1,126 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.UpstreamMetricsInterceptor;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class APIConfiguration {
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            ClientHttpRequestFactory upstreamRequestFactory, UpstreamMetricsInterceptor upstreamMetricsInterceptor) {
+        RestTemplate restTemplate = new RestTemplate(upstreamRequestFactory);
+        restTemplate.getInterceptors().add(upstreamMetricsInterceptor);
+        return restTemplate;
+    }
+
+    /*
+     * Keep-alive connection pool with bounded connect, read and total times. Responses are requested and decoded
+     * with gzip unless compression is disabled. An idle connection is closed after keep-alive, and any connection is
+     * retired after max-life-time, so a busy connection is not torn down every keep-alive period.
+     */
+    @Bean
+    public UpstreamRequestFactory upstreamRequestFactory(
+            @Value("${api.upstream.http.max-connections:50}") int maxConnections,
+            @Value("${api.upstream.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${api.upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${api.upstream.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${api.upstream.http.total-timeout:10s}") Duration totalTimeout,
+            @Value("${api.upstream.http.pool-acquire-timeout:2s}") Duration poolAcquireTimeout,
+            @Value("${api.upstream.http.keep-alive:30s}") Duration keepAlive,
+            @Value("${api.upstream.http.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${api.upstream.http.compression:true}") boolean compression) {
+        final var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setTimeToLive(TimeValue.of(maxLifeTime))
+                        .build())
+                .build();
+        final HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(keepAlive));
+        if (!compression) {
+            builder.disableContentCompression();
+        }
+        return new UpstreamRequestFactory(builder.build(), totalTimeout);
+    }
+
+    @Bean
+    public Executor employeeRefreshExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        return backgroundExecutor("employee-refresh", 1, virtual);
+    }
+
+    /*
+     * Fetches the next upstream page while the current one is processed. Kept apart from the refresh executor, whose
+     * single thread may itself be waiting on a prefetched page.
+     */
+    @Bean
+    public Executor upstreamPrefetchExecutor(
+            @Value("${api.upstream.prefetch-threads:4}") int threads,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        return backgroundExecutor("upstream-prefetch", threads, virtual);
+    }
+
+    /*
+     * Sends the chunks of a batch request; its size caps how many chunks of one batch are upstream at once. Never more
+     * than the create/delete bulkhead admits, or the surplus chunks would be turned away by it instead of waiting.
+     */
+    @Bean
+    public Executor upstreamBatchExecutor(
+            @Value("${api.employee.batch.parallelism:3}") int threads,
+            @Value("${api.upstream.bulkhead.max-concurrent:3}") int bulkheadSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        return backgroundExecutor("upstream-batch", Math.min(threads, bulkheadSize), virtual);
+    }
+
+    /*
+     * A pool of daemon threads, or with virtual threads enabled a virtual thread per task. Virtual threads are not
+     * pooled, so a semaphore keeps at most as many tasks running as the pool would; the others wait for a permit on
+     * their own virtual thread instead of in the pool's queue.
+     */
+    private static Executor backgroundExecutor(String name, int threads, boolean virtual) {
+        if (virtual) {
+            ExecutorService executor =
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+            Semaphore permits = new Semaphore(threads, true);
+            return task -> executor.execute(() -> {
+                permits.acquireUninterruptibly();
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, threads == 1 ? name : name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 }
@@ -0,0 +1,64 @@
+package com.reliaquest.api.config;
+
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+@Configuration
+public class ReactiveUpstreamConfiguration {
+
+    /*
+     * Event loop and connection pool of the non-blocking upstream client, kept apart from any other Reactor Netty
+     * client. A handful of event loop threads serve every call in flight. Calls beyond max-connections wait for a
+     * connection, up to pending-acquire-max of them; later ones fail at once instead of queueing without bound. An idle
+     * connection is closed after keep-alive, and any connection is retired after max-life-time; the two are separate
+     * so a busy connection is not torn down every keep-alive period.
+     */
+    @Bean
+    public ReactorResourceFactory upstreamReactorResources(
+            @Value("${api.upstream.reactive.event-loop-threads:2}") int eventLoopThreads,
+            @Value("${api.upstream.reactive.max-connections:1000}") int maxConnections,
+            @Value("${api.upstream.reactive.pending-acquire-max:20000}") int pendingAcquireMax,
+            @Value("${api.upstream.http.pool-acquire-timeout:2s}") Duration poolAcquireTimeout,
+            @Value("${api.upstream.http.keep-alive:30s}") Duration keepAlive,
+            @Value("${api.upstream.reactive.max-life-time:5m}") Duration maxLifeTime) {
+        ReactorResourceFactory resources = new ReactorResourceFactory();
+        resources.setUseGlobalResources(false);
+        resources.setConnectionProviderSupplier(() -> ConnectionProvider.builder("upstream-reactive")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(poolAcquireTimeout)
+                .maxIdleTime(keepAlive)
+                .maxLifeTime(maxLifeTime)
+                .metrics(true)
+                .build());
+        resources.setLoopResourcesSupplier(() -> LoopResources.create("upstream-reactive", eventLoopThreads, true));
+        return resources;
+    }
+
+    /*
+     * Same connect, read and compression settings as the blocking client. Built on the auto-configured builder, so
+     * it decodes with the application's ObjectMapper and is observed as http.client.requests.
+     */
+    @Bean
+    public WebClient upstreamWebClient(
+            WebClient.Builder builder,
+            ReactorResourceFactory upstreamReactorResources,
+            @Value("${api.upstream.http.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${api.upstream.http.read-timeout:5s}") Duration readTimeout,
+            @Value("${api.upstream.http.compression:true}") boolean compression) {
+        ReactorClientHttpConnector connector =
+                new ReactorClientHttpConnector(upstreamReactorResources, client -> client.option(
+                                ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                        .responseTimeout(readTimeout)
+                        .compress(compression));
+        return builder.clientConnector(connector).build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.reliaquest.api.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.core5.concurrent.Cancellable;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Request factory for upstream calls that, on top of the connect and read timeouts of the underlying client, bounds
+ * the total time of an exchange: a request still running once {@code totalTimeout} has elapsed is aborted. The
+ * deadline is withdrawn as soon as the response is closed or the request fails, so completed exchanges are not kept
+ * queued until it would have expired.
+ *
+ * <p>A request marked with {@link #streaming(HttpRequest)} reads a body that is consumed while it arrives and may
+ * take longer than any total bound. Its deadline only covers the time until the response headers arrive; from then on
+ * the read timeout bounds each pause in the body instead.
+ */
+public class UpstreamRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+    // Marks a streaming request on its way through the interceptors; removed before the request is sent.
+    static final String STREAMING_HEADER = "X-Upstream-Streaming";
+
+    private final Duration totalTimeout;
+    private final ScheduledThreadPoolExecutor deadlines;
+    // Hands the exchange created by createHttpUriRequest to the createRequest call on the same thread.
+    private final ThreadLocal<Cancellable> createdExchange = new ThreadLocal<>();
+
+    public UpstreamRequestFactory(HttpClient httpClient, Duration totalTimeout) {
+        super(httpClient);
+        this.totalTimeout = totalTimeout;
+        this.deadlines = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "upstream-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadlines.setRemoveOnCancelPolicy(true);
+    }
+
+    public Duration getTotalTimeout() {
+        return totalTimeout;
+    }
+
+    /**
+     * Exempts the body of the response from the total timeout. Called from the request callback, before the request
+     * is sent.
+     */
+    public static void streaming(HttpRequest request) {
+        request.getHeaders().set(STREAMING_HEADER, "true");
+    }
+
+    /**
+     * @return the number of exchanges whose deadline is still scheduled
+     */
+    int pendingDeadlines() {
+        return deadlines.getQueue().size();
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        try {
+            ClientHttpRequest request = super.createRequest(uri, httpMethod);
+            Cancellable exchange = createdExchange.get();
+            return exchange == null ? request : new DeadlineRequest(request, exchange);
+        } finally {
+            createdExchange.remove();
+        }
+    }
+
+    @Override
+    protected ClassicHttpRequest createHttpUriRequest(HttpMethod httpMethod, URI uri) {
+        ClassicHttpRequest request = super.createHttpUriRequest(httpMethod, uri);
+        if (!totalTimeout.isZero() && !totalTimeout.isNegative() && request instanceof Cancellable cancellable) {
+            createdExchange.set(cancellable);
+        }
+        return request;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        deadlines.shutdownNow();
+        super.destroy();
+    }
+
+    private class DeadlineRequest implements ClientHttpRequest {
+
+        private final ClientHttpRequest delegate;
+        private final Cancellable exchange;
+
+        DeadlineRequest(ClientHttpRequest delegate, Cancellable exchange) {
+            this.delegate = delegate;
+            this.exchange = exchange;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            boolean streaming = delegate.getHeaders().remove(STREAMING_HEADER) != null;
+            ScheduledFuture<?> deadline =
+                    deadlines.schedule(() -> exchange.cancel(), totalTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            try {
+                ClientHttpResponse response = delegate.execute();
+                if (streaming) {
+                    deadline.cancel(false);
+                    return response;
+                }
+                return new DeadlineResponse(response, deadline);
+            } catch (IOException | RuntimeException ex) {
+                deadline.cancel(false);
+                throw ex;
+            }
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return delegate.getMethod();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+    }
+
+    private static class DeadlineResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final ScheduledFuture<?> deadline;
+
+        DeadlineResponse(ClientHttpResponse delegate, ScheduledFuture<?> deadline) {
+            this.delegate = delegate;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                deadline.cancel(false);
+            }
+        }
+    }
+}
@@ -1,47 +1,82 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.batch.EmployeeBatchProcessor;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamUnavailableException;
 import com.reliaquest.api.model.*;
+import com.reliaquest.api.query.EmployeeNameSearch;
+import com.reliaquest.api.query.EmployeeRankKey;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
 
-import java.net.URI;
-import java.util.LinkedHashMap;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 public class EmployeeController implements IEmployeeController<MockEmployee, CreateMockEmployeeInput>{
 
-    public static final String baseURL = "http://localhost:8112/api/v1/employee";
+    public static final String baseURL = EmployeeUpstreamClient.BASE_URL;
+
+    public static final int MAX_TOP_N = 1000;
+
+    public static final String STALE_WARNING = "110 - \"Response is Stale\"";
 
     private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 
     @Autowired
-    private RestTemplate restTemplate;
+    private EmployeeUpstreamClient upstreamClient;
+
+    @Autowired
+    private EmployeeSnapshotCache snapshotCache;
+
+    @Autowired
+    private EmployeeNameSearch nameSearch;
+
+    @Autowired
+    private EmployeeBatchProcessor batchProcessor;
+
+    @Value("${api.employee.batch.max-items:10000}")
+    private int maxBatchItems;
+
+    /*
+     * When enabled, search, highest salary and top ten scan the upstream list in a single streaming pass instead of
+     * reading the cached snapshot, so the full list is never held in memory.
+     */
+    @Value("${api.employee.streaming.enabled:false}")
+    private boolean streamingEnabled;
 
+    /*
+     * When enabled, highest salary and top ten are computed by the upstream, which answers with a few bytes instead
+     * of the whole list. Takes precedence over streaming.
+     */
+    @Value("${api.employee.aggregate.pushdown:false}")
+    private boolean aggregatePushdown;
 
     @Override
     @GetMapping()
     public ResponseEntity<List<MockEmployee>> getAllEmployees() {
-        ApiFetchResponse response = null;
         try{
-            response = restTemplate.getForObject(URI.create(baseURL), ApiFetchResponse.class);
-            if (Objects.nonNull(response) && Objects.nonNull(response.getData())){
-                logger.info(response.getData().size()+" Record(s) fetched");
-                return new ResponseEntity<>(response.getData(), HttpStatus.OK);
-            } else{
-                logger.error("Error Fetching Employee Records");
-                return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-            }
+            EmployeeSnapshot snapshot = snapshotCache.get();
+            logger.info(snapshot.employees().size()+" Record(s) fetched from snapshot version="+snapshot.version());
+            HttpHeaders headers = snapshotCache.isExpired(snapshot) ? staleHeaders(snapshotCache.age(snapshot)) : new HttpHeaders();
+            return new ResponseEntity<>(snapshot.employees(), headers, HttpStatus.OK);
+        } catch (UpstreamUnavailableException ex){
+            logger.warn("Upstream unavailable while fetching Employee Records, retry after "+ex.getRetryAfterSeconds()+"s: "+ex.getMessage());
+            return upstreamUnavailable(ex);
         } catch (Exception ex){
             logger.error("Error Fetching Employee Records");
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -53,19 +88,24 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
     @Override
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<MockEmployee>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        if (streamingEnabled){
+            List<MockEmployee> filteredEmployees = new ArrayList<>();
+            return scanUpstream(mockEmployee -> {
+                if (nameSearch.matches(mockEmployee, searchString)){
+                    filteredEmployees.add(mockEmployee);
+                }
+            }, () -> filteredEmployees, employees -> nameSearch.search(employees, searchString), "name="+searchString);
+        }
         ResponseEntity<List<MockEmployee>> allEmployeesResponse = getAllEmployees();
         if (allEmployeesResponse.getStatusCode()==HttpStatus.OK && Objects.nonNull(allEmployeesResponse.getBody())){
             List<MockEmployee> allEmployees =allEmployeesResponse.getBody();
             logger.info(allEmployees.size()+" Record(s) fetched");
-            List<MockEmployee> filteredEmployees = allEmployees
-                    .stream()
-                    .filter(mockEmployee -> mockEmployee.getEmployee_name().contains(searchString))
-                    .toList();
+            List<MockEmployee> filteredEmployees = nameSearch.search(allEmployees, searchString);
             logger.info(filteredEmployees.size()+" Record(s) filtered by name="+searchString);
-            return new ResponseEntity<>(filteredEmployees, HttpStatus.OK);
+            return new ResponseEntity<>(filteredEmployees, allEmployeesResponse.getHeaders(), HttpStatus.OK);
         } else{
             logger.error("Error Fetching Employee Record by name="+searchString);
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            return failedWith(allEmployeesResponse);
         }
     }
 
@@ -73,7 +113,7 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
     @GetMapping("/{id}")
     public ResponseEntity<MockEmployee> getEmployeeById(@PathVariable String id) {
         try{
-            ApiFetchResponseObject response = restTemplate.getForObject(URI.create(baseURL+"/"+id), ApiFetchResponseObject.class);
+            ApiFetchResponseObject response = upstreamClient.fetchById(id);
             if(Objects.nonNull(response) && Objects.nonNull(response.getData())){
                 logger.info("Record fetched for id="+id, response.getData().toString());
                 return new ResponseEntity<>(response.getData(), HttpStatus.OK);
@@ -81,6 +121,18 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
                 logger.error("Error Fetching Employee Record by id="+id);
                 return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
             }
+        }catch (UpstreamUnavailableException ex){
+            logger.warn("Upstream unavailable while fetching Employee Record by id="+id+": "+ex.getMessage());
+            EmployeeSnapshot snapshot = snapshotCache.peek();
+            if (Objects.nonNull(snapshot)){
+                for (MockEmployee employee : snapshot.employees()){
+                    if (Objects.nonNull(employee.getId()) && employee.getId().toString().equals(id)){
+                        logger.info("Record for id="+id+" served from snapshot version="+snapshot.version());
+                        return new ResponseEntity<>(employee, staleHeaders(snapshotCache.age(snapshot)), HttpStatus.OK);
+                    }
+                }
+            }
+            return upstreamUnavailable(ex);
         }catch (Exception ex){
             logger.error("Error Fetching Employee Record by id="+id);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -91,44 +143,82 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
     @Override
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
+        if (aggregatePushdown){
+            return pushDown(() -> Objects.requireNonNullElse(upstreamClient.fetchMaxSalary(), -1),
+                    employees -> EmployeeRankKey.SALARY.max(employees).orElse(-1), "highest salary");
+        }
+        if (streamingEnabled){
+            EmployeeRankKey.Ranker highestEarner = EmployeeRankKey.SALARY.ranker(1);
+            return scanUpstream(highestEarner::accept, () -> highestEarner.result()
+                    .stream()
+                    .findFirst()
+                    .map(MockEmployee::getEmployee_salary)
+                    .orElse(-1), employees -> EmployeeRankKey.SALARY.max(employees).orElse(-1), "highest salary");
+        }
         ResponseEntity<List<MockEmployee>> allEmployeesResponse = getAllEmployees();
         if (allEmployeesResponse.getStatusCode()==HttpStatus.OK && Objects.nonNull(allEmployeesResponse.getBody())){
             List<MockEmployee> allEmployees =allEmployeesResponse.getBody();
             logger.info(allEmployees.size()+" Record(s) fetched");
-            Integer highestSalary = allEmployees
-                    .stream()
-                    .sorted((e1, e2) -> e2.getEmployee_salary().compareTo(e1.getEmployee_salary()))
-//                    .sorted(Comparator.comparing(MockEmployee::getEmployee_salary))
-                    .findFirst()
-                    .map(MockEmployee::getEmployee_salary)
-                    .orElse(-1);
+            Integer highestSalary = EmployeeRankKey.SALARY.max(allEmployees).orElse(-1);
             logger.info("Highest Salary fetched="+highestSalary);
-            return new ResponseEntity<>(highestSalary, HttpStatus.OK);
+            return new ResponseEntity<>(highestSalary, allEmployeesResponse.getHeaders(), HttpStatus.OK);
         } else{
             logger.error("Error Fetching Employee Records");
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            return failedWith(allEmployeesResponse);
         }
     }
 
     @Override
     @GetMapping("/topTenHighestEarningEmployeeNames")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
+        if (aggregatePushdown){
+            return pushDown(() -> upstreamClient.fetchTopBySalary(10)
+                    .stream()
+                    .map(MockEmployee::getEmployee_name)
+                    .toList(), EmployeeController::topTenNames, "top ten highest earning employees");
+        }
+        if (streamingEnabled){
+            EmployeeRankKey.Ranker topTen = EmployeeRankKey.SALARY.ranker(10);
+            return scanUpstream(topTen::accept, () -> topTen.result()
+                    .stream()
+                    .map(MockEmployee::getEmployee_name)
+                    .toList(), EmployeeController::topTenNames, "top ten highest earning employees");
+        }
         ResponseEntity<List<MockEmployee>> allEmployeesResponse = getAllEmployees();
         if (allEmployeesResponse.getStatusCode()==HttpStatus.OK && Objects.nonNull(allEmployeesResponse.getBody())){
             List<MockEmployee> allEmployees =allEmployeesResponse.getBody();
             logger.info(allEmployees.size()+" Record(s) fetched");
-            List<String> topTenHighestEarningEmployees = allEmployees
-                    .stream()
-                    .sorted((e1, e2) -> e2.getEmployee_salary().compareTo(e1.getEmployee_salary()))
-//                    .sorted(Comparator.comparing(MockEmployee::getEmployee_salary))
-                    .limit(10)
-                    .map(MockEmployee::getEmployee_name)
-                    .toList();
+            List<String> topTenHighestEarningEmployees = topTenNames(allEmployees);
             logger.info("Top 10 highest earning employees list fetched="+topTenHighestEarningEmployees.toString());
-            return new ResponseEntity<>(topTenHighestEarningEmployees, HttpStatus.OK);
+            return new ResponseEntity<>(topTenHighestEarningEmployees, allEmployeesResponse.getHeaders(), HttpStatus.OK);
         } else{
             logger.error("Error Fetching Employee Records");
-            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+            return failedWith(allEmployeesResponse);
+        }
+    }
+
+    @GetMapping("/top")
+    public ResponseEntity<List<MockEmployee>> getTopEmployees(@RequestParam(defaultValue = "10") int n,
+                                                              @RequestParam(defaultValue = "salary") String by) {
+        EmployeeRankKey rankKey;
+        try{
+            rankKey = EmployeeRankKey.fromParameter(by);
+        } catch (IllegalArgumentException ex){
+            logger.error("Unsupported ranking attribute by="+by);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (n < 1 || n > MAX_TOP_N){
+            logger.error("Unsupported number of top employees n="+n);
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        ResponseEntity<List<MockEmployee>> allEmployeesResponse = getAllEmployees();
+        if (allEmployeesResponse.getStatusCode()==HttpStatus.OK && Objects.nonNull(allEmployeesResponse.getBody())){
+            List<MockEmployee> topEmployees = rankKey.top(allEmployeesResponse.getBody(), n);
+            logger.info("Top "+n+" employees by "+by+" fetched="+topEmployees.size());
+            return new ResponseEntity<>(topEmployees, allEmployeesResponse.getHeaders(), HttpStatus.OK);
+        } else{
+            logger.error("Error Fetching Employee Records");
+            return failedWith(allEmployeesResponse);
         }
     }
 
@@ -136,24 +226,19 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
     @PostMapping()
     public ResponseEntity<MockEmployee> createEmployee(@RequestBody CreateMockEmployeeInput employeeInput) {
         try {
-            HttpEntity<CreateMockEmployeeInput> requestEntity = new HttpEntity<>(employeeInput);
-            ResponseEntity<APIActionResponse> createResponse = restTemplate.exchange(baseURL, HttpMethod.POST, requestEntity, APIActionResponse.class);
+            ResponseEntity<APIActionResponse<MockEmployee>> createResponse = upstreamClient.create(employeeInput);
             if (createResponse.getStatusCode()== HttpStatus.OK && Objects.nonNull(createResponse.getBody()) && Objects.nonNull(createResponse.getBody().getData())){
-                LinkedHashMap map = (LinkedHashMap) createResponse.getBody().getData();
-                MockEmployee newEmployee = new MockEmployee(
-                        UUID.fromString((String)(map.get("id"))),
-                        (String) map.get("employee_name"),
-                        (Integer) map.get("employee_salary"),
-                        (Integer) map.get("employee_age"),
-                        (String) map.get("employee_title"),
-                        (String) map.get("employee_email")
-                );
+                MockEmployee newEmployee = createResponse.getBody().getData();
                 logger.info("New Employee created:"+newEmployee.toString());
+                snapshotCache.onCreated(newEmployee);
                 return new ResponseEntity<>(newEmployee, HttpStatus.OK);
             } else {
                 logger.error("Error Creating Employee Record");
                 return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
             }
+        } catch (UpstreamUnavailableException ex){
+            logger.warn("Upstream unavailable while Creating Employee Record: "+ex.getMessage());
+            return upstreamUnavailable(ex);
         } catch (Exception ex){
             logger.error("Error Creating Employee Record");
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
@@ -165,29 +250,139 @@ public class EmployeeController implements IEmployeeController<MockEmployee, Cre
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
         try{
-            ResponseEntity<MockEmployee> employeeResponse = getEmployeeById(id);
-            if (Objects.nonNull(employeeResponse) && Objects.nonNull(employeeResponse.getBody())){
-                String employeeName = employeeResponse.getBody().getEmployee_name();
-                DeleteMockEmployeeInput employeeToBeDeleted = new DeleteMockEmployeeInput();
-                employeeToBeDeleted.setName(employeeName);
-
-                HttpEntity<DeleteMockEmployeeInput> requestEntity = new HttpEntity<>(employeeToBeDeleted);
-                ResponseEntity<APIActionResponse> deleteResponse = restTemplate.exchange(baseURL, HttpMethod.DELETE, requestEntity, APIActionResponse.class);
-                if (deleteResponse.getStatusCode()== HttpStatus.OK && Objects.nonNull(deleteResponse.getBody()) && deleteResponse.getBody().getData().equals(true)){
-                    logger.info("Employee deleted:"+employeeName);
-                    return new ResponseEntity<>(employeeName, HttpStatus.OK);
-                } else {
-                    logger.error("Error Deleting Employee Record for id="+id);
-                    return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
-                }
+            ResponseEntity<ApiFetchResponseObject> deleteResponse = upstreamClient.deleteById(id);
+            if (deleteResponse.getStatusCode()==HttpStatus.OK && Objects.nonNull(deleteResponse.getBody()) && Objects.nonNull(deleteResponse.getBody().getData())){
+                MockEmployee deletedEmployee = deleteResponse.getBody().getData();
+                logger.info("Employee deleted:"+deletedEmployee.getEmployee_name());
+                snapshotCache.onDeleted(deletedEmployee.getId());
+                return new ResponseEntity<>(deletedEmployee.getEmployee_name(), HttpStatus.OK);
             } else {
                 logger.error("Error Deleting Employee Record for id="+id);
                 return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
             }
+        } catch (UpstreamUnavailableException ex){
+            logger.warn("Upstream unavailable while Deleting Employee Record for id="+id+": "+ex.getMessage());
+            return upstreamUnavailable(ex);
         } catch (Exception ex){
             logger.error("Error Deleting Employee Record for id="+id);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Creates all the given employees; answers 200 if every one was created, otherwise 207 with a result per item.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createEmployees(@RequestBody List<CreateMockEmployeeInput> employeeInputs) {
+        if (Objects.isNull(employeeInputs) || employeeInputs.isEmpty() || employeeInputs.size() > maxBatchItems){
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<BatchItemResult> results = batchProcessor.createAll(employeeInputs);
+        return batchResponse(results, "created");
+    }
+
+    /**
+     * Deletes all the given ids; answers 200 if every one was deleted, otherwise 207 with a result per id.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteEmployeesById(@RequestBody List<String> ids) {
+        if (Objects.isNull(ids) || ids.isEmpty() || ids.size() > maxBatchItems){
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<BatchItemResult> results = batchProcessor.deleteAll(ids);
+        return batchResponse(results, "deleted");
+    }
+
+    private static ResponseEntity<List<BatchItemResult>> batchResponse(List<BatchItemResult> results, String action) {
+        long succeeded = results.stream().filter(BatchItemResult::isSuccessful).count();
+        logger.info(succeeded+" of "+results.size()+" Employee Record(s) "+action+" in batch");
+        HttpStatus status = succeeded == results.size() ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(results, status);
+    }
+
+    private static List<String> topTenNames(List<MockEmployee> employees) {
+        return EmployeeRankKey.SALARY.top(employees, 10)
+                .stream()
+                .map(MockEmployee::getEmployee_name)
+                .toList();
+    }
+
+    /**
+     * Feeds every upstream employee to the consumer in one streaming pass and answers with the accumulated result.
+     * While the upstream is unavailable, answers with the fallback computed from the last snapshot instead.
+     */
+    private <T> ResponseEntity<T> scanUpstream(Consumer<MockEmployee> consumer, Supplier<T> result,
+                                               Function<List<MockEmployee>, T> fallback, String description) {
+        try{
+            long scanned = upstreamClient.streamAll(consumer);
+            T body = result.get();
+            logger.info(scanned+" Record(s) streamed for "+description);
+            return new ResponseEntity<>(body, HttpStatus.OK);
+        } catch (UpstreamUnavailableException ex){
+            logger.warn("Upstream unavailable while streaming Employee Records for "+description+": "+ex.getMessage());
+            return fromSnapshot(fallback, ex, description);
+        } catch (Exception ex){
+            logger.error("Error Streaming Employee Records for "+description);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Lets the upstream compute the aggregate. While the upstream is unavailable, answers with the fallback computed
+     * from the last snapshot instead.
+     */
+    private <T> ResponseEntity<T> pushDown(Supplier<T> aggregate, Function<List<MockEmployee>, T> fallback,
+                                           String description) {
+        try{
+            T body = aggregate.get();
+            logger.info("Upstream computed "+description+"="+body);
+            return new ResponseEntity<>(body, HttpStatus.OK);
+        } catch (UpstreamUnavailableException ex){
+            logger.warn("Upstream unavailable while computing "+description+": "+ex.getMessage());
+            return fromSnapshot(fallback, ex, description);
+        } catch (Exception ex){
+            logger.error("Error Computing "+description+" upstream");
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Answers from the last snapshot, marked stale, when the upstream cannot be asked; 503 if there is none.
+     */
+    private <T> ResponseEntity<T> fromSnapshot(Function<List<MockEmployee>, T> compute, UpstreamUnavailableException ex,
+                                               String description) {
+        EmployeeSnapshot snapshot = snapshotCache.peek();
+        if (Objects.isNull(snapshot)){
+            return upstreamUnavailable(ex);
+        }
+        logger.info(description+" computed from snapshot version="+snapshot.version());
+        return new ResponseEntity<>(compute.apply(snapshot.employees()), staleHeaders(snapshotCache.age(snapshot)), HttpStatus.OK);
+    }
+
+    /**
+     * Marks a response served from a snapshot that may no longer match the upstream, with its age in seconds.
+     */
+    static HttpHeaders staleHeaders(Duration age) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AGE, String.valueOf(Math.max(0, age.toSeconds())));
+        headers.set(HttpHeaders.WARNING, STALE_WARNING);
+        return headers;
+    }
+
+    /**
+     * Tells the client the upstream cannot take the call and when it is worth trying again.
+     */
+    private static <T> ResponseEntity<T> upstreamUnavailable(UpstreamUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .build();
+    }
+
+    /**
+     * Propagates the status and headers of a failed response from another endpoint of this controller.
+     */
+    private static <T> ResponseEntity<T> failedWith(ResponseEntity<?> failure) {
+        return ResponseEntity.status(failure.getStatusCode()).headers(failure.getHeaders()).build();
+    }
+
 }
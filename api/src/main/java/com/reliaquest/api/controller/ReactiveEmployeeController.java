@@ -0,0 +1,260 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.batch.EmployeeBatchProcessor;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.ReactiveEmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.api.query.EmployeeNameSearch;
+import com.reliaquest.api.query.EmployeeRankKey;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The employee endpoints of {@link EmployeeController} on the {@link ReactiveEmployeeUpstreamClient}. Every method
+ * returns a {@link Mono}, so the request thread is released while the upstream answers and the response is written
+ * once it has.
+ *
+ * <p>Reads share the {@link EmployeeSnapshotCache} with version 1: a fresh snapshot is served as is, an expired one
+ * is served while a single background call refreshes it, and without one the list is fetched once for all
+ * concurrent requests. Like version 1, an answer from an expired snapshot carries an {@code Age} and a
+ * {@code Warning: 110} header. With {@code api.employee.streaming.enabled}, highest salary and top ten stream the
+ * upstream list through a bounded ranker instead, reading it only as fast as it is ranked.
+ *
+ * <p>Upstream answers arrive on the few event loop threads that every call in flight shares. Steps that cost time in
+ * the size of the list, such as searching or ranking it and updating the cached snapshot, are therefore moved to
+ * {@link Schedulers#boundedElastic()} first, so one large list cannot stall the other calls.
+ */
+@RestController
+@RequestMapping("/api/v2/employee")
+public class ReactiveEmployeeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEmployeeController.class);
+
+    private final ReactiveEmployeeUpstreamClient upstreamClient;
+    private final EmployeeSnapshotCache snapshotCache;
+    private final EmployeeNameSearch nameSearch;
+    private final int maxLookupIds;
+    private final boolean streamingEnabled;
+
+    public ReactiveEmployeeController(
+            ReactiveEmployeeUpstreamClient upstreamClient,
+            EmployeeSnapshotCache snapshotCache,
+            EmployeeNameSearch nameSearch,
+            @Value("${api.employee.batch.max-items:10000}") int maxLookupIds,
+            @Value("${api.employee.streaming.enabled:false}") boolean streamingEnabled) {
+        this.upstreamClient = upstreamClient;
+        this.snapshotCache = snapshotCache;
+        this.nameSearch = nameSearch;
+        this.maxLookupIds = maxLookupIds;
+        this.streamingEnabled = streamingEnabled;
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<MockEmployee>>> getAllEmployees() {
+        return fromSnapshot(Function.identity(), "fetching Employee Records");
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<MockEmployee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return fromSnapshot(
+                employees -> nameSearch.search(employees, searchString),
+                "searching Employee Records by name=" + searchString);
+    }
+
+    /**
+     * Like version 1, answers from the last snapshot, marked stale, if the upstream cannot be asked and the snapshot
+     * holds the employee.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<MockEmployee>> getEmployeeById(@PathVariable String id) {
+        String description = "fetching Employee Record by id=" + id;
+        return upstreamClient
+                .fetchById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(UpstreamUnavailableException.class, ex -> fromStaleSnapshot(id)
+                        .switchIfEmpty(Mono.defer(() -> failed(ex, description))))
+                .onErrorResume(ex -> failed(ex, description));
+    }
+
+    /**
+     * Looks up every given id at once instead of one request per id.
+     *
+     * @return the employees found, in the order of their ids; unknown ids are left out, and ids that are not UUIDs are
+     *     left out without an upstream call
+     */
+    @GetMapping("/lookup")
+    public Mono<ResponseEntity<List<MockEmployee>>> getEmployeesById(@RequestParam List<String> ids) {
+        if (ids.isEmpty() || ids.size() > maxLookupIds) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        List<String> uuids =
+                ids.stream().filter(ReactiveEmployeeController::isUuid).toList();
+        if (uuids.size() < ids.size()) {
+            logger.info("Skipping " + (ids.size() - uuids.size()) + " id(s) that are not UUIDs");
+        }
+        return respond(
+                upstreamClient.fetchByIds(uuids).collectList(), "looking up " + uuids.size() + " Employee Record(s)");
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return ranked(1, top -> top.isEmpty() ? -1 : top.get(0).getEmployee_salary(), "computing highest salary");
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return ranked(
+                10,
+                top -> top.stream().map(MockEmployee::getEmployee_name).toList(),
+                "computing top ten highest earning employees");
+    }
+
+    /**
+     * Creates the employee; answers 400 without calling the upstream if the input is invalid, and 400 if the upstream
+     * rejects it.
+     */
+    @PostMapping()
+    public Mono<ResponseEntity<MockEmployee>> createEmployee(@RequestBody CreateMockEmployeeInput employeeInput) {
+        String invalid = EmployeeBatchProcessor.validate(employeeInput);
+        if (Objects.nonNull(invalid)) {
+            logger.warn("Invalid Employee Record not created: " + invalid);
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return respond(
+                upstreamClient
+                        .create(employeeInput)
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(employee -> {
+                            logger.info("New Employee created:" + employee);
+                            snapshotCache.onCreated(employee);
+                        }),
+                "creating Employee Record");
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return upstreamClient
+                .deleteById(id)
+                .publishOn(Schedulers.boundedElastic())
+                .map(employee -> {
+                    logger.info("Employee deleted:" + employee.getEmployee_name());
+                    snapshotCache.onDeleted(employee.getId());
+                    return ResponseEntity.ok(employee.getEmployee_name());
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(ex -> failed(ex, "deleting Employee Record for id=" + id));
+    }
+
+    /**
+     * Answers with {@code compute} applied to the cached employee list, marked stale if the snapshot has expired.
+     */
+    private <T> Mono<ResponseEntity<T>> fromSnapshot(Function<List<MockEmployee>, T> compute, String description) {
+        return snapshotCache
+                .getAsync(upstreamClient::fetchAll)
+                .publishOn(Schedulers.boundedElastic())
+                .map(snapshot -> {
+                    HttpHeaders headers = snapshotCache.isExpired(snapshot)
+                            ? EmployeeController.staleHeaders(snapshotCache.age(snapshot))
+                            : new HttpHeaders();
+                    return new ResponseEntity<>(compute.apply(snapshot.employees()), headers, HttpStatus.OK);
+                })
+                .onErrorResume(ex -> failed(ex, description));
+    }
+
+    /**
+     * @return the employee with the given id from the cached snapshot, marked stale, or empty if it is not there
+     */
+    private Mono<ResponseEntity<MockEmployee>> fromStaleSnapshot(String id) {
+        return Mono.fromCallable(() -> {
+                    EmployeeSnapshot snapshot = snapshotCache.peek();
+                    if (Objects.isNull(snapshot)) {
+                        return null;
+                    }
+                    for (MockEmployee employee : snapshot.employees()) {
+                        if (Objects.nonNull(employee.getId()) && employee.getId().toString().equals(id)) {
+                            logger.info("Record for id=" + id + " served from snapshot version=" + snapshot.version());
+                            return new ResponseEntity<>(
+                                    employee,
+                                    EmployeeController.staleHeaders(snapshotCache.age(snapshot)),
+                                    HttpStatus.OK);
+                        }
+                    }
+                    return null;
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Ranks the employees by salary and answers with the {@code n} highest, finished by {@code result}.
+     */
+    private <T> Mono<ResponseEntity<T>> ranked(int n, Function<List<MockEmployee>, T> result, String description) {
+        if (!streamingEnabled) {
+            return fromSnapshot(employees -> result.apply(EmployeeRankKey.SALARY.top(employees, n)), description);
+        }
+        return respond(
+                Mono.defer(() -> {
+                    EmployeeRankKey.Ranker ranker = EmployeeRankKey.SALARY.ranker(n);
+                    return upstreamClient
+                            .streamAll()
+                            .doOnNext(ranker::accept)
+                            .then(Mono.fromSupplier(() -> result.apply(ranker.result())));
+                }),
+                description);
+    }
+
+    private static boolean isUuid(String id) {
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private <T> Mono<ResponseEntity<T>> respond(Mono<T> body, String description) {
+        return body.map(ResponseEntity::ok).onErrorResume(ex -> failed(ex, description));
+    }
+
+    /**
+     * Answers 400 if the upstream rejected the request, 503 with a {@code Retry-After} if it could not take the call,
+     * 500 otherwise.
+     */
+    private static <T> Mono<ResponseEntity<T>> failed(Throwable ex, String description) {
+        if (ex instanceof WebClientResponseException rejected
+                && rejected.getStatusCode().is4xxClientError()) {
+            logger.warn("Upstream rejected the request while " + description + ": " + rejected.getStatusCode());
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        if (ex instanceof UpstreamUnavailableException unavailable) {
+            logger.warn("Upstream unavailable while " + description + ": " + ex.getMessage());
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(unavailable.getRetryAfterSeconds()))
+                    .build());
+        }
+        logger.error("Error " + description + ": " + ex);
+        return Mono.just(new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+}
@@ -0,0 +1,36 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Outcome of one item of a batch request, {@code index} being its position in the request.
+ */
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+    private int index;
+    private Status status;
+    private MockEmployee employee;
+    private String error;
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, Status.FAILED, null, error);
+    }
+
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return status == Status.CREATED || status == Status.DELETED;
+    }
+
+    public enum Status {
+        CREATED,
+        DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+}
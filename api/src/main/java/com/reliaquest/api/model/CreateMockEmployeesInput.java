@@ -0,0 +1,12 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CreateMockEmployeesInput {
+
+    private List<CreateMockEmployeeInput> employees;
+}
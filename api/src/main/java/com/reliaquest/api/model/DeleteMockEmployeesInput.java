@@ -0,0 +1,13 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class DeleteMockEmployeesInput {
+
+    private List<UUID> ids;
+}
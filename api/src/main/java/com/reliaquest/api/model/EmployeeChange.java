@@ -0,0 +1,23 @@
+package com.reliaquest.api.model;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One create or delete from the upstream change feed; {@code employee} is only set for creations.
+ */
+@Data
+@AllArgsConstructor
+public class EmployeeChange {
+
+    private long sequence;
+    private Type type;
+    private UUID id;
+    private MockEmployee employee;
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
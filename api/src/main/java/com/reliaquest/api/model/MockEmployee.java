@@ -1,5 +1,8 @@
 package com.reliaquest.api.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.reliaquest.api.codec.MockEmployeeCodec;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,6 +10,8 @@ import java.util.UUID;
 
 @Data
 @AllArgsConstructor
+@JsonSerialize(using = MockEmployeeCodec.Serializer.class)
+@JsonDeserialize(using = MockEmployeeCodec.Deserializer.class)
 public class MockEmployee {
 
     private UUID id;
@@ -0,0 +1,68 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.cache.EmployeeDelta;
+import com.reliaquest.api.cache.EmployeeSnapshot;
+import com.reliaquest.api.cache.EmployeeSnapshotListener;
+import com.reliaquest.api.model.MockEmployee;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Name search over the API's current view of the employees. A {@link TrigramNameIndex} is built for each employee
+ * list instance it is asked about; since every snapshot version is a new list, the index follows snapshot refreshes
+ * and local writes without explicit invalidation.
+ *
+ * <p>Snapshots produced by an {@link EmployeeDelta}, such as local writes, derive their index from the previous one
+ * instead, so a write does not cost a full rebuild on the next search.
+ */
+@Component
+public class EmployeeNameSearch implements EmployeeSnapshotListener {
+
+    private final boolean caseInsensitive;
+    private final AtomicReference<TrigramNameIndex> index = new AtomicReference<>();
+
+    public EmployeeNameSearch(@Value("${api.employee.search.case-insensitive:false}") boolean caseInsensitive) {
+        this.caseInsensitive = caseInsensitive;
+    }
+
+    /**
+     * @return employees from {@code employees} whose name contains {@code query}, in list order
+     */
+    public List<MockEmployee> search(List<MockEmployee> employees, String query) {
+        return indexFor(employees).search(query, caseInsensitive);
+    }
+
+    /**
+     * @return whether a single employee name matches, using the same case sensitivity as {@link #search}
+     */
+    public boolean matches(MockEmployee employee, String query) {
+        return TrigramNameIndex.matches(employee.getEmployee_name(), query, caseInsensitive);
+    }
+
+    @Override
+    public void onSnapshotChanged(EmployeeSnapshot previous, EmployeeSnapshot current, EmployeeDelta delta) {
+        TrigramNameIndex built = index.get();
+        if (Objects.isNull(built) || Objects.isNull(previous) || !built.isBuiltFrom(previous.employees())) {
+            return;
+        }
+        // Dropping the index of a list replaced as a whole frees it now; the next search builds the new one.
+        TrigramNameIndex derived = Objects.isNull(delta) ? null : built.withDelta(current.employees(), delta);
+        index.compareAndSet(built, derived);
+    }
+
+    public boolean isCaseInsensitive() {
+        return caseInsensitive;
+    }
+
+    private TrigramNameIndex indexFor(List<MockEmployee> employees) {
+        TrigramNameIndex current = index.get();
+        if (Objects.isNull(current) || !current.isBuiltFrom(employees)) {
+            current = new TrigramNameIndex(employees);
+            index.set(current);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.function.Function;
+
+/**
+ * Employee attributes that can be ranked with {@link TopN}. Employees without a value for the attribute are skipped.
+ */
+public enum EmployeeRankKey {
+    SALARY(MockEmployee::getEmployee_salary),
+    AGE(MockEmployee::getEmployee_age);
+
+    private final Function<MockEmployee, Integer> accessor;
+
+    EmployeeRankKey(Function<MockEmployee, Integer> accessor) {
+        this.accessor = accessor;
+    }
+
+    /**
+     * @param value request parameter such as {@code salary} or {@code age}, case-insensitive
+     * @throws IllegalArgumentException if the value does not name a rank key
+     */
+    public static EmployeeRankKey fromParameter(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return a ranker that can be fed employees one at a time
+     */
+    public Ranker ranker(int n) {
+        return new Ranker(this, n);
+    }
+
+    /**
+     * @return the {@code n} employees with the highest value, highest first, ties in list order
+     */
+    public List<MockEmployee> top(Iterable<MockEmployee> employees, int n) {
+        Ranker ranker = ranker(n);
+        employees.forEach(ranker::accept);
+        return ranker.result();
+    }
+
+    /**
+     * @return the highest value among the employees, if any has one
+     */
+    public OptionalInt max(Iterable<MockEmployee> employees) {
+        boolean found = false;
+        int max = Integer.MIN_VALUE;
+        for (MockEmployee employee : employees) {
+            Integer value = accessor.apply(employee);
+            if (Objects.nonNull(value)) {
+                found = true;
+                max = Math.max(max, value);
+            }
+        }
+        return found ? OptionalInt.of(max) : OptionalInt.empty();
+    }
+
+    public static final class Ranker {
+
+        private final EmployeeRankKey key;
+        private final TopN<MockEmployee> topN;
+
+        private Ranker(EmployeeRankKey key, int n) {
+            this.key = key;
+            this.topN = new TopN<>(n);
+        }
+
+        public void accept(MockEmployee employee) {
+            Integer value = key.accessor.apply(employee);
+            if (Objects.nonNull(value)) {
+                topN.offer(value, employee);
+            }
+        }
+
+        public List<MockEmployee> result() {
+            return topN.toList();
+        }
+    }
+}
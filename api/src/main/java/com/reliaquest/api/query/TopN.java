@@ -0,0 +1,122 @@
+package com.reliaquest.api.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps the {@code n} items with the highest {@code int} keys seen so far, in O(log n) per offered item and O(n)
+ * memory, instead of sorting everything to read the first few elements.
+ *
+ * <p>Items are held in a bounded min-heap whose root is the current worst entry. Ties are broken by offer order, so
+ * the result matches a stable descending sort of the offered items truncated to {@code n}.
+ *
+ * @param <T> item ranked by its key
+ */
+public final class TopN<T> {
+
+    private final int capacity;
+    private final int[] keys;
+    private final long[] sequences;
+    private final Object[] items;
+    private int size;
+    private long offered;
+
+    public TopN(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive, was " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new int[capacity];
+        this.sequences = new long[capacity];
+        this.items = new Object[capacity];
+    }
+
+    public void offer(int key, T item) {
+        long sequence = offered++;
+        if (size < capacity) {
+            keys[size] = key;
+            sequences[size] = sequence;
+            items[size] = item;
+            siftUp(keys, sequences, items, size++);
+        } else if (key > keys[0]) {
+            // An equal key was offered later than the root, so it can only rank below it.
+            keys[0] = key;
+            sequences[0] = sequence;
+            items[0] = item;
+            siftDown(keys, sequences, items, 0, size);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the retained items, highest key first
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> toList() {
+        int[] heapKeys = Arrays.copyOf(keys, size);
+        long[] heapSequences = Arrays.copyOf(sequences, size);
+        Object[] heapItems = Arrays.copyOf(items, size);
+        Object[] ranked = new Object[size];
+        for (int remaining = size; remaining > 0; remaining--) {
+            ranked[remaining - 1] = heapItems[0];
+            int last = remaining - 1;
+            heapKeys[0] = heapKeys[last];
+            heapSequences[0] = heapSequences[last];
+            heapItems[0] = heapItems[last];
+            siftDown(heapKeys, heapSequences, heapItems, 0, last);
+        }
+        List<T> result = new ArrayList<>(size);
+        for (Object item : ranked) {
+            result.add((T) item);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static boolean worse(int[] keys, long[] sequences, int a, int b) {
+        return keys[a] < keys[b] || (keys[a] == keys[b] && sequences[a] > sequences[b]);
+    }
+
+    private static void siftUp(int[] keys, long[] sequences, Object[] items, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(keys, sequences, index, parent)) {
+                return;
+            }
+            swap(keys, sequences, items, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] keys, long[] sequences, Object[] items, int index, int size) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int right = left + 1;
+            int worst = right < size && worse(keys, sequences, right, left) ? right : left;
+            if (!worse(keys, sequences, worst, index)) {
+                return;
+            }
+            swap(keys, sequences, items, index, worst);
+            index = worst;
+        }
+    }
+
+    private static void swap(int[] keys, long[] sequences, Object[] items, int a, int b) {
+        int key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long sequence = sequences[a];
+        sequences[a] = sequences[b];
+        sequences[b] = sequence;
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+    }
+}
@@ -0,0 +1,235 @@
+package com.reliaquest.api.query;
+
+import com.reliaquest.api.cache.EmployeeDelta;
+import com.reliaquest.api.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Inverted index from case-folded name trigrams to the positions of the employees whose name contains them.
+ *
+ * <p>A substring query of three or more characters is answered by intersecting the posting lists of its trigrams,
+ * starting from the shortest, and verifying only the surviving candidates; shorter queries fall back to a scan.
+ * Because trigrams are case-folded, one index serves both case-sensitive and case-insensitive queries. Indexing and
+ * case-insensitive matching fold each char the same way, as {@link String#regionMatches(boolean, int, String, int,
+ * int)} compares them, so a name the verification accepts always has the query's trigrams. Names are folded into a
+ * reused {@code char[]} rather than through {@link String#toLowerCase()}.
+ *
+ * <p>The index is immutable and tied to the list it was built from. {@link #withDelta} derives the index of a list
+ * changed by an {@link EmployeeDelta} without rebuilding: it keeps the postings of the list the index was built from,
+ * skips the removed employees and scans the few created since.
+ */
+public final class TrigramNameIndex {
+
+    private static final int GRAM = 3;
+
+    // Fewest changes a derived index accumulates before asking for a rebuild.
+    private static final int MIN_DELTA = 256;
+
+    private final List<MockEmployee> employees;
+    // The list the postings point into, and the changes made to it since: the current list is built, minus the
+    // removed ids, followed by created.
+    private final List<MockEmployee> built;
+    private final Map<Long, int[]> postings;
+    private final Set<UUID> removed;
+    private final List<MockEmployee> created;
+
+    public TrigramNameIndex(List<MockEmployee> employees) {
+        this.employees = employees;
+        this.built = employees;
+        this.removed = Collections.emptySet();
+        this.created = List.of();
+        Map<Long, PostingsBuilder> builders = new HashMap<>();
+        char[] folded = new char[64];
+        for (int position = 0; position < employees.size(); position++) {
+            String name = employees.get(position).getEmployee_name();
+            if (Objects.isNull(name) || name.length() < GRAM) {
+                continue;
+            }
+            folded = fold(name, folded);
+            for (int offset = 0; offset + GRAM <= name.length(); offset++) {
+                builders.computeIfAbsent(trigram(folded, offset), ignored -> new PostingsBuilder())
+                        .add(position);
+            }
+        }
+        this.postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+        builders.forEach((trigram, builder) -> postings.put(trigram, builder.toArray()));
+    }
+
+    private TrigramNameIndex(
+            List<MockEmployee> employees, TrigramNameIndex base, Set<UUID> removed, List<MockEmployee> created) {
+        this.employees = employees;
+        this.built = base.built;
+        this.postings = base.postings;
+        this.removed = removed;
+        this.created = created;
+    }
+
+    /**
+     * Derives the index of {@code employees}, the list this index was built from with {@code delta} applied. Costs
+     * the size of the changes accumulated since the last full build, not the size of the list.
+     *
+     * @return the derived index, or {@code null} once so many changes have accumulated that a rebuild is cheaper
+     */
+    public TrigramNameIndex withDelta(List<MockEmployee> employees, EmployeeDelta delta) {
+        // Balances the copy each change makes of the accumulated ones against the full build they put off.
+        int maxChanges = Math.max(MIN_DELTA, 4 * (int) Math.sqrt(built.size()));
+        if (removed.size()
+                        + delta.removed().size()
+                        + created.size()
+                        + delta.created().size()
+                > maxChanges) {
+            return null;
+        }
+        Set<UUID> nextRemoved = new HashSet<>(removed);
+        nextRemoved.addAll(delta.removed());
+        List<MockEmployee> nextCreated =
+                new ArrayList<>(created.size() + delta.created().size());
+        for (MockEmployee employee : created) {
+            if (!delta.removed().contains(employee.getId())) {
+                nextCreated.add(employee);
+            }
+        }
+        nextCreated.addAll(delta.created());
+        return new TrigramNameIndex(employees, this, nextRemoved, nextCreated);
+    }
+
+    /**
+     * @return whether this index was built from exactly the given list instance
+     */
+    public boolean isBuiltFrom(List<MockEmployee> employees) {
+        return this.employees == employees;
+    }
+
+    /**
+     * @return employees whose name contains {@code query}, in list order
+     */
+    public List<MockEmployee> search(String query, boolean ignoreCase) {
+        if (query.length() < GRAM) {
+            return scan(query, ignoreCase);
+        }
+        char[] folded = fold(query, new char[query.length()]);
+        int[][] lists = new int[query.length() - GRAM + 1][];
+        for (int offset = 0; offset < lists.length; offset++) {
+            int[] list = postings.get(trigram(folded, offset));
+            if (Objects.isNull(list)) {
+                return List.of();
+            }
+            lists[offset] = list;
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+        List<MockEmployee> matches = new ArrayList<>();
+        candidates:
+        for (int position : lists[0]) {
+            for (int i = 1; i < lists.length; i++) {
+                if (lists[i] != lists[i - 1] && Arrays.binarySearch(lists[i], position) < 0) {
+                    continue candidates;
+                }
+            }
+            MockEmployee employee = built.get(position);
+            if (!removed.contains(employee.getId())
+                    && matches(employee.getEmployee_name(), query, folded, ignoreCase)) {
+                matches.add(employee);
+            }
+        }
+        for (MockEmployee employee : created) {
+            if (matches(employee.getEmployee_name(), query, folded, ignoreCase)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return whether {@code name} contains {@code query}, without allocating when ignoring case
+     */
+    public static boolean matches(String name, String query, boolean ignoreCase) {
+        return matches(name, query, null, ignoreCase);
+    }
+
+    /**
+     * @param folded {@code query} already folded, or {@code null} to fold it while comparing
+     */
+    private static boolean matches(String name, String query, char[] folded, boolean ignoreCase) {
+        if (Objects.isNull(name)) {
+            return false;
+        }
+        if (!ignoreCase) {
+            return name.contains(query);
+        }
+        candidates:
+        for (int offset = 0, last = name.length() - query.length(); offset <= last; offset++) {
+            for (int i = 0; i < query.length(); i++) {
+                char expected = Objects.isNull(folded) ? fold(query.charAt(i)) : folded[i];
+                if (fold(name.charAt(offset + i)) != expected) {
+                    continue candidates;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private List<MockEmployee> scan(String query, boolean ignoreCase) {
+        List<MockEmployee> matches = new ArrayList<>();
+        for (MockEmployee employee : employees) {
+            if (matches(employee.getEmployee_name(), query, ignoreCase)) {
+                matches.add(employee);
+            }
+        }
+        return matches;
+    }
+
+    private static char[] fold(String value, char[] buffer) {
+        char[] folded =
+                buffer.length >= value.length() ? buffer : new char[Math.max(value.length(), buffer.length * 2)];
+        for (int i = 0; i < value.length(); i++) {
+            folded[i] = fold(value.charAt(i));
+        }
+        return folded;
+    }
+
+    /**
+     * Folds through upper case first, so chars that only agree in upper case, such as dotless {@code ı} and
+     * {@code i}, or {@code ſ} and {@code s}, fold alike.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static long trigram(char[] folded, int offset) {
+        return ((long) folded[offset] << 32) | ((long) folded[offset + 1] << 16) | folded[offset + 2];
+    }
+
+    /**
+     * Growable, ascending, duplicate-free list of employee positions.
+     */
+    private static final class PostingsBuilder {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.DummyDataProvider;
+import com.reliaquest.api.client.EmployeeFeedSnapshot;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.MockEmployee;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class EmployeeReplicaTest {
+
+    private static final Duration POLL_WAIT = Duration.ofSeconds(4);
+
+    private final List<MockEmployee> employees = DummyDataProvider.getDummyEmployees();
+    private final EmployeeUpstreamClient upstreamClient = mock(EmployeeUpstreamClient.class);
+    private final EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+            () -> {
+                throw new AssertionError("The cache must not load while the replica keeps it current");
+            },
+            Runnable::run,
+            Duration.ofSeconds(30),
+            Clock.systemUTC());
+    private final EmployeeReplica replica = replica(Duration.ZERO);
+
+    private EmployeeReplica replica(Duration publishInterval) {
+        return new EmployeeReplica(
+                upstreamClient,
+                cache,
+                POLL_WAIT,
+                publishInterval,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(5),
+                false);
+    }
+
+    private static EmployeeChange created(long sequence, MockEmployee employee) {
+        return new EmployeeChange(sequence, EmployeeChange.Type.CREATED, employee.getId(), employee);
+    }
+
+    private static EmployeeChange deleted(long sequence, MockEmployee employee) {
+        return new EmployeeChange(sequence, EmployeeChange.Type.DELETED, employee.getId(), null);
+    }
+
+    @Test
+    void appliesChangesAfterTheInitialFetch() {
+        when(upstreamClient.fetchFeedSnapshot()).thenReturn(new EmployeeFeedSnapshot("e1", 2, employees.subList(0, 2)));
+        when(upstreamClient.fetchChanges("e1", 2, POLL_WAIT))
+                .thenReturn(List.of(
+                        new EmployeeChange(
+                                3, EmployeeChange.Type.CREATED, employees.get(2).getId(), employees.get(2)),
+                        new EmployeeChange(
+                                4, EmployeeChange.Type.DELETED, employees.get(0).getId(), null)));
+        when(upstreamClient.fetchChanges("e1", 4, POLL_WAIT)).thenReturn(List.of());
+
+        replica.sync();
+        assertEquals(employees.subList(0, 2), cache.get().employees());
+
+        replica.sync();
+        assertEquals(List.of(employees.get(1), employees.get(2)), cache.get().employees());
+
+        EmployeeSnapshot beforeEmptyPoll = cache.get();
+        replica.sync();
+        assertEquals(beforeEmptyPoll.version(), cache.get().version());
+    }
+
+    @Test
+    void coalescesChangesUntilTheFeedHasNoMore() {
+        EmployeeReplica coalescing = replica(Duration.ofHours(1));
+        when(upstreamClient.fetchFeedSnapshot()).thenReturn(new EmployeeFeedSnapshot("e1", 2, employees.subList(0, 2)));
+        when(upstreamClient.fetchChanges("e1", 2, POLL_WAIT))
+                .thenReturn(List.of(created(3, employees.get(2)), deleted(4, employees.get(0))));
+        when(upstreamClient.fetchChanges("e1", 4, Duration.ZERO))
+                .thenReturn(List.of(created(5, employees.get(3)), deleted(6, employees.get(3))));
+        when(upstreamClient.fetchChanges("e1", 6, Duration.ZERO)).thenReturn(List.of());
+
+        coalescing.sync();
+        EmployeeSnapshot loaded = cache.get();
+        coalescing.sync();
+        coalescing.sync();
+        assertSame(loaded, cache.get());
+
+        coalescing.sync();
+        assertEquals(List.of(employees.get(1), employees.get(2)), cache.get().employees());
+        assertEquals(loaded.version() + 1, cache.get().version());
+        verify(upstreamClient, never()).fetchChanges("e1", 6, POLL_WAIT);
+    }
+
+    @Test
+    void appliesChangesAsDeltaKeepingLocalWritesNotYetInTheFeed() {
+        when(upstreamClient.fetchFeedSnapshot()).thenReturn(new EmployeeFeedSnapshot("e1", 2, employees.subList(0, 2)));
+        when(upstreamClient.fetchChanges("e1", 2, POLL_WAIT))
+                .thenReturn(List.of(deleted(3, employees.get(0)), created(4, employees.get(3))));
+
+        replica.sync();
+        cache.onCreated(employees.get(2));
+        cache.onCreated(employees.get(3));
+        replica.sync();
+
+        assertEquals(
+                List.of(employees.get(1), employees.get(2), employees.get(3)),
+                cache.get().employees());
+    }
+
+    @Test
+    void installsTheWholeReplicaWhenNothingIsCached() {
+        when(upstreamClient.fetchFeedSnapshot()).thenReturn(new EmployeeFeedSnapshot("e1", 2, employees.subList(0, 2)));
+        when(upstreamClient.fetchChanges("e1", 2, POLL_WAIT)).thenReturn(List.of(created(3, employees.get(2))));
+
+        replica.sync();
+        cache.invalidate();
+        replica.sync();
+
+        assertEquals(employees.subList(0, 3), cache.get().employees());
+    }
+
+    @Test
+    void fetchesTheListAgainWhenTheFeedIsGone() {
+        when(upstreamClient.fetchFeedSnapshot())
+                .thenReturn(new EmployeeFeedSnapshot("e1", 2, employees.subList(0, 2)))
+                .thenReturn(new EmployeeFeedSnapshot("e2", 3, employees.subList(0, 3)));
+        when(upstreamClient.fetchChanges("e1", 2, POLL_WAIT))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.GONE, "Gone", null, null, null));
+
+        replica.sync();
+        assertThrows(HttpClientErrorException.Gone.class, replica::sync);
+        replica.sync();
+
+        assertEquals(employees.subList(0, 3), cache.get().employees());
+    }
+
+    @Test
+    void pollWaitMustStayBelowTheReadTimeout() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new EmployeeReplica(
+                        upstreamClient,
+                        cache,
+                        Duration.ofSeconds(5),
+                        Duration.ZERO,
+                        Duration.ofSeconds(30),
+                        Duration.ofSeconds(5),
+                        false));
+    }
+}
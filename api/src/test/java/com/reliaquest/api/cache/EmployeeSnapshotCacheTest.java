@@ -0,0 +1,290 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.DummyDataProvider;
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.api.query.EmployeeNameSearch;
+import com.reliaquest.api.query.TrigramNameIndex;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+class EmployeeSnapshotCacheTest {
+
+    private final List<MockEmployee> employees = DummyDataProvider.getDummyEmployees();
+    private final Deque<Runnable> pendingRefreshes = new ArrayDeque<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Supplier<List<MockEmployee>> countingLoader(List<MockEmployee> data) {
+        return () -> {
+            loads.incrementAndGet();
+            return data;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AtomicReference<TrigramNameIndex> searchIndex(EmployeeNameSearch nameSearch) {
+        return (AtomicReference<TrigramNameIndex>) ReflectionTestUtils.getField(nameSearch, "index");
+    }
+
+    @Test
+    void firstReadLoadsSynchronouslyAndLaterReadsAreCached() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees), pendingRefreshes::add, Duration.ofMinutes(1), Clock.systemUTC());
+
+        EmployeeSnapshot first = cache.get();
+        EmployeeSnapshot second = cache.get();
+
+        assertEquals(12, first.employees().size());
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void expiredSnapshotIsServedWhileSingleRefreshRuns() {
+        TestClock clock = new TestClock();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees), pendingRefreshes::add, Duration.ofSeconds(30), clock);
+        EmployeeSnapshot loaded = cache.get();
+
+        clock.advance(Duration.ofSeconds(31));
+
+        assertSame(loaded, cache.get());
+        assertSame(loaded, cache.get());
+        assertEquals(1, pendingRefreshes.size());
+
+        pendingRefreshes.poll().run();
+
+        assertTrue(cache.get().version() > loaded.version());
+        assertEquals(2, loads.get());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void localWritesBumpVersionAndAreVisible() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees.subList(0, 2)),
+                pendingRefreshes::add,
+                Duration.ofMinutes(1),
+                Clock.systemUTC());
+        EmployeeSnapshot loaded = cache.get();
+        MockEmployee created = employees.get(2);
+
+        cache.onCreated(created);
+        EmployeeSnapshot afterCreate = cache.get();
+        cache.onDeleted(employees.get(0).getId());
+        EmployeeSnapshot afterDelete = cache.get();
+
+        assertEquals(3, afterCreate.employees().size());
+        assertTrue(afterCreate.version() > loaded.version());
+        assertEquals(List.of(employees.get(1), created), afterDelete.employees());
+        assertTrue(afterDelete.version() > afterCreate.version());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void localWriteDuringRefreshIsReplayedOntoRefreshedList() {
+        TestClock clock = new TestClock();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees.subList(0, 2)), pendingRefreshes::add, Duration.ofSeconds(30), clock);
+        cache.get();
+        clock.advance(Duration.ofSeconds(31));
+        cache.get();
+        MockEmployee created =
+                new MockEmployee(UUID.randomUUID(), "Aquaman", 70000, 40, "Lead", "aqua.man@company.com");
+
+        cache.onCreated(created);
+        cache.onDeleted(employees.get(0).getId());
+        pendingRefreshes.poll().run();
+
+        assertEquals(List.of(employees.get(1), created), cache.peek().employees());
+        assertFalse(cache.isExpired(cache.peek()));
+    }
+
+    @Test
+    void refreshWinsUnderSteadyLocalWrites() {
+        TestClock clock = new TestClock();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees), pendingRefreshes::add, Duration.ofSeconds(30), clock);
+        cache.get();
+
+        for (int round = 0; round < 3; round++) {
+            clock.advance(Duration.ofSeconds(31));
+            cache.get();
+            cache.onCreated(new MockEmployee(UUID.randomUUID(), "Writer " + round, 1, 20, "Temp", null));
+            pendingRefreshes.poll().run();
+
+            assertFalse(cache.isExpired(cache.peek()));
+            assertEquals(Duration.ZERO, cache.age(cache.peek()));
+        }
+        // Each refresh loaded the twelve employees again; the writes replayed onto it are only the one made during it.
+        assertEquals(13, cache.peek().employees().size());
+    }
+
+    @Test
+    void refreshAlreadyIncludingLocalWriteDoesNotDuplicateIt() {
+        TestClock clock = new TestClock();
+        MockEmployee created = employees.get(2);
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees.subList(0, 3)), pendingRefreshes::add, Duration.ofSeconds(30), clock);
+        cache.get();
+        cache.onDeleted(created.getId());
+        clock.advance(Duration.ofSeconds(31));
+        cache.get();
+
+        cache.onCreated(created);
+        pendingRefreshes.poll().run();
+
+        assertEquals(employees.subList(0, 3), cache.peek().employees());
+    }
+
+    @Test
+    void refreshIsDiscardedWhenSnapshotIsReplacedMeanwhile() {
+        TestClock clock = new TestClock();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees), pendingRefreshes::add, Duration.ofSeconds(30), clock);
+        cache.get();
+        clock.advance(Duration.ofSeconds(31));
+        cache.get();
+
+        cache.replace(employees.subList(0, 1));
+        pendingRefreshes.poll().run();
+
+        assertEquals(employees.subList(0, 1), cache.peek().employees());
+    }
+
+    @Test
+    void localWritesDeriveSearchIndexInsteadOfDroppingIt() {
+        EmployeeNameSearch nameSearch = new EmployeeNameSearch(false);
+        TestClock clock = new TestClock();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees), pendingRefreshes::add, Duration.ofSeconds(30), clock, List.of(nameSearch));
+        assertEquals(1, nameSearch.search(cache.get().employees(), "Bat").size());
+        MockEmployee batgirl =
+                new MockEmployee(UUID.randomUUID(), "Batgirl", 40000, 22, "Developer", "bat.girl@company.com");
+
+        cache.onCreated(batgirl);
+        cache.onDeleted(employees.get(0).getId());
+
+        assertTrue(searchIndex(nameSearch).get().isBuiltFrom(cache.peek().employees()));
+        assertEquals(List.of(batgirl), nameSearch.search(cache.peek().employees(), "Bat"));
+
+        clock.advance(Duration.ofSeconds(31));
+        cache.get();
+        pendingRefreshes.poll().run();
+
+        assertNull(searchIndex(nameSearch).get());
+        assertEquals(List.of(employees.get(0)), nameSearch.search(cache.peek().employees(), "Bat"));
+    }
+
+    @Test
+    void asyncReadRefreshesOnceAndReplaysLocalWrites() {
+        TestClock clock = new TestClock();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees), pendingRefreshes::add, Duration.ofSeconds(30), clock);
+        Sinks.One<List<MockEmployee>> refreshed = Sinks.one();
+        Supplier<Mono<List<MockEmployee>>> loader = () -> {
+            loads.incrementAndGet();
+            return loads.get() == 1 ? Mono.just(employees.subList(0, 2)) : refreshed.asMono();
+        };
+        EmployeeSnapshot loaded = cache.getAsync(loader).block();
+        clock.advance(Duration.ofSeconds(31));
+
+        assertSame(loaded, cache.getAsync(loader).block());
+        assertSame(loaded, cache.getAsync(loader).block());
+        MockEmployee created =
+                new MockEmployee(UUID.randomUUID(), "Aquaman", 70000, 40, "Lead", "aqua.man@company.com");
+        cache.onCreated(created);
+        refreshed.tryEmitValue(employees.subList(0, 3));
+
+        assertEquals(2, loads.get());
+        assertEquals(
+                List.of(employees.get(0), employees.get(1), employees.get(2), created),
+                cache.peek().employees());
+        assertFalse(cache.isExpired(cache.peek()));
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void asyncLoadIsInstalledOffTheThreadThatDeliveredIt() {
+        Scheduler eventLoop = Schedulers.newSingle("event-loop");
+        Scheduler install = Schedulers.newSingle("install");
+        try {
+            List<String> installedOn = new CopyOnWriteArrayList<>();
+            EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                    countingLoader(employees),
+                    pendingRefreshes::add,
+                    Duration.ofMinutes(1),
+                    Clock.systemUTC(),
+                    List.of((previous, current, delta) -> installedOn.add(Thread.currentThread().getName())),
+                    install);
+
+            EmployeeSnapshot loaded = cache.getAsync(() -> Mono.just(employees).publishOn(eventLoop)).block();
+
+            assertEquals(employees, loaded.employees());
+            assertEquals(1, installedOn.size());
+            assertTrue(installedOn.get(0).startsWith("install"));
+        } finally {
+            eventLoop.dispose();
+            install.dispose();
+        }
+    }
+
+    @Test
+    void invalidateForcesReload() {
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                countingLoader(employees), pendingRefreshes::add, Duration.ofMinutes(1), Clock.systemUTC());
+        cache.get();
+
+        cache.invalidate();
+        cache.get();
+
+        assertEquals(2, loads.get());
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+    private final Bulkhead bulkhead = new Bulkhead("get-by-id", 1, Duration.ofMillis(50));
+
+    @Test
+    void rejectsCallsBeyondLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> stalled = CompletableFuture.supplyAsync(() -> bulkhead.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return "stalled";
+        }));
+        started.await();
+
+        assertEquals(1, bulkhead.getInFlight());
+        assertThrows(UpstreamBulkheadFullException.class, () -> bulkhead.execute(() -> "rejected"));
+        assertEquals(1, bulkhead.getRejected());
+
+        release.countDown();
+        assertEquals("stalled", stalled.get(5, TimeUnit.SECONDS));
+        assertEquals("admitted", bulkhead.execute(() -> "admitted"));
+        assertEquals(0, bulkhead.getInFlight());
+    }
+
+    @Test
+    void releasesSlotWhenCallFails() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> bulkhead.execute(() -> {
+                    throw new IllegalStateException("failed");
+                }));
+
+        assertEquals(0, bulkhead.getInFlight());
+        assertEquals("admitted", bulkhead.execute(() -> "admitted"));
+    }
+}
@@ -0,0 +1,168 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(
+            "list", 3, Duration.ofSeconds(30), 1, ex -> ex instanceof IllegalStateException, now::get);
+
+    private void failed(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertThrows(
+                    IllegalStateException.class,
+                    () -> circuitBreaker.execute(() -> {
+                        throw new IllegalStateException("timed out");
+                    }));
+        }
+    }
+
+    private void elapse(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndFailsFast() {
+        failed(2);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        failed(1);
+        elapse(10);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        UpstreamCircuitOpenException ex =
+                assertThrows(UpstreamCircuitOpenException.class, () -> circuitBreaker.execute(() -> "called"));
+        assertEquals(20, ex.getRetryAfterSeconds());
+        assertEquals(1, circuitBreaker.getRejected());
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        failed(2);
+        circuitBreaker.execute(() -> "ok");
+        failed(2);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void exceptionsThatAreNotFailuresCountAsAnswers() {
+        failed(2);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> circuitBreaker.execute(() -> {
+                    throw new IllegalArgumentException("not found");
+                }));
+        failed(2);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void halfOpenProbeClosesCircuitOnSuccess() {
+        failed(3);
+        elapse(30);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals("probe", circuitBreaker.execute(() -> "probe"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void halfOpenAdmitsOnlyConfiguredProbes() {
+        failed(3);
+        elapse(30);
+
+        String result = circuitBreaker.execute(() -> {
+            // While the probe is in flight, other callers keep failing fast.
+            assertThrows(UpstreamCircuitOpenException.class, () -> circuitBreaker.execute(() -> "second"));
+            return "probe";
+        });
+
+        assertEquals("probe", result);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void failedProbeReopensCircuit() {
+        failed(3);
+        elapse(30);
+
+        failed(1);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        elapse(29);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        elapse(1);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void callTurnedAwayDownstreamDoesNotUseUpTheProbe() {
+        failed(3);
+        elapse(30);
+
+        assertThrows(
+                UpstreamBulkheadFullException.class,
+                () -> circuitBreaker.execute(() -> {
+                    throw new UpstreamBulkheadFullException("full", Duration.ofSeconds(1));
+                }));
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals("probe", circuitBreaker.execute(() -> "probe"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void errorThrownByProbeGivesItsSlotBack() {
+        failed(3);
+        elapse(30);
+
+        assertThrows(
+                AssertionError.class,
+                () -> circuitBreaker.execute(() -> {
+                    throw new AssertionError("probe died");
+                }));
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertEquals("probe", circuitBreaker.execute(() -> "probe"));
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void probeOutlivingItsWindowLeavesTheNextOneAlone() {
+        failed(3);
+        elapse(30);
+        CircuitBreaker.Permit late = circuitBreaker.acquirePermit();
+        circuitBreaker.reset();
+        failed(3);
+        elapse(30);
+        CircuitBreaker.Permit current = circuitBreaker.acquirePermit();
+
+        late.release();
+        assertThrows(UpstreamCircuitOpenException.class, circuitBreaker::acquirePermit);
+        late.onError(new IllegalStateException("timed out"));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        current.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void resetClosesCircuit() {
+        failed(3);
+
+        circuitBreaker.reset();
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals("ok", circuitBreaker.execute(() -> "ok"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class EmployeeJsonStreamReaderTest {
+
+    private final EmployeeJsonStreamReader reader =
+            new EmployeeJsonStreamReader(Jackson2ObjectMapperBuilder.json().build());
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void handsEachEmployeeToConsumerInOrder() throws Exception {
+        UUID first = UUID.randomUUID();
+        List<MockEmployee> employees = new ArrayList<>();
+
+        long count = reader.read(
+                json("{\"data\":[{\"id\":\"" + first
+                        + "\",\"employee_name\":\"Tiger Nixon\",\"employee_salary\":320800,"
+                        + "\"employee_age\":61,\"employee_title\":\"Vice Chair\",\"employee_email\":\"tnixon@company.com\"},"
+                        + "{\"id\":\"" + UUID.randomUUID()
+                        + "\",\"employee_name\":\"Bill Bob\",\"employee_salary\":89750,"
+                        + "\"employee_age\":24,\"employee_title\":\"Engineer\",\"employee_email\":\"bb@company.com\"}],"
+                        + "\"status\":\"Successfully processed request.\"}"),
+                employees::add);
+
+        assertEquals(2, count);
+        assertEquals(first, employees.get(0).getId());
+        assertEquals("Tiger Nixon", employees.get(0).getEmployee_name());
+        assertEquals(320800, employees.get(0).getEmployee_salary());
+        assertEquals("Bill Bob", employees.get(1).getEmployee_name());
+    }
+
+    @Test
+    void skipsUnknownFieldsBeforeData() throws Exception {
+        List<MockEmployee> employees = new ArrayList<>();
+
+        long count = reader.read(
+                json("{\"status\":\"ok\",\"meta\":{\"nested\":[1,2]},\"data\":[{\"employee_name\":\"Flash\"}]}"),
+                employees::add);
+
+        assertEquals(1, count);
+        assertEquals("Flash", employees.get(0).getEmployee_name());
+    }
+
+    @Test
+    void emptyListIsNotAnError() throws Exception {
+        assertEquals(0, reader.read(json("{\"data\":[],\"status\":\"ok\"}"), employee -> {}));
+    }
+
+    @Test
+    void missingDataIsAnError() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> reader.read(json("{\"data\":null,\"status\":\"Failed to process request.\"}"), employee -> {}));
+    }
+
+    @Test
+    void readsOneEmployeePerLine() throws Exception {
+        List<MockEmployee> employees = new ArrayList<>();
+
+        long count = reader.readLines(
+                json("{\"id\":\"" + UUID.randomUUID()
+                        + "\",\"employee_name\":\"Tiger Nixon\",\"employee_salary\":320800}\n"
+                        + "{\"employee_name\":\"Bill Bob\",\"employee_age\":24}\n"),
+                employees::add);
+
+        assertEquals(2, count);
+        assertEquals("Tiger Nixon", employees.get(0).getEmployee_name());
+        assertEquals(320800, employees.get(0).getEmployee_salary());
+        assertEquals(24, employees.get(1).getEmployee_age());
+        assertEquals(0, reader.readLines(json(""), employee -> {}));
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class EmployeePageIteratorTest {
+
+    private final Queue<Runnable> prefetches = new ArrayDeque<>();
+    private final List<String> requestedCursors = new ArrayList<>();
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 1, 20, "Title", "e@x");
+    }
+
+    private EmployeePageIterator iterator(Map<String, EmployeePage> pages) {
+        return new EmployeePageIterator(
+                cursor -> {
+                    requestedCursors.add(cursor);
+                    return pages.get(cursor == null ? "" : cursor);
+                },
+                prefetches::add);
+    }
+
+    @Test
+    void followsCursorsAndPrefetchesOnePageAhead() {
+        EmployeePage first = new EmployeePage(List.of(employee("a"), employee("b")), "p2");
+        EmployeePage second = new EmployeePage(List.of(employee("c")), "p3");
+        EmployeePage last = new EmployeePage(List.of(), null);
+        EmployeePageIterator pages = iterator(Map.of("", first, "p2", second, "p3", last));
+
+        assertTrue(pages.hasNext());
+        assertSame(first.employees(), pages.next());
+        // The second page is requested as soon as the first is handed out, not when it is asked for.
+        assertEquals(1, prefetches.size());
+        prefetches.remove().run();
+        assertEquals(List.of("p2"), requestedCursors.subList(1, 2));
+
+        assertSame(second.employees(), pages.next());
+        prefetches.remove().run();
+        assertSame(last.employees(), pages.next());
+
+        assertTrue(prefetches.isEmpty());
+        assertFalse(pages.hasNext());
+        assertThrows(NoSuchElementException.class, pages::next);
+        assertEquals(Arrays.asList(null, "p2", "p3"), requestedCursors);
+    }
+
+    @Test
+    void prefetchFailuresSurfaceUnwrapped() {
+        UpstreamRateLimitedException rateLimited = new UpstreamRateLimitedException("limited", Duration.ofSeconds(3));
+        EmployeePageIterator pages = new EmployeePageIterator(
+                cursor -> {
+                    if (cursor == null) {
+                        return new EmployeePage(List.of(employee("a")), "p2");
+                    }
+                    throw rateLimited;
+                },
+                Runnable::run);
+
+        pages.next();
+        assertSame(rateLimited, assertThrows(UpstreamRateLimitedException.class, pages::next));
+    }
+}
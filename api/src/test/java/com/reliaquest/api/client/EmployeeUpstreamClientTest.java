@@ -0,0 +1,146 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class EmployeeUpstreamClientTest {
+
+    private static final String ID = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+    private static final String DELETED = "{\"data\":{\"id\":\"" + ID + "\",\"employee_name\":\"Jane Doe\"},"
+            + "\"status\":\"Successfully processed request.\"}";
+    private static final String CHANGES = EmployeeUpstreamClient.CHANGES_URL + "?since=0&epoch=e1&wait=4";
+    private static final String NO_CHANGES = "{\"data\":[],\"status\":\"Successfully processed request.\"}";
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Integer> inFlightWhileSleeping = new ArrayList<>();
+    private final UpstreamIsolation isolation =
+            new UpstreamIsolation(5, Duration.ofSeconds(30), 1, 1, Duration.ofMillis(50));
+    private final UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(
+            2, Duration.ofSeconds(5), Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ZERO, now::get, nanos -> {
+                inFlightWhileSleeping.add(
+                        isolation.getBulkhead(UpstreamOperation.DELETE).getInFlight());
+                now.addAndGet(nanos);
+            });
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    private MockRestServiceServer server;
+    private EmployeeUpstreamClient client;
+
+    @BeforeEach
+    void setUp() {
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        client = new EmployeeUpstreamClient(
+                restTemplate,
+                rateLimiter,
+                isolation,
+                new EmployeeJsonStreamReader(Jackson2ObjectMapperBuilder.json().build()),
+                3,
+                Runnable::run,
+                0,
+                false);
+    }
+
+    private void expectRateLimited() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        server.expect(requestTo(EmployeeUpstreamClient.BASE_URL + "/" + ID))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers));
+    }
+
+    @Test
+    void releasesBulkheadSlotWhileBackingOffBetweenAttempts() {
+        expectRateLimited();
+        server.expect(requestTo(EmployeeUpstreamClient.BASE_URL + "/" + ID))
+                .andExpect(method(HttpMethod.DELETE))
+                .andRespond(withSuccess(DELETED, MediaType.APPLICATION_JSON));
+
+        client.deleteById(ID);
+
+        server.verify();
+        assertEquals(List.of(0), inFlightWhileSleeping);
+        assertEquals(0, isolation.getBulkhead(UpstreamOperation.DELETE).getInFlight());
+        assertEquals(
+                CircuitBreaker.State.CLOSED,
+                isolation.getCircuitBreaker(UpstreamOperation.DELETE).getState());
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsWithoutHoldingASlot() {
+        expectRateLimited();
+        expectRateLimited();
+        expectRateLimited();
+
+        assertThrows(UpstreamRateLimitedException.class, () -> client.deleteById(ID));
+
+        server.verify();
+        assertEquals(List.of(0, 0), inFlightWhileSleeping);
+        assertEquals(0, isolation.getBulkhead(UpstreamOperation.DELETE).getInFlight());
+    }
+
+    @Test
+    void changePollsHoldNeitherAListSlotNorARateLimitPermit() {
+        List<Integer> inFlightWhilePolling = new ArrayList<>();
+        server.expect(requestTo(CHANGES))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(request -> {
+                    inFlightWhilePolling.add(isolation.getBulkhead(UpstreamOperation.LIST).getInFlight());
+                    inFlightWhilePolling.add(rateLimiter.getInFlight());
+                    inFlightWhilePolling.add(isolation.getBulkhead(UpstreamOperation.CHANGES).getInFlight());
+                    return withSuccess(NO_CHANGES, MediaType.APPLICATION_JSON).createResponse(request);
+                });
+
+        assertEquals(List.of(), client.fetchChanges("e1", 0, Duration.ofSeconds(4)));
+
+        server.verify();
+        assertEquals(List.of(0, 0, 1), inFlightWhilePolling);
+    }
+
+    @Test
+    void failingChangePollsOpenOnlyTheirOwnCircuit() {
+        for (int i = 0; i < 5; i++) {
+            server.expect(requestTo(CHANGES)).andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "7");
+        server.expect(requestTo(CHANGES)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers));
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(RuntimeException.class, () -> client.fetchChanges("e1", 0, Duration.ofSeconds(4)));
+        }
+        assertEquals(
+                CircuitBreaker.State.OPEN,
+                isolation.getCircuitBreaker(UpstreamOperation.CHANGES).getState());
+        assertEquals(
+                CircuitBreaker.State.CLOSED,
+                isolation.getCircuitBreaker(UpstreamOperation.LIST).getState());
+
+        isolation.reset();
+        UpstreamRateLimitedException rateLimited = assertThrows(
+                UpstreamRateLimitedException.class, () -> client.fetchChanges("e1", 0, Duration.ofSeconds(4)));
+
+        server.verify();
+        assertEquals(Duration.ofSeconds(7), rateLimited.getRetryAfter());
+        // The 429 is not retried and teaches the list rate window nothing.
+        assertEquals(List.of(), inFlightWhileSleeping);
+        assertEquals(Duration.ZERO, rateLimiter.estimatedWait());
+    }
+}
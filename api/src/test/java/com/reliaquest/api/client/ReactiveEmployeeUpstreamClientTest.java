@@ -0,0 +1,276 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.model.MockEmployee;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ReactiveEmployeeUpstreamClientTest {
+
+    private static final MockEmployee ALICE =
+            new MockEmployee(UUID.randomUUID(), "Alice", 100, 30, "Lead", "alice@company.com");
+    private static final MockEmployee BOB =
+            new MockEmployee(UUID.randomUUID(), "Bob", 200, 40, "Engineer", "bob@company.com");
+
+    private final UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(
+            4, Duration.ofSeconds(2), Duration.ofSeconds(30), Duration.ofSeconds(90), Duration.ZERO);
+
+    private final UpstreamIsolation isolation =
+            new UpstreamIsolation(2, Duration.ofSeconds(30), 1, 1, Duration.ofMillis(50));
+
+    private ReactiveEmployeeUpstreamClient client(ExchangeFunction upstream) {
+        return client(upstream, 500);
+    }
+
+    private ReactiveEmployeeUpstreamClient client(ExchangeFunction upstream, int maxConcurrent) {
+        return new ReactiveEmployeeUpstreamClient(
+                WebClient.builder().exchangeFunction(upstream).build(), rateLimiter, isolation, maxConcurrent, 4);
+    }
+
+    private static Mono<ClientResponse> ndjson(MockEmployee... employees) {
+        StringBuilder body = new StringBuilder();
+        for (MockEmployee employee : employees) {
+            body.append(json(employee)).append('\n');
+        }
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .body(body.toString())
+                .build());
+    }
+
+    private static Mono<ClientResponse> fetched(MockEmployee employee) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"data\":" + json(employee) + ",\"status\":\"Successfully processed request.\"}")
+                .build());
+    }
+
+    private static Mono<ClientResponse> status(HttpStatus status) {
+        return Mono.just(ClientResponse.create(status).build());
+    }
+
+    private static String json(MockEmployee employee) {
+        return "{\"id\":\"" + employee.getId() + "\",\"employee_name\":\"" + employee.getEmployee_name()
+                + "\",\"employee_salary\":" + employee.getEmployee_salary() + ",\"employee_age\":"
+                + employee.getEmployee_age() + ",\"employee_title\":\"" + employee.getEmployee_title()
+                + "\",\"employee_email\":\"" + employee.getEmployee_email() + "\"}";
+    }
+
+    private static String lastSegment(ClientRequest request) {
+        String path = request.url().getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    @Test
+    void streamsNewlineDelimitedList() {
+        ReactiveEmployeeUpstreamClient client = client(request -> {
+            assertEquals(
+                    List.of(MediaType.APPLICATION_NDJSON), request.headers().getAccept());
+            return ndjson(ALICE, BOB);
+        });
+
+        List<MockEmployee> employees = client.streamAll().collectList().block();
+
+        assertEquals(List.of(ALICE, BOB), employees);
+    }
+
+    @Test
+    void concurrentFetchAllCallersShareOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.Empty<Void> release = Sinks.empty();
+        ReactiveEmployeeUpstreamClient client = client(request -> {
+            calls.incrementAndGet();
+            return release.asMono().then(ndjson(ALICE));
+        });
+
+        Mono<List<MockEmployee>> first = client.fetchAll().cache();
+        Mono<List<MockEmployee>> second = client.fetchAll().cache();
+        first.subscribe();
+        second.subscribe();
+        release.tryEmitEmpty();
+
+        assertEquals(List.of(ALICE), first.block(Duration.ofSeconds(5)));
+        assertSame(first.block(), second.block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void fetchByIdIsEmptyForUnknownId() {
+        ReactiveEmployeeUpstreamClient client = client(request -> status(HttpStatus.NOT_FOUND));
+
+        assertNull(client.fetchById(UUID.randomUUID().toString()).block());
+    }
+
+    @Test
+    void fetchByIdsRunsConcurrentlyAndKeepsIdOrder() {
+        Map<String, MockEmployee> known =
+                Map.of(ALICE.getId().toString(), ALICE, BOB.getId().toString(), BOB);
+        Map<String, Sinks.Empty<Void>> pending = new ConcurrentHashMap<>();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ReactiveEmployeeUpstreamClient client = client(request -> {
+            String id = lastSegment(request);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Sinks.Empty<Void> release = Sinks.empty();
+            pending.put(id, release);
+            MockEmployee employee = known.get(id);
+            return release.asMono()
+                    .then(Mono.defer(() -> employee == null ? status(HttpStatus.NOT_FOUND) : fetched(employee)))
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+        List<String> ids = List.of(
+                BOB.getId().toString(),
+                UUID.randomUUID().toString(),
+                ALICE.getId().toString());
+
+        Mono<List<MockEmployee>> lookup = client.fetchByIds(ids).collectList().cache();
+        lookup.subscribe();
+        // Every call is in flight before any answers; answering them in reverse must not reorder the result.
+        assertEquals(3, pending.size());
+        IntStream.range(0, ids.size())
+                .mapToObj(i -> ids.get(ids.size() - 1 - i))
+                .forEach(id -> pending.get(id).tryEmitEmpty());
+
+        assertEquals(List.of(BOB, ALICE), lookup.block(Duration.ofSeconds(5)));
+        assertEquals(3, maxInFlight.get());
+    }
+
+    @Test
+    void fetchByIdsStaysWithinFanOutConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        ReactiveEmployeeUpstreamClient client = client(request -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.delay(Duration.ofMillis(5))
+                    .then(status(HttpStatus.NOT_FOUND))
+                    .doOnTerminate(inFlight::decrementAndGet);
+        });
+        List<String> ids = IntStream.range(0, 20)
+                .mapToObj(i -> UUID.randomUUID().toString())
+                .toList();
+
+        assertEquals(List.of(), client.fetchByIds(ids).collectList().block(Duration.ofSeconds(5)));
+        assertEquals(4, maxInFlight.get());
+    }
+
+    @Test
+    void rejectionClosesRateLimitWindowForLaterCalls() {
+        AtomicInteger calls = new AtomicInteger();
+        ReactiveEmployeeUpstreamClient client = client(request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "7")
+                    .build());
+        });
+
+        UpstreamRateLimitedException rejected = assertThrows(
+                UpstreamRateLimitedException.class, () -> client.fetchById("id").block());
+        UpstreamRateLimitedException turnedAway = assertThrows(
+                UpstreamRateLimitedException.class, () -> client.streamAll().blockLast());
+
+        assertEquals(7, rejected.getRetryAfterSeconds());
+        assertInstanceOf(UpstreamUnavailableException.class, turnedAway);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void failingCallsOpenTheCircuitOfTheirOperation() {
+        AtomicInteger calls = new AtomicInteger();
+        ReactiveEmployeeUpstreamClient client = client(request -> {
+            calls.incrementAndGet();
+            return status(HttpStatus.SERVICE_UNAVAILABLE);
+        });
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(WebClientResponseException.ServiceUnavailable.class, () -> client.fetchById("id")
+                    .block());
+        }
+        UpstreamCircuitOpenException open =
+                assertThrows(UpstreamCircuitOpenException.class, () -> client.fetchById("id").block());
+
+        assertEquals(2, calls.get());
+        assertEquals(30, open.getRetryAfterSeconds());
+        assertEquals(
+                CircuitBreaker.State.OPEN,
+                isolation.getCircuitBreaker(UpstreamOperation.GET_BY_ID).getState());
+        assertEquals(
+                CircuitBreaker.State.CLOSED,
+                isolation.getCircuitBreaker(UpstreamOperation.LIST).getState());
+    }
+
+    @Test
+    void notFoundDoesNotCountAsFailure() {
+        ReactiveEmployeeUpstreamClient client = client(request -> status(HttpStatus.NOT_FOUND));
+
+        for (int i = 0; i < 3; i++) {
+            assertNull(client.fetchById("id").block());
+        }
+
+        assertEquals(
+                CircuitBreaker.State.CLOSED,
+                isolation.getCircuitBreaker(UpstreamOperation.GET_BY_ID).getState());
+    }
+
+    @Test
+    void fullBulkheadTurnsCallsAwayWithoutWaiting() {
+        Sinks.Empty<Void> release = Sinks.empty();
+        ReactiveEmployeeUpstreamClient client =
+                client(request -> release.asMono().then(fetched(ALICE)), 1);
+
+        Mono<MockEmployee> first = client.fetchById("id").cache();
+        first.subscribe();
+        assertThrows(UpstreamBulkheadFullException.class, () -> client.fetchById("id")
+                .block(Duration.ofSeconds(5)));
+        release.tryEmitEmpty();
+
+        assertEquals(ALICE, first.block(Duration.ofSeconds(5)));
+        assertEquals(ALICE, client.fetchById("id").block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void cancelledCallGivesItsSlotBack() {
+        Sinks.Empty<Void> never = Sinks.empty();
+        AtomicInteger calls = new AtomicInteger();
+        ReactiveEmployeeUpstreamClient client = client(
+                request -> calls.incrementAndGet() == 1 ? never.asMono().then(fetched(BOB)) : fetched(ALICE), 1);
+
+        client.fetchById("id").subscribe().dispose();
+
+        assertEquals(ALICE, client.fetchById("id").block(Duration.ofSeconds(5)));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void exhaustedConnectionPoolIsBulkheadFull() {
+        ReactiveEmployeeUpstreamClient client = client(request -> Mono.error(new WebClientRequestException(
+                new PoolAcquireTimeoutException(), request.method(), request.url(), request.headers())));
+
+        assertThrows(UpstreamBulkheadFullException.class, () -> client.fetchById("id")
+                .block());
+    }
+
+    // Stands in for Reactor Netty's shaded pool exception, which is matched by simple name.
+    private static final class PoolAcquireTimeoutException extends RuntimeException {}
+}
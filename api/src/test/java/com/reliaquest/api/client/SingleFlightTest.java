@@ -0,0 +1,85 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Object> singleFlight = new SingleFlight<>();
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        int callers = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Object result = new Object();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                futures.add(executor.submit(() -> singleFlight.execute("all", () -> {
+                    calls.incrementAndGet();
+                    awaitQuietly(release);
+                    return result;
+                })));
+            }
+            while (singleFlight.getCoalesced() < callers - 1) {
+                Thread.onSpinWait();
+            }
+            assertEquals(1, singleFlight.getInFlight());
+            release.countDown();
+
+            for (Future<Object> future : futures) {
+                assertSame(result, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(1, singleFlight.getExecutions());
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    @Test
+    void sequentialCallsAreNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("all", calls::incrementAndGet);
+        singleFlight.execute("all", calls::incrementAndGet);
+
+        assertEquals(2, calls.get());
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void failureIsPropagatedAndNotRemembered() {
+        assertThrows(
+                IllegalStateException.class,
+                () -> singleFlight.execute("all", () -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals("ok", singleFlight.execute("all", () -> "ok"));
+        assertEquals(0, singleFlight.getInFlight());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UpstreamMetricsInterceptorTest {
+
+    private static String template(String url) {
+        return UpstreamMetricsInterceptor.uriTemplate(URI.create(url));
+    }
+
+    @Test
+    void listKeepsItsPath() {
+        assertEquals("/api/v1/employee", template(EmployeeUpstreamClient.BASE_URL));
+        assertEquals("/api/v1/employee", template(EmployeeUpstreamClient.BASE_URL + "?limit=10"));
+    }
+
+    @Test
+    void employeeIdIsCollapsed() {
+        assertEquals("/api/v1/employee/{id}", template(EmployeeUpstreamClient.BASE_URL + "/" + UUID.randomUUID()));
+    }
+
+    @Test
+    void idThatIsNotUuidIsCollapsedApart() {
+        assertEquals("/api/v1/employee/{other}", template(EmployeeUpstreamClient.BASE_URL + "/1-2-3-4-5"));
+        assertEquals("/api/v1/employee/{other}", template(EmployeeUpstreamClient.BASE_URL + "/unknown"));
+    }
+
+    @Test
+    void batchKeepsItsPath() {
+        assertEquals("/api/v1/employee/batch", template(EmployeeUpstreamClient.BATCH_URL));
+    }
+
+    @Test
+    void changesKeepsItsPath() {
+        assertEquals("/api/v1/employee/changes", template(EmployeeUpstreamClient.CHANGES_URL + "?since=3&wait=4s"));
+    }
+
+    @Test
+    void aggregatesKeepTheirPaths() {
+        assertEquals("/api/v1/employee/aggregate/salary/max", template(EmployeeUpstreamClient.MAX_SALARY_URL));
+        assertEquals(
+                "/api/v1/employee/aggregate/salary/top",
+                template(EmployeeUpstreamClient.TOP_SALARIES_URL + "?limit=10"));
+    }
+
+    @Test
+    void unknownSubPathDoesNotPassThrough() {
+        assertEquals(
+                "/api/v1/employee/{other}/{id}",
+                template(EmployeeUpstreamClient.BASE_URL + "/history/" + UUID.randomUUID()));
+    }
+}
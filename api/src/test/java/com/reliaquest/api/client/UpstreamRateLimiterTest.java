@@ -0,0 +1,101 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class UpstreamRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final UpstreamRateLimiter rateLimiter = new UpstreamRateLimiter(
+            2,
+            Duration.ofSeconds(2),
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(90),
+            Duration.ZERO,
+            now::get,
+            now::addAndGet);
+
+    private void admitted(int calls) {
+        for (int i = 0; i < calls; i++) {
+            rateLimiter.acquire();
+            rateLimiter.onSuccess();
+            rateLimiter.release();
+        }
+    }
+
+    @Test
+    void learnsBudgetFromFirstRejection() {
+        admitted(5);
+
+        Duration wait = rateLimiter.onRejected(null);
+
+        assertEquals(5, rateLimiter.getLearnedBudget());
+        assertEquals(Duration.ofSeconds(30), wait);
+        assertEquals(Duration.ofSeconds(30), rateLimiter.estimatedWait());
+    }
+
+    @Test
+    void failsFastWithRetryAfterWhenWindowIsClosed() {
+        admitted(5);
+        rateLimiter.onRejected(null);
+
+        UpstreamRateLimitedException ex = assertThrows(UpstreamRateLimitedException.class, rateLimiter::acquire);
+
+        assertEquals(Duration.ofSeconds(30), ex.getRetryAfter());
+        assertEquals(30, ex.getRetryAfterSeconds());
+    }
+
+    @Test
+    void honoursRetryAfterHeaderAndWaitsWhenShortEnough() {
+        admitted(3);
+        rateLimiter.onRejected(Duration.ofSeconds(1));
+
+        rateLimiter.acquire();
+
+        assertTrue(now.get() >= Duration.ofSeconds(1).toNanos());
+        rateLimiter.release();
+    }
+
+    @Test
+    void stopsCallingOnceLearnedBudgetIsSpent() {
+        admitted(5);
+        rateLimiter.onRejected(null);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        admitted(5);
+
+        assertThrows(UpstreamRateLimitedException.class, rateLimiter::acquire);
+        assertEquals(Duration.ofSeconds(30), rateLimiter.estimatedWait());
+    }
+
+    @Test
+    void growsBackoffWhenProbeIsStillRejected() {
+        admitted(5);
+        rateLimiter.onRejected(null);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        Duration wait = rateLimiter.onRejected(null);
+
+        assertEquals(Duration.ofSeconds(45), rateLimiter.getLearnedBackoff());
+        assertEquals(Duration.ofSeconds(15), wait);
+    }
+
+    @Test
+    void learnsActualBackoffFromFirstSuccessAfterRejection() {
+        admitted(5);
+        rateLimiter.onRejected(null);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        rateLimiter.onRejected(null);
+        now.addAndGet(Duration.ofSeconds(15).toNanos());
+
+        admitted(1);
+
+        assertEquals(Duration.ofSeconds(45), rateLimiter.getLearnedBackoff());
+        assertEquals(Duration.ZERO, rateLimiter.estimatedWait());
+    }
+}
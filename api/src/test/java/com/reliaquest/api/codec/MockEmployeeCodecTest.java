@@ -0,0 +1,68 @@
+package com.reliaquest.api.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.reliaquest.api.model.APIActionResponse;
+import com.reliaquest.api.model.MockEmployee;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class MockEmployeeCodecTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void writesTheUpstreamFieldNames() throws Exception {
+        UUID id = UUID.fromString("0a1b2c3d-4e5f-6789-abcd-ef0123456789");
+        MockEmployee employee = new MockEmployee(id, "Tiger Nixon", 320800, 61, "Vice Chair", null);
+
+        assertEquals(
+                "{\"id\":\"0a1b2c3d-4e5f-6789-abcd-ef0123456789\",\"employee_name\":\"Tiger Nixon\","
+                        + "\"employee_salary\":320800,\"employee_age\":61,\"employee_title\":\"Vice Chair\","
+                        + "\"employee_email\":null}",
+                objectMapper.writeValueAsString(employee));
+    }
+
+    @Test
+    void roundTripsRandomIds() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            MockEmployee employee = new MockEmployee(UUID.randomUUID(), "a", 1, 2, "t", "e");
+            String json = objectMapper.writeValueAsString(employee);
+
+            assertEquals(employee, objectMapper.readValue(json, MockEmployee.class));
+            assertEquals(
+                    employee.getId().toString(),
+                    objectMapper.readTree(json).get("id").asText());
+        }
+    }
+
+    @Test
+    void readsTypedActionResponses() throws Exception {
+        APIActionResponse<MockEmployee> response = objectMapper.readValue(
+                "{\"data\":{\"employee_age\":24,\"extra\":{\"nested\":[1]},\"id\":\"0A1B2C3D-4E5F-6789-ABCD-EF0123456789\","
+                        + "\"employee_name\":\"Bill Bob\",\"employee_salary\":\"89750\"},"
+                        + "\"status\":\"Successfully processed request.\"}",
+                new TypeReference<>() {});
+
+        MockEmployee employee = response.getData();
+        assertEquals(UUID.fromString("0a1b2c3d-4e5f-6789-abcd-ef0123456789"), employee.getId());
+        assertEquals("Bill Bob", employee.getEmployee_name());
+        assertEquals(89750, employee.getEmployee_salary());
+        assertEquals(24, employee.getEmployee_age());
+        assertNull(employee.getEmployee_title());
+        assertEquals(APIActionResponse.Status.HANDLED, response.getStatus());
+    }
+
+    @Test
+    void rejectsMalformedIds() {
+        assertThrows(
+                InvalidFormatException.class,
+                () -> objectMapper.readValue("{\"id\":\"0a1b2c3d-4e5f-6789-abcd-ef012345678g\"}", MockEmployee.class));
+    }
+}
@@ -1,5 +1,9 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.client.UpstreamMetricsInterceptor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.client.RestTemplate;
@@ -7,10 +11,17 @@ import org.springframework.web.client.RestTemplate;
 class APIConfigurationTest {
 
     @Test
-    void init() {
+    void init() throws Exception {
         APIConfiguration apiConfiguration = new APIConfiguration();
-        RestTemplate restTemplate = apiConfiguration.restTemplate();
+        UpstreamRequestFactory requestFactory = apiConfiguration.upstreamRequestFactory(
+                10, 5, Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(3), Duration.ofSeconds(1),
+                Duration.ofSeconds(30), Duration.ofMinutes(5), true);
+        UpstreamMetricsInterceptor metricsInterceptor = new UpstreamMetricsInterceptor(new SimpleMeterRegistry());
+        RestTemplate restTemplate = apiConfiguration.restTemplate(requestFactory, metricsInterceptor);
         Assertions.assertNotNull(restTemplate);
         Assertions.assertSame(restTemplate.getClass(), RestTemplate.class);
+        Assertions.assertEquals(List.of(metricsInterceptor), restTemplate.getInterceptors());
+        Assertions.assertEquals(Duration.ofSeconds(3), requestFactory.getTotalTimeout());
+        requestFactory.destroy();
     }
-}
\ No newline at end of file
+}
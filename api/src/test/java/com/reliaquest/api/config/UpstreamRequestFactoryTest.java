@@ -0,0 +1,120 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class UpstreamRequestFactoryTest {
+
+    private final AtomicBoolean streamingHeaderSent = new AtomicBoolean();
+    private HttpServer server;
+    private UpstreamRequestFactory requestFactory;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            final var body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (final var out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // Sends half of the body, then pauses longer than the short total timeout below before sending the rest.
+        server.createContext("/slow", exchange -> {
+            streamingHeaderSent.set(exchange.getRequestHeaders().containsKey(UpstreamRequestFactory.STREAMING_HEADER));
+            exchange.sendResponseHeaders(200, 0);
+            try (final var out = exchange.getResponseBody()) {
+                out.write('o');
+                out.flush();
+                Thread.sleep(500);
+                out.write('k');
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        requestFactory = new UpstreamRequestFactory(HttpClients.createDefault(), Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void stop() throws Exception {
+        requestFactory.destroy();
+        server.stop(0);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    @Test
+    void closingTheResponseWithdrawsTheDeadline() throws IOException {
+        final var request = requestFactory.createRequest(uri("/"), HttpMethod.GET);
+
+        try (final var response = request.execute()) {
+            assertEquals(200, response.getStatusCode().value());
+            assertEquals(1, requestFactory.pendingDeadlines());
+        }
+
+        assertEquals(0, requestFactory.pendingDeadlines());
+    }
+
+    @Test
+    void bodyStillReadingAtTheDeadlineIsAborted() throws Exception {
+        final var shortDeadlines = new UpstreamRequestFactory(HttpClients.createDefault(), Duration.ofMillis(200));
+        try {
+            final var request = shortDeadlines.createRequest(uri("/slow"), HttpMethod.GET);
+
+            try (final var response = request.execute()) {
+                assertThrows(IOException.class, () -> response.getBody().readAllBytes());
+            }
+        } finally {
+            shortDeadlines.destroy();
+        }
+    }
+
+    @Test
+    void streamingBodyIsOnlyBoundByTheReadTimeout() throws Exception {
+        final var shortDeadlines = new UpstreamRequestFactory(HttpClients.createDefault(), Duration.ofMillis(200));
+        try {
+            final var request = shortDeadlines.createRequest(uri("/slow"), HttpMethod.GET);
+            UpstreamRequestFactory.streaming(request);
+
+            try (final var response = request.execute()) {
+                assertEquals(0, shortDeadlines.pendingDeadlines());
+                assertEquals("ok", new String(response.getBody().readAllBytes(), StandardCharsets.UTF_8));
+            }
+            assertFalse(streamingHeaderSent.get());
+        } finally {
+            shortDeadlines.destroy();
+        }
+    }
+
+    @Test
+    void failedRequestWithdrawsTheDeadline() throws IOException {
+        final int port;
+        try (final var socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        // Nothing listens on the port any more.
+        final var request = requestFactory.createRequest(URI.create("http://localhost:" + port + "/"), HttpMethod.GET);
+
+        assertThrows(IOException.class, request::execute);
+
+        assertEquals(0, requestFactory.pendingDeadlines());
+    }
+}
@@ -1,27 +1,43 @@
 package com.reliaquest.api.controller;
 
 import com.reliaquest.api.DummyDataProvider;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.EmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamIsolation;
 import com.reliaquest.api.model.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.OngoingStubbing;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.util.Arrays;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -30,10 +46,21 @@ class EmployeeControllerTest {
     @Autowired
     private EmployeeController employeeController;
 
+    @Autowired
+    private EmployeeSnapshotCache snapshotCache;
+
+    @Autowired
+    private UpstreamIsolation upstreamIsolation;
+
     @MockBean
     private RestTemplate restTemplate;
     ApiFetchResponse apiFetchResponse;
 
+    @BeforeEach
+    void setUp() {
+        snapshotCache.invalidate();
+        upstreamIsolation.reset();
+    }
 
     @Test
     void testBaseURL() {
@@ -52,8 +79,8 @@ class EmployeeControllerTest {
 
         ApiFetchResponse mockResponse = new ApiFetchResponse(employeeList.subList(0,2), "Successfully fetched");
 
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
-                .thenReturn(mockResponse);
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(mockResponse));
 
         ResponseEntity<List<MockEmployee>> response = employeeController.getAllEmployees();
 
@@ -78,8 +105,8 @@ class EmployeeControllerTest {
 
         ApiFetchResponse mockResponse = new ApiFetchResponse(null, "Successfully fetched");
 
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
-                .thenReturn(mockResponse);
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(mockResponse));
 
         ResponseEntity<List<MockEmployee>> response = employeeController.getAllEmployees();
 
@@ -88,7 +115,7 @@ class EmployeeControllerTest {
 
     @Test
     public void testGetAllEmployees_Error() {
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
+        whenFetchingAll()
                 .thenReturn(null);
 
         ResponseEntity<List<MockEmployee>> response = employeeController.getAllEmployees();
@@ -98,7 +125,7 @@ class EmployeeControllerTest {
 
     @Test
     public void testGetAllEmployees_APICallException() {
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
+        whenFetchingAll()
                 .thenThrow(UncheckedIOException.class);
 
         ResponseEntity<List<MockEmployee>> response = employeeController.getAllEmployees();
@@ -106,6 +133,28 @@ class EmployeeControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
+    @Test
+    public void testGetAllEmployees_RevalidatedWithETag() {
+        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
+
+        ApiFetchResponse mockResponse = new ApiFetchResponse(employeeList.subList(0,2), "Successfully fetched");
+
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok().eTag("\"1-2\"").body(mockResponse))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        ResponseEntity<List<MockEmployee>> first = employeeController.getAllEmployees();
+        snapshotCache.invalidate();
+        ResponseEntity<List<MockEmployee>> second = employeeController.getAllEmployees();
+
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertSame(first.getBody(), second.getBody());
+        ArgumentCaptor<HttpEntity> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(eq(URI.create(EmployeeController.baseURL)), eq(HttpMethod.GET), requests.capture(), eq(ApiFetchResponse.class));
+        assertEquals(List.of(), requests.getAllValues().get(0).getHeaders().getIfNoneMatch());
+        assertEquals(List.of("\"1-2\""), requests.getAllValues().get(1).getHeaders().getIfNoneMatch());
+    }
+
     @Test
     public void testEmployeesByName_Success_ValidName() {
 
@@ -113,8 +162,8 @@ class EmployeeControllerTest {
 
         ApiFetchResponse mockResponse = new ApiFetchResponse(employeeList.subList(0,2), "Successfully fetched");
 
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
-                .thenReturn(mockResponse);
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(mockResponse));
 
         ResponseEntity<List<MockEmployee>> response = employeeController.getEmployeesByNameSearch("Bat");
 
@@ -135,8 +184,8 @@ class EmployeeControllerTest {
 
         ApiFetchResponse mockResponse = new ApiFetchResponse(employeeList, "Successfully fetched");
 
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
-                .thenReturn(mockResponse);
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(mockResponse));
 
         ResponseEntity<List<MockEmployee>> response = employeeController.getEmployeesByNameSearch("Super");
 
@@ -146,7 +195,7 @@ class EmployeeControllerTest {
 
     @Test
     public void testEmployeesByName_Failure() {
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
+        whenFetchingAll()
                 .thenReturn(null);
 
         ResponseEntity<List<MockEmployee>> response = employeeController.getEmployeesByNameSearch("Super");
@@ -200,14 +249,68 @@ class EmployeeControllerTest {
         assertNull(response.getBody());
     }
 
+    @Test
+    public void testEmployeesById_CircuitOpen_ServedFromSnapshot() {
+        MockEmployee employee = DummyDataProvider.getDummyEmployees().get(0);
+        String id = employee.getId().toString();
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(new ApiFetchResponse(List.of(employee), "Successfully fetched")));
+        employeeController.getAllEmployees();
+        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, employeeController.getEmployeeById(id).getStatusCode());
+        }
+
+        ResponseEntity<MockEmployee> response = employeeController.getEmployeeById(id);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(employee, response.getBody());
+        assertEquals(EmployeeController.STALE_WARNING, response.getHeaders().getFirst(HttpHeaders.WARNING));
+        assertEquals("0", response.getHeaders().getFirst(HttpHeaders.AGE));
+        verify(restTemplate, times(5)).getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class);
+    }
+
+    @Test
+    public void testEmployeesById_CircuitOpen_NoSnapshot() {
+        String id = "123";
+        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+        for (int i = 0; i < 5; i++) {
+            employeeController.getEmployeeById(id);
+        }
+
+        ResponseEntity<MockEmployee> response = employeeController.getEmployeeById(id);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("30", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void testEmployeesById_CircuitOpen_OtherOperationsUnaffected() {
+        String id = "123";
+        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+        for (int i = 0; i < 6; i++) {
+            employeeController.getEmployeeById(id);
+        }
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(new ApiFetchResponse(DummyDataProvider.getDummyEmployees(), "Successfully fetched")));
+
+        ResponseEntity<List<MockEmployee>> response = employeeController.getAllEmployees();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.WARNING));
+    }
+
     @Test
     public void testHighestSalary_Success() {
         List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
 
         ApiFetchResponse mockResponse = new ApiFetchResponse(employeeList, "Successfully fetched");
 
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
-                .thenReturn(mockResponse);
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(mockResponse));
 
         ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
 
@@ -217,7 +320,7 @@ class EmployeeControllerTest {
 
     @Test
     public void testHighestSalary_Failure() {
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
+        whenFetchingAll()
                 .thenReturn(null);
 
         ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
@@ -231,8 +334,8 @@ class EmployeeControllerTest {
 
         ApiFetchResponse mockResponse = new ApiFetchResponse(employeeList, "Successfully fetched");
 
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
-                .thenReturn(mockResponse);
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(mockResponse));
 
         ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
 
@@ -243,7 +346,7 @@ class EmployeeControllerTest {
 
     @Test
     public void testTop10HighestSalaryNames_Failure() {
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL), ApiFetchResponse.class))
+        whenFetchingAll()
                 .thenReturn(null);
 
         ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
@@ -251,19 +354,75 @@ class EmployeeControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
     }
 
+    @Test
+    public void testHighestSalary_Pushdown() {
+        ResponseEntity<APIActionResponse<Integer>> upstreamResponse = ResponseEntity.ok(
+                new APIActionResponse<>(69000, APIActionResponse.Status.HANDLED, null));
+        when(restTemplate.exchange(eq(URI.create(EmployeeUpstreamClient.MAX_SALARY_URL)), eq(HttpMethod.GET), isNull(),
+                any(ParameterizedTypeReference.class)))
+                .thenReturn(upstreamResponse);
+
+        ReflectionTestUtils.setField(employeeController, "aggregatePushdown", true);
+        try{
+            ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(69000, response.getBody());
+            verify(restTemplate, never()).exchange(eq(URI.create(EmployeeController.baseURL)), eq(HttpMethod.GET), any(HttpEntity.class), eq(ApiFetchResponse.class));
+        } finally {
+            ReflectionTestUtils.setField(employeeController, "aggregatePushdown", false);
+        }
+    }
+
+    @Test
+    public void testTop10HighestSalaryNames_Pushdown() {
+        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
+
+        ApiFetchResponse mockResponse = new ApiFetchResponse(employeeList.subList(0,2), "Successfully fetched");
+
+        when(restTemplate.getForObject(URI.create(EmployeeUpstreamClient.TOP_SALARIES_URL+"?n=10"), ApiFetchResponse.class))
+                .thenReturn(mockResponse);
+
+        ReflectionTestUtils.setField(employeeController, "aggregatePushdown", true);
+        try{
+            ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(List.of("Batman","Spiderman"), response.getBody());
+        } finally {
+            ReflectionTestUtils.setField(employeeController, "aggregatePushdown", false);
+        }
+    }
+
+    @Test
+    public void testTopEmployees_ByAge() {
+        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
+
+        ApiFetchResponse mockResponse = new ApiFetchResponse(employeeList, "Successfully fetched");
+
+        whenFetchingAll()
+                .thenReturn(ResponseEntity.ok(mockResponse));
+
+        ResponseEntity<List<MockEmployee>> response = employeeController.getTopEmployees(2, "age");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Batman", response.getBody().get(0).getEmployee_name());
+        assertEquals("Hercules", response.getBody().get(1).getEmployee_name());
+    }
+
+    @Test
+    public void testTopEmployees_InvalidParameters() {
+        assertEquals(HttpStatus.BAD_REQUEST, employeeController.getTopEmployees(10, "name").getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, employeeController.getTopEmployees(0, "salary").getStatusCode());
+    }
+
     @Test
     public void testCreateEmployee_Success() {
-        LinkedHashMap<String,Object> map = new LinkedHashMap<>();
-        map.put("id", UUID.randomUUID().toString());
-        map.put("employee_name","Sentry");
-        map.put("employee_salary",12345);
-        map.put("employee_age",28);
-        map.put("employee_title","Lead");
-        map.put("employee_email","sen.try@company.com");
-
-        APIActionResponse apiActionResponse = new APIActionResponse(map, APIActionResponse.Status.HANDLED, null);
-        ResponseEntity<APIActionResponse> createResponse = new ResponseEntity<>(apiActionResponse, HttpStatus.OK);
-        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
+        MockEmployee created = new MockEmployee(UUID.randomUUID(), "Sentry", 12345, 28, "Lead", "sen.try@company.com");
+
+        APIActionResponse<MockEmployee> apiActionResponse = new APIActionResponse<>(created, APIActionResponse.Status.HANDLED, null);
+        ResponseEntity<APIActionResponse<MockEmployee>> createResponse = new ResponseEntity<>(apiActionResponse, HttpStatus.OK);
+        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(ParameterizedTypeReference.class)))
                 .thenReturn(createResponse);
 
         CreateMockEmployeeInput input = new CreateMockEmployeeInput("Sentry",12345,28,"Lead");
@@ -279,8 +438,8 @@ class EmployeeControllerTest {
 
     @Test
     public void testCreateEmployee_Failure() {
-        ResponseEntity<APIActionResponse> createResponse = new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
-        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
+        ResponseEntity<APIActionResponse<MockEmployee>> createResponse = new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(ParameterizedTypeReference.class)))
                 .thenReturn(createResponse);
 
         CreateMockEmployeeInput input = new CreateMockEmployeeInput("Sentry",12345,28,"Lead");
@@ -292,7 +451,7 @@ class EmployeeControllerTest {
 
     @Test
     public void testCreateEmployee_ThrowsException() {
-        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
+        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(ParameterizedTypeReference.class)))
                 .thenThrow(UncheckedIOException.class);
 
         CreateMockEmployeeInput input = new CreateMockEmployeeInput("Sentry",12345,28,"Lead");
@@ -307,13 +466,8 @@ class EmployeeControllerTest {
         String id = "123";
         List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
 
-        ApiFetchResponseObject mockResponse = new ApiFetchResponseObject(employeeList.get(0), "Successfully fetched");
-
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class))
-                .thenReturn(mockResponse);
-
-        APIActionResponse apiActionResponse = new APIActionResponse(true, APIActionResponse.Status.HANDLED, null);
-        ResponseEntity<APIActionResponse> deleteResponse = new ResponseEntity<>(apiActionResponse, HttpStatus.OK);
+        ApiFetchResponseObject deleted = new ApiFetchResponseObject(employeeList.get(0), "Successfully processed request.");
+        ResponseEntity<ApiFetchResponseObject> deleteResponse = new ResponseEntity<>(deleted, HttpStatus.OK);
         when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
                 .thenReturn(deleteResponse);
 
@@ -321,20 +475,17 @@ class EmployeeControllerTest {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Batman", response.getBody());
+        verify(restTemplate).exchange(EmployeeController.baseURL+"/"+id, HttpMethod.DELETE, HttpEntity.EMPTY, ApiFetchResponseObject.class);
+        verify(restTemplate, never()).getForObject(any(), any());
+        verify(restTemplate, never()).exchange(eq(URI.create(EmployeeController.baseURL)), eq(HttpMethod.GET), any(HttpEntity.class), eq(ApiFetchResponse.class));
     }
 
     @Test
     public void testDeleteEmployee_Failure() {
         String id = "123";
-        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
-
-        ApiFetchResponseObject mockResponse = new ApiFetchResponseObject(employeeList.get(0), "Successfully fetched");
-
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class))
-                .thenReturn(mockResponse);
 
-        APIActionResponse apiActionResponse = new APIActionResponse(false, APIActionResponse.Status.ERROR, null);
-        ResponseEntity<APIActionResponse> deleteResponse = new ResponseEntity<>(apiActionResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        ApiFetchResponseObject error = new ApiFetchResponseObject(null, "Failed to process request.");
+        ResponseEntity<ApiFetchResponseObject> deleteResponse = new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
         when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
                 .thenReturn(deleteResponse);
 
@@ -347,15 +498,8 @@ class EmployeeControllerTest {
     @Test
     public void testDeleteEmployee_Failure_NullResponseBody() {
         String id = "123";
-        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
-
-        ApiFetchResponseObject mockResponse = new ApiFetchResponseObject(employeeList.get(0), "Successfully fetched");
 
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class))
-                .thenReturn(mockResponse);
-
-        APIActionResponse apiActionResponse = new APIActionResponse(null, APIActionResponse.Status.ERROR, null);
-        ResponseEntity<APIActionResponse> deleteResponse = new ResponseEntity<>(apiActionResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+        ResponseEntity<ApiFetchResponseObject> deleteResponse = new ResponseEntity<>(HttpStatus.OK);
         when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
                 .thenReturn(deleteResponse);
 
@@ -368,12 +512,9 @@ class EmployeeControllerTest {
     @Test
     public void testDeleteEmployee_EmployeeDoesNotExist() {
         String id = "123";
-        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
 
-        ApiFetchResponseObject mockResponse = new ApiFetchResponseObject(null, "Error");
-
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class))
-                .thenReturn(mockResponse);
+        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", null, null, null));
 
         ResponseEntity<String> response = employeeController.deleteEmployeeById(id);
 
@@ -384,12 +525,6 @@ class EmployeeControllerTest {
     @Test
     public void testDeleteEmployee_ThrowsException() {
         String id = "123";
-        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees();
-
-        ApiFetchResponseObject mockResponse = new ApiFetchResponseObject(employeeList.get(0), "Successfully Fetched");
-
-        when(restTemplate.getForObject(URI.create(EmployeeController.baseURL+"/"+id), ApiFetchResponseObject.class))
-                .thenReturn(mockResponse);
 
         when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
                 .thenThrow(UncheckedIOException.class);
@@ -399,4 +534,87 @@ class EmployeeControllerTest {
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         assertNull(response.getBody());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCreateEmployees_AllCreated() {
+        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees().subList(0, 2);
+        ResponseEntity<ApiFetchResponse> createResponse = new ResponseEntity<>(new ApiFetchResponse(employeeList, "Successfully processed request."), HttpStatus.OK);
+        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
+                .thenReturn(createResponse);
+
+        List<CreateMockEmployeeInput> inputs = List.of(
+                new CreateMockEmployeeInput("Batman",12345,28,"Lead"),
+                new CreateMockEmployeeInput("Robin",1234,20,"Sidekick"));
+        ResponseEntity<List<BatchItemResult>> response = employeeController.createEmployees(inputs);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().size());
+        assertEquals(BatchItemResult.Status.CREATED, response.getBody().get(1).getStatus());
+        assertEquals(employeeList.get(1), response.getBody().get(1).getEmployee());
+    }
+
+    @Test
+    public void testCreateEmployees_InvalidItemFailsAlone() {
+        List<MockEmployee> employeeList = DummyDataProvider.getDummyEmployees().subList(0, 2);
+        ResponseEntity<ApiFetchResponse> createResponse = new ResponseEntity<>(new ApiFetchResponse(employeeList, "Successfully processed request."), HttpStatus.OK);
+        ArgumentCaptor<HttpEntity> requests = ArgumentCaptor.forClass(HttpEntity.class);
+        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),requests.capture(), any(Class.class)))
+                .thenReturn(createResponse);
+
+        List<CreateMockEmployeeInput> inputs = Arrays.asList(
+                new CreateMockEmployeeInput("Batman",12345,28,"Lead"),
+                new CreateMockEmployeeInput("Robin",1234,12,"Sidekick"),
+                null,
+                new CreateMockEmployeeInput("Alfred",1234,70,"Butler"));
+        ResponseEntity<List<BatchItemResult>> response = employeeController.createEmployees(inputs);
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertEquals(BatchItemResult.Status.CREATED, response.getBody().get(0).getStatus());
+        assertEquals(BatchItemResult.Status.FAILED, response.getBody().get(1).getStatus());
+        assertEquals("Invalid input: age must be between 16 and 75", response.getBody().get(1).getError());
+        assertEquals(BatchItemResult.Status.FAILED, response.getBody().get(2).getStatus());
+        assertEquals(employeeList.get(1), response.getBody().get(3).getEmployee());
+        assertEquals(2, ((CreateMockEmployeesInput) requests.getValue().getBody()).getEmployees().size());
+    }
+
+    @Test
+    public void testCreateEmployees_UpstreamErrorDetailsNotExposed() {
+        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", HttpHeaders.EMPTY,
+                        "{\"error\":\"employees[0].name internal detail\"}".getBytes(), null));
+
+        ResponseEntity<List<BatchItemResult>> response = employeeController.createEmployees(
+                List.of(new CreateMockEmployeeInput("Batman",12345,28,"Lead")));
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertEquals("Upstream rejected the input (400)", response.getBody().get(0).getError());
+    }
+
+    @Test
+    public void testDeleteEmployees_PartiallyDeleted() {
+        MockEmployee deleted = DummyDataProvider.getDummyEmployees().get(0);
+        ResponseEntity<ApiFetchResponse> deleteResponse = new ResponseEntity<>(new ApiFetchResponse(Arrays.asList(deleted, null), "Successfully processed request."), HttpStatus.OK);
+        when(restTemplate.exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class)))
+                .thenReturn(deleteResponse);
+
+        ResponseEntity<List<BatchItemResult>> response = employeeController.deleteEmployeesById(
+                List.of(deleted.getId().toString(), UUID.randomUUID().toString(), "123"));
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertEquals(BatchItemResult.Status.DELETED, response.getBody().get(0).getStatus());
+        assertEquals(BatchItemResult.Status.NOT_FOUND, response.getBody().get(1).getStatus());
+        assertEquals(BatchItemResult.Status.FAILED, response.getBody().get(2).getStatus());
+    }
+
+    @Test
+    public void testDeleteEmployees_Empty() {
+        ResponseEntity<List<BatchItemResult>> response = employeeController.deleteEmployeesById(List.of());
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(restTemplate, never()).exchange(any(String.class), any(HttpMethod.class),any(HttpEntity.class), any(Class.class));
+    }
+
+    private OngoingStubbing<ResponseEntity<ApiFetchResponse>> whenFetchingAll() {
+        return when(restTemplate.exchange(eq(URI.create(EmployeeController.baseURL)), eq(HttpMethod.GET), any(HttpEntity.class), eq(ApiFetchResponse.class)));
+    }
+}
@@ -0,0 +1,240 @@
+package com.reliaquest.api.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.DummyDataProvider;
+import com.reliaquest.api.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.client.ReactiveEmployeeUpstreamClient;
+import com.reliaquest.api.client.UpstreamCircuitOpenException;
+import com.reliaquest.api.client.UpstreamRateLimitedException;
+import com.reliaquest.api.model.CreateMockEmployeeInput;
+import com.reliaquest.api.model.MockEmployee;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@SpringBootTest
+class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private ReactiveEmployeeController employeeController;
+
+    @Autowired
+    private EmployeeSnapshotCache snapshotCache;
+
+    @MockBean
+    private ReactiveEmployeeUpstreamClient upstreamClient;
+
+    private final List<MockEmployee> employees = DummyDataProvider.getDummyEmployees();
+
+    @BeforeEach
+    void setUp() {
+        snapshotCache.invalidate();
+    }
+
+    @Test
+    void getAllEmployeesCachesFetchedList() {
+        when(upstreamClient.fetchAll()).thenReturn(Mono.just(employees));
+
+        ResponseEntity<List<MockEmployee>> first =
+                employeeController.getAllEmployees().block();
+        ResponseEntity<List<MockEmployee>> second =
+                employeeController.getAllEmployees().block();
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(employees, first.getBody());
+        assertEquals(employees, second.getBody());
+        verify(upstreamClient, times(1)).fetchAll();
+    }
+
+    @Test
+    void highestSalaryAndTopTenComeFromCachedList() {
+        when(upstreamClient.fetchAll()).thenReturn(Mono.just(employees));
+
+        assertEquals(
+                69000, employeeController.getHighestSalaryOfEmployees().block().getBody());
+        List<String> topTen = employeeController
+                .getTopTenHighestEarningEmployeeNames()
+                .block()
+                .getBody();
+
+        assertEquals(10, topTen.size());
+        assertEquals("Zeus", topTen.get(0));
+        assertEquals("Green Lantern", topTen.get(1));
+        verify(upstreamClient, never()).streamAll();
+    }
+
+    @Test
+    void searchFiltersByName() {
+        when(upstreamClient.fetchAll()).thenReturn(Mono.just(employees));
+
+        List<MockEmployee> found =
+                employeeController.getEmployeesByNameSearch("man").block().getBody();
+
+        assertEquals(
+                List.of("Batman", "Spiderman", "Wonder Woman"),
+                found.stream().map(MockEmployee::getEmployee_name).toList());
+    }
+
+    @Test
+    void getEmployeeByIdIsNotFoundWhenUpstreamHasNone() {
+        when(upstreamClient.fetchById(any())).thenReturn(Mono.empty());
+
+        assertEquals(
+                HttpStatus.NOT_FOUND,
+                employeeController.getEmployeeById("missing").block().getStatusCode());
+    }
+
+    @Test
+    void getEmployeeByIdFallsBackToSnapshotWhileUpstreamIsUnavailable() {
+        when(upstreamClient.fetchAll()).thenReturn(Mono.just(employees));
+        employeeController.getAllEmployees().block();
+        MockEmployee cached = employees.get(0);
+        when(upstreamClient.fetchById(any()))
+                .thenReturn(Mono.error(new UpstreamCircuitOpenException("open", Duration.ofSeconds(20))));
+
+        ResponseEntity<MockEmployee> found =
+                employeeController.getEmployeeById(cached.getId().toString()).block();
+        ResponseEntity<MockEmployee> missing =
+                employeeController.getEmployeeById(UUID.randomUUID().toString()).block();
+
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertEquals(cached, found.getBody());
+        assertEquals(EmployeeController.STALE_WARNING, found.getHeaders().getFirst(HttpHeaders.WARNING));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, missing.getStatusCode());
+        assertEquals("20", missing.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void lookupReturnsFoundEmployeesAndRejectsEmptyIds() {
+        List<String> ids = List.of(
+                employees.get(0).getId().toString(), employees.get(1).getId().toString());
+        when(upstreamClient.fetchByIds(ids)).thenReturn(Flux.just(employees.get(0), employees.get(1)));
+
+        ResponseEntity<List<MockEmployee>> found =
+                employeeController.getEmployeesById(ids).block();
+
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertEquals(employees.subList(0, 2), found.getBody());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                employeeController.getEmployeesById(List.of()).block().getStatusCode());
+    }
+
+    @Test
+    void expiredSnapshotIsServedMarkedStaleWhileRefreshing() {
+        when(upstreamClient.fetchAll()).thenReturn(Mono.just(employees));
+        employeeController.getAllEmployees().block();
+        ReflectionTestUtils.setField(snapshotCache, "ttl", Duration.ofSeconds(-1));
+        try {
+            ResponseEntity<List<MockEmployee>> response =
+                    employeeController.getAllEmployees().block();
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(EmployeeController.STALE_WARNING, response.getHeaders().getFirst(HttpHeaders.WARNING));
+            assertEquals("0", response.getHeaders().getFirst(HttpHeaders.AGE));
+            verify(upstreamClient, times(2)).fetchAll();
+        } finally {
+            ReflectionTestUtils.setField(snapshotCache, "ttl", Duration.ofSeconds(30));
+        }
+    }
+
+    @Test
+    void lookupSkipsIdsThatAreNotUuids() {
+        List<String> ids = List.of(employees.get(0).getId().toString());
+        when(upstreamClient.fetchByIds(ids)).thenReturn(Flux.just(employees.get(0)));
+
+        ResponseEntity<List<MockEmployee>> found = employeeController
+                .getEmployeesById(List.of("not-a-uuid", ids.get(0), "../1"))
+                .block();
+
+        assertEquals(HttpStatus.OK, found.getStatusCode());
+        assertEquals(employees.subList(0, 1), found.getBody());
+        verify(upstreamClient).fetchByIds(ids);
+    }
+
+    @Test
+    void rateLimitedUpstreamAnswersServiceUnavailable() {
+        when(upstreamClient.fetchAll())
+                .thenReturn(Mono.error(new UpstreamRateLimitedException("closed", Duration.ofSeconds(12))));
+
+        ResponseEntity<List<MockEmployee>> response =
+                employeeController.getAllEmployees().block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("12", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void deleteEmployeeReturnsNameAndUpdatesCache() {
+        when(upstreamClient.fetchAll()).thenReturn(Mono.just(employees));
+        employeeController.getAllEmployees().block();
+        MockEmployee deleted = employees.get(0);
+        when(upstreamClient.deleteById(deleted.getId().toString())).thenReturn(Mono.just(deleted));
+        when(upstreamClient.deleteById("missing")).thenReturn(Mono.empty());
+
+        ResponseEntity<String> response = employeeController
+                .deleteEmployeeById(deleted.getId().toString())
+                .block();
+
+        assertEquals("Batman", response.getBody());
+        assertEquals(employees.size() - 1, snapshotCache.peek().employees().size());
+        assertEquals(
+                HttpStatus.NOT_FOUND,
+                employeeController.deleteEmployeeById("missing").block().getStatusCode());
+    }
+
+    @Test
+    void createdEmployeeIsAddedToCache() {
+        when(upstreamClient.fetchAll()).thenReturn(Mono.just(employees));
+        employeeController.getAllEmployees().block();
+        MockEmployee created = new MockEmployee(UUID.randomUUID(), "Sentry", 12345, 28, "Lead", "sen.try@company.com");
+        when(upstreamClient.create(any())).thenReturn(Mono.just(created));
+
+        ResponseEntity<MockEmployee> response = employeeController
+                .createEmployee(new CreateMockEmployeeInput("Sentry", 12345, 28, "Lead"))
+                .block();
+
+        assertEquals(created, response.getBody());
+        assertEquals(employees.size() + 1, snapshotCache.peek().employees().size());
+    }
+
+    @Test
+    void invalidCreateIsBadRequestWithoutUpstreamCall() {
+        ResponseEntity<MockEmployee> response = employeeController
+                .createEmployee(new CreateMockEmployeeInput("Sentry", 12345, 12, "Lead"))
+                .block();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        verify(upstreamClient, never()).create(any());
+    }
+
+    @Test
+    void createRejectedUpstreamIsBadRequest() {
+        when(upstreamClient.create(any()))
+                .thenReturn(Mono.error(WebClientResponseException.create(400, "Bad Request", null, null, null)));
+
+        ResponseEntity<MockEmployee> response = employeeController
+                .createEmployee(new CreateMockEmployeeInput("Sentry", 12345, 28, "Lead"))
+                .block();
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.DummyDataProvider;
+import com.reliaquest.api.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TopNTest {
+
+    @Test
+    void matchesStableDescendingSortWithTies() {
+        Random random = new Random(42);
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            employees.add(new MockEmployee(
+                    UUID.randomUUID(), "Employee " + i, random.nextInt(200), 16 + random.nextInt(60), "Title", "e@x"));
+        }
+
+        for (int n : new int[] {1, 10, 137, 5_000, 10_000}) {
+            List<MockEmployee> expected = employees.stream()
+                    .sorted(Comparator.comparing(MockEmployee::getEmployee_salary)
+                            .reversed())
+                    .limit(n)
+                    .toList();
+            assertEquals(expected, EmployeeRankKey.SALARY.top(employees, n));
+        }
+    }
+
+    @Test
+    void ranksDummyEmployeesLikeExistingEndpoint() {
+        List<String> names = EmployeeRankKey.SALARY.top(DummyDataProvider.getDummyEmployees(), 10).stream()
+                .map(MockEmployee::getEmployee_name)
+                .toList();
+
+        assertEquals(
+                List.of(
+                        "Zeus",
+                        "Green Lantern",
+                        "Spiderman",
+                        "Wonder Woman",
+                        "Batman",
+                        "Joker",
+                        "Dr. Fate",
+                        "Flash",
+                        "Harley Quinn",
+                        "Cyborg"),
+                names);
+    }
+
+    @Test
+    void ranksByAgeAndSkipsMissingValues() {
+        List<MockEmployee> employees = new ArrayList<>(DummyDataProvider.getDummyEmployees());
+        employees.add(new MockEmployee(UUID.randomUUID(), "Nobody", null, null, "Title", "no@body"));
+
+        List<MockEmployee> oldest = EmployeeRankKey.AGE.top(employees, 3);
+
+        assertEquals(
+                List.of("Batman", "Hercules", "Harley Quinn"),
+                oldest.stream().map(MockEmployee::getEmployee_name).toList());
+        assertEquals(69000, EmployeeRankKey.SALARY.max(employees).getAsInt());
+        assertTrue(EmployeeRankKey.SALARY.max(List.of()).isEmpty());
+    }
+
+    @Test
+    void rejectsUnknownKeyAndInvalidCapacity() {
+        assertEquals(EmployeeRankKey.AGE, EmployeeRankKey.fromParameter("Age"));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeRankKey.fromParameter("name"));
+        assertThrows(IllegalArgumentException.class, () -> new TopN<String>(0));
+    }
+}
@@ -0,0 +1,161 @@
+package com.reliaquest.api.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.DummyDataProvider;
+import com.reliaquest.api.cache.EmployeeDelta;
+import com.reliaquest.api.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TrigramNameIndexTest {
+
+    private final List<MockEmployee> employees = DummyDataProvider.getDummyEmployees();
+    private final TrigramNameIndex index = new TrigramNameIndex(employees);
+
+    private static List<String> names(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getEmployee_name).toList();
+    }
+
+    @Test
+    void caseSensitiveByDefault() {
+        assertEquals(List.of("Batman"), names(index.search("Bat", false)));
+        assertTrue(index.search("bat", false).isEmpty());
+        assertEquals(List.of("Batman", "Spiderman", "Wonder Woman"), names(index.search("man", false)));
+    }
+
+    @Test
+    void caseInsensitiveMode() {
+        assertEquals(List.of("Batman"), names(index.search("bAT", true)));
+        assertEquals(List.of("Green Lantern"), names(index.search("N l", true)));
+    }
+
+    @Test
+    void shortAndEmptyQueriesFallBackToScan() {
+        assertEquals(List.of("Zeus"), names(index.search("us", false)));
+        assertEquals(employees.size(), index.search("", false).size());
+    }
+
+    @Test
+    void trigramCandidatesAreVerified() {
+        // Every trigram of "wonder won" occurs in "Wonder Woman", but the name does not contain it.
+        assertTrue(index.search("wonder won", true).isEmpty());
+        // "fla" only occurs in "Flash", "ack" only in "Black Adam".
+        assertTrue(index.search("flack", true).isEmpty());
+        assertTrue(index.search("Batmanx", false).isEmpty());
+    }
+
+    @Test
+    void matchesLinearScanOnRandomNames() {
+        Random random = new Random(7);
+        String alphabet = "abcABC xyz";
+        List<MockEmployee> generated = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int c = 0, length = 1 + random.nextInt(12); c < length; c++) {
+                name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            generated.add(new MockEmployee(UUID.randomUUID(), name.toString(), 1, 20, "Title", "e@x"));
+        }
+        generated.add(new MockEmployee(UUID.randomUUID(), null, 1, 20, "Title", "e@x"));
+        TrigramNameIndex randomIndex = new TrigramNameIndex(generated);
+
+        for (String query : List.of("a", "ab", "abc", "aBc", "c x", "zzz", "abca", "xyzab", "AAA")) {
+            List<MockEmployee> expected = generated.stream()
+                    .filter(e ->
+                            e.getEmployee_name() != null && e.getEmployee_name().contains(query))
+                    .toList();
+            List<MockEmployee> expectedIgnoringCase = generated.stream()
+                    .filter(e -> e.getEmployee_name() != null
+                            && e.getEmployee_name().toLowerCase(Locale.ROOT).contains(query.toLowerCase(Locale.ROOT)))
+                    .toList();
+            assertEquals(expected, randomIndex.search(query, false), query);
+            assertEquals(expectedIgnoringCase, randomIndex.search(query, true), query);
+        }
+    }
+
+    @Test
+    void derivedIndexMatchesRebuildAfterDeltas() {
+        Random random = new Random(11);
+        List<MockEmployee> current = randomEmployees(random, 500);
+        TrigramNameIndex derived = new TrigramNameIndex(current);
+
+        for (int round = 0; round < 40; round++) {
+            List<MockEmployee> created = randomEmployees(random, random.nextInt(4));
+            Set<UUID> deleted = new HashSet<>();
+            for (int i = random.nextInt(4); i > 0 && !current.isEmpty(); i--) {
+                deleted.add(current.get(random.nextInt(current.size())).getId());
+            }
+            if (random.nextInt(5) == 0 && !current.isEmpty()) {
+                // A create the list already holds replaces it.
+                created.add(current.get(random.nextInt(current.size())));
+            }
+            EmployeeDelta delta = new EmployeeDelta(created, deleted);
+            current = List.copyOf(delta.applyTo(current));
+            derived = derived.withDelta(current, delta);
+            assertNotNull(derived);
+
+            TrigramNameIndex rebuilt = new TrigramNameIndex(current);
+            for (String query : List.of("a", "abc", "aBc", "c x", "xyzab", "AAA", "ab")) {
+                assertEquals(rebuilt.search(query, false), derived.search(query, false), query);
+                assertEquals(rebuilt.search(query, true), derived.search(query, true), query);
+            }
+        }
+    }
+
+    @Test
+    void derivedIndexAsksForRebuildOnceChangesPileUp() {
+        TrigramNameIndex derived = index;
+        List<MockEmployee> current = employees;
+        int derivations = 0;
+        while (derived != null) {
+            EmployeeDelta delta = EmployeeDelta.created(randomEmployees(new Random(derivations), 16));
+            current = List.copyOf(delta.applyTo(current));
+            derived = derived.withDelta(current, delta);
+            derivations++;
+        }
+
+        assertTrue(derivations > 1);
+        assertNull(index.withDelta(current, EmployeeDelta.created(randomEmployees(new Random(1), 1_000))));
+    }
+
+    @Test
+    void indexAndVerificationFoldCaseAlike() {
+        List<MockEmployee> tricky = new ArrayList<>();
+        for (String name : List.of("Kılıç", "KILIC", "İlker", "ſamuel", "Samuel", "Straße", "STRASSE", "Σίσυφος")) {
+            tricky.add(new MockEmployee(UUID.randomUUID(), name, 1, 20, "Title", "e@x"));
+        }
+        TrigramNameIndex trickyIndex = new TrigramNameIndex(tricky);
+
+        for (String query : List.of("KIL", "kıl", "ılı", "ilk", "İLK", "sam", "SAMU", "aße", "ASS", "ΣΊΣ", "σος")) {
+            List<MockEmployee> scanned = tricky.stream()
+                    .filter(e -> TrigramNameIndex.matches(e.getEmployee_name(), query, true))
+                    .toList();
+            assertEquals(scanned, trickyIndex.search(query, true), query);
+        }
+        assertEquals(List.of("Kılıç", "KILIC"), names(trickyIndex.search("KIL", true)));
+        assertEquals(List.of("ſamuel", "Samuel"), names(trickyIndex.search("sam", true)));
+    }
+
+    private static List<MockEmployee> randomEmployees(Random random, int count) {
+        String alphabet = "abcABC xyz";
+        List<MockEmployee> generated = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            StringBuilder name = new StringBuilder();
+            for (int c = 0, length = 1 + random.nextInt(12); c < length; c++) {
+                name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            generated.add(new MockEmployee(UUID.randomUUID(), name.toString(), 1, 20, "Title", "e@x"));
+        }
+        return generated;
+    }
+}
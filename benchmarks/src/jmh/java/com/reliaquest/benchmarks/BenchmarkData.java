@@ -0,0 +1,31 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Synthetic, reproducible employee lists for the benchmarks, built by the mock server's own generator.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+
+    private BenchmarkData() {}
+
+    static List<com.reliaquest.server.model.MockEmployee> serverEmployees(int size) {
+        return new MockEmployeeGenerator(Locale.US, SEED, 4096).generate(size);
+    }
+
+    static List<com.reliaquest.api.model.MockEmployee> apiEmployees(int size) {
+        return serverEmployees(size).stream()
+                .map(employee -> new com.reliaquest.api.model.MockEmployee(
+                        employee.getId(),
+                        employee.getName(),
+                        employee.getSalary(),
+                        employee.getAge(),
+                        employee.getTitle(),
+                        employee.getEmail()))
+                .toList();
+    }
+}
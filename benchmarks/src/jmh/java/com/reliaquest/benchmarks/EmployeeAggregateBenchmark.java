@@ -0,0 +1,74 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.Histogram;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeColumns;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The mock server's aggregate endpoints over the columnar copy of the store, next to the same aggregates computed from
+ * the boxed employee list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeAggregateBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private List<MockEmployee> employees;
+    private EmployeeColumns columns;
+
+    @Setup
+    public void setUp() {
+        final var store = new MockEmployeeStore(BenchmarkData.serverEmployees(size));
+        employees = store.snapshot();
+        columns = store.columns();
+    }
+
+    @Benchmark
+    public int maxSalaryColumnar() {
+        return columns.max(EmployeeColumns.Attribute.SALARY).orElse(-1);
+    }
+
+    @Benchmark
+    public int maxSalaryBoxed() {
+        return employees.stream()
+                .map(MockEmployee::getSalary)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(-1);
+    }
+
+    @Benchmark
+    public List<MockEmployee> topTenColumnar() {
+        return columns.top(EmployeeColumns.Attribute.SALARY, 10);
+    }
+
+    @Benchmark
+    public List<MockEmployee> topTenBoxed() {
+        return employees.stream()
+                .filter(employee -> employee.getSalary() != null)
+                .sorted(Comparator.comparing(MockEmployee::getSalary).reversed())
+                .limit(10)
+                .toList();
+    }
+
+    @Benchmark
+    public Histogram histogramColumnar() {
+        return columns.histogram(EmployeeColumns.Attribute.SALARY, 20);
+    }
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.api.query.EmployeeNameSearch;
+import com.reliaquest.api.query.EmployeeRankKey;
+import com.reliaquest.api.query.TrigramNameIndex;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The list queries behind {@code EmployeeController}: name search, highest salary and top ten, each next to the
+ * straightforward implementation it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeQueryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private List<MockEmployee> employees;
+    private EmployeeNameSearch nameSearch;
+    private String query;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.apiEmployees(size);
+        nameSearch = new EmployeeNameSearch(false);
+        // A selective query: part of one employee's last name.
+        final String name = employees.get(size / 2).getEmployee_name();
+        query = name.substring(name.lastIndexOf(' ') + 1);
+        nameSearch.search(employees, query);
+    }
+
+    @Benchmark
+    public List<MockEmployee> searchIndexed() {
+        return nameSearch.search(employees, query);
+    }
+
+    @Benchmark
+    public TrigramNameIndex searchIndexBuild() {
+        return new TrigramNameIndex(employees);
+    }
+
+    @Benchmark
+    public List<MockEmployee> searchLinearScan() {
+        return employees.stream()
+                .filter(employee -> employee.getEmployee_name().contains(query))
+                .toList();
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return EmployeeRankKey.SALARY.max(employees).orElse(-1);
+    }
+
+    @Benchmark
+    public List<String> topTen() {
+        return EmployeeRankKey.SALARY.top(employees, 10).stream()
+                .map(MockEmployee::getEmployee_name)
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> topTenBySorting() {
+        return employees.stream()
+                .sorted(Comparator.comparing(MockEmployee::getEmployee_salary).reversed())
+                .limit(10)
+                .map(MockEmployee::getEmployee_name)
+                .toList();
+    }
+}
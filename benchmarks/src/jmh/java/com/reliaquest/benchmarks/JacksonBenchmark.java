@@ -0,0 +1,102 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.reliaquest.api.model.ApiFetchResponse;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization of the employee list on the server and its deserialization in the API, with the object mapper
+ * configuration Spring uses for both. {@code binding} compares the hand-written employee codecs with the reflective
+ * bean binding they replaced, which is restored through mix-ins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonBenchmark {
+
+    private static final TypeReference<Response<List<MockEmployee>>> SERVER_RESPONSE = new TypeReference<>() {};
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"codec", "reflective"})
+    String binding;
+
+    private ObjectMapper objectMapper;
+    private Response<List<MockEmployee>> serverResponse;
+    private ApiFetchResponse apiResponse;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (binding.equals("reflective")) {
+            builder.mixIn(MockEmployee.class, ReflectiveServerEmployee.class)
+                    .mixIn(com.reliaquest.api.model.MockEmployee.class, ReflectiveApiEmployee.class);
+        }
+        objectMapper = builder.build();
+        serverResponse = Response.handledWith(BenchmarkData.serverEmployees(size));
+        json = objectMapper.writeValueAsBytes(serverResponse);
+        apiResponse = objectMapper.readValue(json, ApiFetchResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeServerResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(serverResponse);
+    }
+
+    @Benchmark
+    public Response<List<MockEmployee>> deserializeServerResponse() throws IOException {
+        return objectMapper.readValue(json, SERVER_RESPONSE);
+    }
+
+    @Benchmark
+    public byte[] serializeApiFetchResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(apiResponse);
+    }
+
+    @Benchmark
+    public ApiFetchResponse deserializeApiFetchResponse() throws IOException {
+        return objectMapper.readValue(json, ApiFetchResponse.class);
+    }
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    @JsonNaming(PrefixNamingStrategy.class)
+    abstract static class ReflectiveServerEmployee {}
+
+    @JsonSerialize(using = JsonSerializer.None.class)
+    @JsonDeserialize(using = JsonDeserializer.None.class)
+    abstract static class ReflectiveApiEmployee {}
+
+    /**
+     * The naming strategy the server model used before its codec.
+     */
+    static class PrefixNamingStrategy extends PropertyNamingStrategies.NamingBase {
+
+        @Override
+        public String translate(String propertyName) {
+            return "id".equals(propertyName) ? propertyName : "employee_" + propertyName;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Lookups and deletes on the mock server's employee store, through {@link MockEmployeeService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private List<MockEmployee> employees;
+    private MockEmployeeService service;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.serverEmployees(size);
+        service = new MockEmployeeService(
+                new Faker(Locale.US, new Random(BenchmarkData.SEED)), new MockEmployeeStore(employees));
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return service.findById(employees.get(nextIndex()).getId());
+    }
+
+    /**
+     * Deletes an employee by name and creates it again, so the store keeps its size across iterations.
+     */
+    @Benchmark
+    public MockEmployee deleteAndRecreate() {
+        final var employee = employees.get(nextIndex());
+        final var delete = new DeleteMockEmployeeInput();
+        delete.setName(employee.getName());
+        service.delete(delete);
+
+        final var create = new CreateMockEmployeeInput();
+        create.setName(employee.getName());
+        create.setSalary(employee.getSalary());
+        create.setAge(employee.getAge());
+        create.setTitle(employee.getTitle());
+        return service.create(create);
+    }
+
+    private int nextIndex() {
+        next = next + 1 == size ? 0 : next + 1;
+        return next;
+    }
+}
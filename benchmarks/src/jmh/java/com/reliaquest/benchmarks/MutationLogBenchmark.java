@@ -0,0 +1,65 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.GroupCommitMutationLog;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Durable appends to the mutation log from concurrent writers, as concurrent POSTs make them. Compares syncing as soon
+ * as the previous sync finishes with waiting a commit window for more records to share the sync.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class MutationLogBenchmark {
+
+    @Param({"0", "2000"})
+    long commitWindowMicros;
+
+    private List<MockEmployee> employees;
+    private Path directory;
+    private GroupCommitMutationLog mutationLog;
+
+    @Setup
+    public void setUp() throws IOException {
+        employees = BenchmarkData.serverEmployees(1000);
+        directory = Files.createTempDirectory("mutation-log-benchmark");
+        mutationLog = new GroupCommitMutationLog(
+                directory.resolve("employees.wal"), TimeUnit.MICROSECONDS.toNanos(commitWindowMicros));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mutationLog.close();
+        try (final var files = Files.walk(directory)) {
+            for (final var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public long appendDurably() {
+        final var position = mutationLog.appendCreated(
+                employees.get(ThreadLocalRandom.current().nextInt(employees.size())));
+        mutationLog.awaitDurable(position);
+        return position;
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.benchmarks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.client.EmployeeJsonStreamReader;
+import com.reliaquest.api.model.ApiFetchResponse;
+import com.reliaquest.api.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The API and the mock server bind the shared employee codec to their own models. Writes with one and reads with the
+ * other, so the two bindings cannot drift apart unnoticed.
+ */
+class UpstreamCodecCompatibilityTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private static List<com.reliaquest.server.model.MockEmployee> serverEmployees() {
+        Random random = new Random(17);
+        List<com.reliaquest.server.model.MockEmployee> employees = new ArrayList<>();
+        employees.add(new com.reliaquest.server.model.MockEmployee(
+                UUID.randomUUID(), "Zoë \"Z\" O'Brien\\ 中文 😀", 1, 16, "Tab\tNew\nline", "z@company.com"));
+        employees.add(new com.reliaquest.server.model.MockEmployee(UUID.randomUUID(), null, null, null, null, null));
+        employees.add(new com.reliaquest.server.model.MockEmployee(
+                new UUID(0, 0), "", Integer.MAX_VALUE, 75, "", "\u0000\u001f"));
+        for (int i = 0; i < 100; i++) {
+            employees.add(new com.reliaquest.server.model.MockEmployee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    "Employee " + i,
+                    random.nextInt(1, 1_000_000),
+                    random.nextInt(16, 76),
+                    "Title " + random.nextInt(10),
+                    "employee" + i + "@company.com"));
+        }
+        return employees;
+    }
+
+    private static void assertSameEmployee(com.reliaquest.server.model.MockEmployee expected, MockEmployee actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getEmployee_name());
+        assertEquals(expected.getSalary(), actual.getEmployee_salary());
+        assertEquals(expected.getAge(), actual.getEmployee_age());
+        assertEquals(expected.getTitle(), actual.getEmployee_title());
+        assertEquals(expected.getEmail(), actual.getEmployee_email());
+    }
+
+    @Test
+    void apiReadsWhatServerWrites() throws Exception {
+        List<com.reliaquest.server.model.MockEmployee> expected = serverEmployees();
+        byte[] body = objectMapper.writeValueAsBytes(Response.handledWith(expected));
+
+        List<MockEmployee> bound =
+                objectMapper.readValue(body, ApiFetchResponse.class).getData();
+        List<MockEmployee> streamed = new ArrayList<>();
+        new EmployeeJsonStreamReader(objectMapper).read(new ByteArrayInputStream(body), streamed::add);
+
+        assertEquals(expected.size(), bound.size());
+        assertEquals(expected.size(), streamed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSameEmployee(expected.get(i), bound.get(i));
+            assertSameEmployee(expected.get(i), streamed.get(i));
+        }
+    }
+
+    @Test
+    void serverReadsWhatApiWrites() throws Exception {
+        for (com.reliaquest.server.model.MockEmployee expected : serverEmployees()) {
+            MockEmployee employee = new MockEmployee(
+                    expected.getId(),
+                    expected.getName(),
+                    expected.getSalary(),
+                    expected.getAge(),
+                    expected.getTitle(),
+                    expected.getEmail());
+
+            com.reliaquest.server.model.MockEmployee read = objectMapper.readValue(
+                    objectMapper.writeValueAsBytes(employee), com.reliaquest.server.model.MockEmployee.class);
+
+            assertEquals(expected, read);
+        }
+    }
+}
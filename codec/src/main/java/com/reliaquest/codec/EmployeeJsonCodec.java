@@ -0,0 +1,172 @@
+package com.reliaquest.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Hand-written Jackson codec for the employee wire format shared by the API and the mock server, the bulk of every
+ * list payload. It replaces reflective bean binding: field names are encoded once up front, fields are matched with
+ * a single switch, and ids are converted between characters and {@link UUID} without intermediate Strings. Unknown
+ * fields are skipped and values that are not in their usual shape fall back to Jackson's standard coercion.
+ *
+ * <p>Each module binds it to its own employee model by subclassing {@link Serializer} and {@link Deserializer}.
+ */
+public final class EmployeeJsonCodec {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("employee_name");
+    private static final SerializedString SALARY = new SerializedString("employee_salary");
+    private static final SerializedString AGE = new SerializedString("employee_age");
+    private static final SerializedString TITLE = new SerializedString("employee_title");
+    private static final SerializedString EMAIL = new SerializedString("employee_email");
+
+    private EmployeeJsonCodec() {}
+
+    public abstract static class Serializer<E> extends JsonSerializer<E> {
+
+        private final Class<E> type;
+
+        protected Serializer(Class<E> type) {
+            this.type = type;
+        }
+
+        protected abstract UUID id(E employee);
+
+        protected abstract String name(E employee);
+
+        protected abstract Integer salary(E employee);
+
+        protected abstract Integer age(E employee);
+
+        protected abstract String title(E employee);
+
+        protected abstract String email(E employee);
+
+        @Override
+        public void serialize(E employee, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartObject(employee);
+            generator.writeFieldName(ID);
+            writeUuid(id(employee), generator);
+            generator.writeFieldName(NAME);
+            generator.writeString(name(employee));
+            generator.writeFieldName(SALARY);
+            writeInteger(salary(employee), generator);
+            generator.writeFieldName(AGE);
+            writeInteger(age(employee), generator);
+            generator.writeFieldName(TITLE);
+            generator.writeString(title(employee));
+            generator.writeFieldName(EMAIL);
+            generator.writeString(email(employee));
+            generator.writeEndObject();
+        }
+
+        @Override
+        public Class<E> handledType() {
+            return type;
+        }
+
+        private static void writeUuid(UUID uuid, JsonGenerator generator) throws IOException {
+            if (uuid == null) {
+                generator.writeNull();
+                return;
+            }
+            char[] chars = new char[Uuids.LENGTH];
+            Uuids.write(uuid, chars);
+            generator.writeString(chars, 0, Uuids.LENGTH);
+        }
+
+        private static void writeInteger(Integer value, JsonGenerator generator) throws IOException {
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+    }
+
+    public abstract static class Deserializer<E> extends JsonDeserializer<E> {
+
+        private final Class<E> type;
+
+        protected Deserializer(Class<E> type) {
+            this.type = type;
+        }
+
+        protected abstract E create(UUID id, String name, Integer salary, Integer age, String title, String email);
+
+        @Override
+        public E deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = parser.nextToken();
+            }
+            UUID id = null;
+            String name = null;
+            Integer salary = null;
+            Integer age = null;
+            String title = null;
+            String email = null;
+            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                // Field names come out of the parser's symbol table canonicalized, so the switch mostly hits on the
+                // cached hash and identity.
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> id = readUuid(parser, context);
+                    case "employee_name" -> name = readString(parser, context);
+                    case "employee_salary" -> salary = readInteger(parser, context);
+                    case "employee_age" -> age = readInteger(parser, context);
+                    case "employee_title" -> title = readString(parser, context);
+                    case "employee_email" -> email = readString(parser, context);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                return type.cast(context.handleUnexpectedToken(type, parser));
+            }
+            return create(id, name, salary, age, title, email);
+        }
+
+        @Override
+        public Class<?> handledType() {
+            return type;
+        }
+
+        private static UUID readUuid(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                return null;
+            }
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                UUID uuid = Uuids.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                if (uuid != null) {
+                    return uuid;
+                }
+            }
+            return context.readValue(parser, UUID.class);
+        }
+
+        private static String readString(JsonParser parser, DeserializationContext context) throws IOException {
+            return switch (parser.currentToken()) {
+                case VALUE_STRING -> parser.getText();
+                case VALUE_NULL -> null;
+                default -> context.readValue(parser, String.class);
+            };
+        }
+
+        private static Integer readInteger(JsonParser parser, DeserializationContext context) throws IOException {
+            return switch (parser.currentToken()) {
+                case VALUE_NUMBER_INT -> parser.getIntValue();
+                case VALUE_NULL -> null;
+                default -> context.readValue(parser, Integer.class);
+            };
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.codec;
+
+import java.util.UUID;
+
+/**
+ * Converts UUIDs to and from their canonical 36 character form directly between characters and the two long halves,
+ * without the intermediate Strings and splitting of {@link UUID#fromString(String)} and {@link UUID#toString()}.
+ */
+final class Uuids {
+
+    static final int LENGTH = 36;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private Uuids() {}
+
+    /**
+     * @return the UUID, or {@code null} if the characters are not a canonical UUID
+     */
+    static UUID parse(char[] chars, int offset, int length) {
+        if (length != LENGTH
+                || chars[offset + 8] != '-'
+                || chars[offset + 13] != '-'
+                || chars[offset + 18] != '-'
+                || chars[offset + 23] != '-') {
+            return null;
+        }
+        long most = 0;
+        long least = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                continue;
+            }
+            int digit = hexDigit(chars[offset + i]);
+            if (digit < 0) {
+                return null;
+            }
+            if (i < 19) {
+                most = (most << 4) | digit;
+            } else {
+                least = (least << 4) | digit;
+            }
+        }
+        return new UUID(most, least);
+    }
+
+    /**
+     * Writes the lowercase canonical form of {@code uuid} into the first {@link #LENGTH} characters of {@code chars}.
+     */
+    static void write(UUID uuid, char[] chars) {
+        writeHex(uuid.getMostSignificantBits() >>> 32, chars, 0, 8);
+        chars[8] = '-';
+        writeHex(uuid.getMostSignificantBits() >>> 16, chars, 9, 4);
+        chars[13] = '-';
+        writeHex(uuid.getMostSignificantBits(), chars, 14, 4);
+        chars[18] = '-';
+        writeHex(uuid.getLeastSignificantBits() >>> 48, chars, 19, 4);
+        chars[23] = '-';
+        writeHex(uuid.getLeastSignificantBits(), chars, 24, 12);
+    }
+
+    /**
+     * Like {@code Character.digit(c, 16)}, but only for {@code 0-9a-fA-F}, as Jackson's standard UUID deserializer:
+     * other Unicode digits and fullwidth letters are rejected, not read as hex.
+     *
+     * @return the value of the hex digit, or -1 if {@code c} is none
+     */
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static void writeHex(long bits, char[] chars, int offset, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX[(int) bits & 0xf];
+            bits >>>= 4;
+        }
+    }
+}
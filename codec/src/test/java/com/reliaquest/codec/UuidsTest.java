@@ -0,0 +1,57 @@
+package com.reliaquest.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidsTest {
+
+    private static UUID parse(String string) {
+        return Uuids.parse(string.toCharArray(), 0, string.length());
+    }
+
+    @Test
+    void roundTripsRandomIds() {
+        for (int i = 0; i < 100; i++) {
+            UUID uuid = UUID.randomUUID();
+            char[] chars = new char[Uuids.LENGTH];
+            Uuids.write(uuid, chars);
+
+            assertEquals(uuid.toString(), new String(chars));
+            assertEquals(uuid, parse(uuid.toString()));
+            assertEquals(uuid, parse(uuid.toString().toUpperCase()));
+        }
+    }
+
+    @Test
+    void parsesAtAnOffset() {
+        char[] chars = "[\"0a1b2c3d-4e5f-6789-abcd-ef0123456789\"]".toCharArray();
+
+        assertEquals(UUID.fromString("0a1b2c3d-4e5f-6789-abcd-ef0123456789"), Uuids.parse(chars, 2, Uuids.LENGTH));
+    }
+
+    @Test
+    void rejectsNonAsciiDigitsLikeJacksonDoes() {
+        // Arabic-Indic zero, fullwidth zero and fullwidth A are hex digits to Character.digit, but not to the standard
+        // UUID deserializer that reflective binding used and that the codec falls back to.
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (String digit : new String[] {"\u0660", "\uff10", "\uff21"}) {
+            String id = digit + "a1b2c3d-4e5f-6789-abcd-ef0123456789";
+
+            assertNull(parse(id));
+            assertThrows(InvalidFormatException.class, () -> objectMapper.readValue("\"" + id + "\"", UUID.class));
+        }
+    }
+
+    @Test
+    void rejectsMalformedIds() {
+        assertNull(parse("0a1b2c3d-4e5f-6789-abcd-ef012345678g"));
+        assertNull(parse("0a1b2c3d4e5f-6789-abcd-ef01234567890"));
+        assertNull(parse("0a1b2c3d-4e5f-6789-abcd-ef012345678"));
+    }
+}
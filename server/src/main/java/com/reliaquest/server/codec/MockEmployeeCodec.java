@@ -0,0 +1,63 @@
+package com.reliaquest.server.codec;
+
+import com.reliaquest.codec.EmployeeJsonCodec;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.UUID;
+
+/**
+ * Binds the shared {@link EmployeeJsonCodec} to the server's {@link MockEmployee}, with the {@code employee_}-prefixed
+ * wire names the API expects.
+ */
+public final class MockEmployeeCodec {
+
+    private MockEmployeeCodec() {}
+
+    public static final class Serializer extends EmployeeJsonCodec.Serializer<MockEmployee> {
+
+        public Serializer() {
+            super(MockEmployee.class);
+        }
+
+        @Override
+        protected UUID id(MockEmployee employee) {
+            return employee.getId();
+        }
+
+        @Override
+        protected String name(MockEmployee employee) {
+            return employee.getName();
+        }
+
+        @Override
+        protected Integer salary(MockEmployee employee) {
+            return employee.getSalary();
+        }
+
+        @Override
+        protected Integer age(MockEmployee employee) {
+            return employee.getAge();
+        }
+
+        @Override
+        protected String title(MockEmployee employee) {
+            return employee.getTitle();
+        }
+
+        @Override
+        protected String email(MockEmployee employee) {
+            return employee.getEmail();
+        }
+    }
+
+    public static final class Deserializer extends EmployeeJsonCodec.Deserializer<MockEmployee> {
+
+        public Deserializer() {
+            super(MockEmployee.class);
+        }
+
+        @Override
+        protected MockEmployee create(UUID id, String name, Integer salary, Integer age, String title, String email) {
+            return new MockEmployee(id, name, salary, age, title, email);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import lombok.Getter;
+import net.datafaker.Faker;
+
+/**
+ * Generates large mock employee datasets quickly and reproducibly.
+ *
+ * <p>Names, titles and usernames are drawn once from a seeded {@link Faker} into fixed-size dictionaries. Each
+ * employee is then built from its own {@link SplittableRandom}, derived from the seed and the employee's index, so
+ * employees can be generated in parallel and the same seed and locale always produce the same dataset.
+ */
+public class MockEmployeeGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    @Getter
+    private final long seed;
+
+    private final String[] names;
+    private final String[] titles;
+    private final String[] usernames;
+
+    public MockEmployeeGenerator(Locale locale, long seed, int dictionarySize) {
+        if (dictionarySize < 1) {
+            throw new IllegalArgumentException("Dictionary size must be positive: " + dictionarySize);
+        }
+        this.seed = seed;
+        final var faker = new Faker(locale, new Random(seed));
+        this.names = dictionary(dictionarySize, () -> faker.name().fullName());
+        this.titles = dictionary(dictionarySize, () -> faker.job().title());
+        this.usernames =
+                dictionary(dictionarySize, () -> faker.twitter().userName().toLowerCase());
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var employees = new MockEmployee[count];
+        IntStream.range(0, count).parallel().forEach(index -> employees[index] = generate(index, count));
+        return Arrays.asList(employees);
+    }
+
+    private MockEmployee generate(int index, int count) {
+        final var random = new SplittableRandom(mix(seed + GOLDEN_GAMMA * (index + 1L)));
+        final var id = new UUID(
+                (random.nextLong() & ~0xF000L) | 0x4000L, // version 4
+                (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L); // IETF variant
+        return MockEmployee.builder()
+                .id(id)
+                .name(names[random.nextInt(names.length)])
+                .salary(random.nextInt(30000, 500000))
+                .age(random.nextInt(16, 70))
+                .title(titles[random.nextInt(titles.length)])
+                .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(username(random, index, count)))
+                .build();
+    }
+
+    private String username(SplittableRandom random, int index, int count) {
+        final var username = usernames[random.nextInt(usernames.length)];
+        // Once the dataset outgrows the dictionary, keep addresses unique by suffixing the index.
+        return count <= usernames.length ? username : username + index;
+    }
+
+    private static String[] dictionary(int size, Supplier<String> generator) {
+        final var values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = generator.get();
+        }
+        return values;
+    }
+
+    // Stafford variant 13 of the MurmurHash3 finalizer, as used by SplittableRandom itself.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
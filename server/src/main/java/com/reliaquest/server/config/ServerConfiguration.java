@@ -1,18 +1,21 @@
 package com.reliaquest.server.config;
 
 import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import com.reliaquest.server.persistence.MockEmployeePersistence;
+import com.reliaquest.server.persistence.MutationLog;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,39 +24,68 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final RateLimitInterceptor rateLimitInterceptor;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * Seed data for the store; CRUD operations go through the store, not this list.
+     * Set mock.employees.seed to reproduce a dataset; without it a random seed is used and logged.
+     * With persistence enabled, a previously saved dataset is loaded instead of generating one.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public List<MockEmployee> mockEmployees(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.dictionary-size:4096}") int dictionarySize,
+            Optional<MockEmployeePersistence> persistence) {
+        final var persisted = persistence.flatMap(MockEmployeePersistence::load);
+        if (persisted.isPresent()) {
+            return persisted.get();
+        }
+        final var start = System.nanoTime();
+        final var generator = new MockEmployeeGenerator(
+                Locale.getDefault(),
+                Objects.requireNonNullElseGet(seed, () -> new Random().nextLong()),
+                dictionarySize);
+        final var mockEmployees = generator.generate(maxEmployees);
+        log.info(
+                "Generated {} employee(s) with seed {} in {}ms",
+                mockEmployees.size(),
+                generator.getSeed(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        persistence.ifPresent(mockEmployeePersistence -> mockEmployeePersistence.save(mockEmployees));
+        return mockEmployees;
+    }
+
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            List<MockEmployee> mockEmployees,
+            Optional<MockEmployeePersistence> persistence,
+            @Value("${mock.employees.changes.capacity:10000}") int changeLogCapacity) {
+        return new MockEmployeeStore(
+                mockEmployees,
+                persistence.map(MockEmployeePersistence::mutationLog).orElse(MutationLog.NONE),
+                changeLogCapacity);
+    }
+
+    @Bean
+    public MeterBinder mockEmployeeStoreMetrics(MockEmployeeStore mockEmployeeStore) {
+        return registry -> Gauge.builder("mock.employees.store.size", mockEmployeeStore, MockEmployeeStore::size)
+                .description("Employees currently in the store")
+                .register(registry);
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(rateLimitInterceptor);
     }
 }
@@ -1,15 +1,29 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeesInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeesInput;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.Histogram;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.EmployeeColumns;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import java.io.BufferedOutputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +31,171 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public static final String CHANGE_EPOCH_HEADER = "X-Change-Epoch";
+
+    public static final String CHANGE_SEQUENCE_HEADER = "X-Change-Sequence";
+
     private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    @Value("${mock.employees.page.max-limit:1000}")
+    private int maxPageLimit;
+
+    @Value("${mock.employees.batch.max-size:1000}")
+    private int maxBatchSize;
 
+    @Value("${mock.employees.aggregate.max-size:1000}")
+    private int maxAggregateSize;
+
+    @Value("${mock.employees.changes.max-wait:30s}")
+    private Duration maxChangesWait;
+
+    /*
+     * Tagged with the store version, so a client that still holds this version can revalidate with If-None-Match:
+     * Spring answers a match with a 304 and skips writing the body. The X-Change-Epoch and X-Change-Sequence headers
+     * say where to follow /changes from to keep the list current.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees() {
+        final var snapshot = mockEmployeeService.getVersionedMockEmployees();
+        return ResponseEntity.ok()
+                .eTag(etag(snapshot.version()))
+                .header(CHANGE_EPOCH_HEADER, epoch)
+                .header(CHANGE_SEQUENCE_HEADER, Long.toString(snapshot.version()))
+                .body(Response.handledWith(snapshot.employees()));
+    }
+
+    /*
+     * Long poll of the creates and deletes after the store version `since`, oldest first. Answers as soon as there are
+     * any, or with an empty list once `wait` seconds have passed, without holding a request thread meanwhile. The next
+     * poll continues from the sequence of the last change received. A `since` the change log cannot continue from,
+     * because its changes were evicted or it comes from before a restart (a different `epoch`), gets a 410: the
+     * client has to start over from the full list.
+     */
+    @GetMapping("/changes")
+    public DeferredResult<ResponseEntity<Response<List<EmployeeChange>>>> getChanges(
+            @RequestParam("since") long since,
+            @RequestParam(value = "epoch", required = false) String clientEpoch,
+            @RequestParam(value = "wait", defaultValue = "0") int waitSeconds,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        final var result = new DeferredResult<ResponseEntity<Response<List<EmployeeChange>>>>(
+                TimeUnit.SECONDS.toMillis(Math.max(1, waitSeconds)),
+                ResponseEntity.ok(Response.handledWith(List.of())));
+        if (limit < 1 || limit > maxPageLimit) {
+            result.setResult(ResponseEntity.badRequest()
+                    .body(Response.error("limit must be between 1 and " + maxPageLimit)));
+            return result;
+        }
+        if (waitSeconds < 0 || waitSeconds > maxChangesWait.toSeconds()) {
+            result.setResult(ResponseEntity.badRequest()
+                    .body(Response.error("wait must be between 0 and " + maxChangesWait.toSeconds())));
+            return result;
+        }
+        if (clientEpoch != null && !clientEpoch.equals(epoch)) {
+            result.setResult(changesGone("Change log epoch " + clientEpoch + " has ended"));
+            return result;
+        }
+        final var changes = mockEmployeeService.getChanges(since, limit);
+        if (changes.isEmpty()) {
+            result.setResult(changesGone("Change log cannot continue from " + since));
+        } else if (!changes.get().isEmpty() || waitSeconds == 0) {
+            result.setResult(ResponseEntity.ok(Response.handledWith(changes.get())));
+        } else {
+            result.onCompletion(mockEmployeeService.awaitChanges(
+                    since,
+                    () -> result.setResult(mockEmployeeService
+                            .getChanges(since, limit)
+                            .map(later -> ResponseEntity.ok(Response.handledWith(later)))
+                            .orElseGet(() -> changesGone("Change log cannot continue from " + since)))));
+        }
+        return result;
+    }
+
+    /*
+     * One employee per line, written straight to the response from a snapshot of the store. The first line is
+     * flushed immediately; the rest go out as the buffer fills.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        final var employees = mockEmployeeService.getMockEmployees();
+        final StreamingResponseBody body = outputStream -> {
+            try (final var generator =
+                    objectMapper.getFactory().createGenerator(new BufferedOutputStream(outputStream))) {
+                // Closing flushes the buffer; the response stream itself is left for the container to close.
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines are terminated explicitly, not separated by the default space between root values.
+                generator.setRootValueSeparator(null);
+                for (int i = 0; i < employees.size(); i++) {
+                    generator.writeObject(employees.get(i));
+                    generator.writeRaw('\n');
+                    if (i == 0) {
+                        generator.flush();
+                    }
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /*
+     * Same body as the full list, limited to one page. The cursor of the next page, if any, is sent in the
+     * X-Next-Cursor header.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployeePage(
+            @RequestParam("limit") int limit, @RequestParam(value = "cursor", required = false) String cursor) {
+        if (limit < 1 || limit > maxPageLimit) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be between 1 and " + maxPageLimit));
+        }
+        final MockEmployeePage page;
+        try {
+            page = mockEmployeeService.getMockEmployees(cursor, limit);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+        }
+        final var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(Response.handledWith(page.employees()));
+    }
+
+    /*
+     * Aggregates computed on the server, so a client needs a few bytes instead of the whole list. The attribute is
+     * salary or age. The data of max is null when no employee has a value.
+     */
+    @GetMapping("/aggregate/{attribute}/max")
+    public ResponseEntity<Response<Integer>> getMax(@PathVariable("attribute") String attribute) {
+        return aggregate(attribute, 1, parsed -> {
+            final var max = mockEmployeeService.max(parsed);
+            return max.isPresent() ? max.getAsInt() : null;
+        });
+    }
+
+    @GetMapping("/aggregate/{attribute}/top")
+    public ResponseEntity<Response<List<MockEmployee>>> getTop(
+            @PathVariable("attribute") String attribute, @RequestParam(value = "n", defaultValue = "10") int n) {
+        return aggregate(attribute, n, parsed -> mockEmployeeService.top(parsed, n));
+    }
+
+    @GetMapping("/aggregate/{attribute}/histogram")
+    public ResponseEntity<Response<Histogram>> getHistogram(
+            @PathVariable("attribute") String attribute,
+            @RequestParam(value = "buckets", defaultValue = "10") int buckets) {
+        return aggregate(attribute, buckets, parsed -> mockEmployeeService.histogram(parsed, buckets));
     }
 
     @GetMapping("/{id}")
@@ -44,8 +211,65 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<MockEmployee>>> createEmployees(
+            @Valid @RequestBody CreateMockEmployeesInput input) {
+        if (input.getEmployees().size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body(Response.error("At most " + maxBatchSize + " employees per batch"));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.createAll(input.getEmployees())));
+    }
+
+    /*
+     * The data lists the deleted employees in the order of the given ids, with null for ids that were not found.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<Response<List<MockEmployee>>> deleteEmployees(
+            @Valid @RequestBody DeleteMockEmployeesInput input) {
+        if (input.getIds().size() > maxBatchSize) {
+            return ResponseEntity.badRequest().body(Response.error("At most " + maxBatchSize + " ids per batch"));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.deleteAll(input.getIds())));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /**
+     * Versions restart with the process, so the tag also carries when this controller started; a restarted server
+     * never matches a tag issued before the restart. Weak, because it names the list, not its bytes: the compressed
+     * and the plain response carry the same tag.
+     */
+    private String etag(long version) {
+        return "W/\"" + epoch + "-" + version + "\"";
+    }
+
+    private static <T> ResponseEntity<Response<T>> changesGone(String error) {
+        return ResponseEntity.status(HttpStatus.GONE).body(Response.error(error));
+    }
+
+    private <T> ResponseEntity<Response<T>> aggregate(
+            String attribute, int size, Function<EmployeeColumns.Attribute, T> aggregate) {
+        final EmployeeColumns.Attribute parsed;
+        try {
+            parsed = EmployeeColumns.Attribute.fromParameter(attribute);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Response.error("Unsupported attribute: " + attribute));
+        }
+        if (size < 1 || size > maxAggregateSize) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("n and buckets must be between 1 and " + maxAggregateSize));
+        }
+        return ResponseEntity.ok(Response.handledWith(aggregate.apply(parsed)));
+    }
 }
@@ -1,8 +1,10 @@
 package com.reliaquest.server.controller;
 
 import com.reliaquest.server.model.Response;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -10,6 +12,19 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 @ControllerAdvice
 public class MockEmployeeControllerAdvice {
 
+    /*
+     * Names every invalid field, e.g. "employees[3].age must be greater than or equal to 16", so a batch client can
+     * tell which items to fix.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<?> handleInvalidInput(MethodArgumentNotValidException ex) {
+        final var error = ex.getBindingResult().getFieldErrors().stream()
+                .map(fieldError -> fieldError.getField() + " " + fieldError.getDefaultMessage())
+                .collect(Collectors.joining("; "));
+        log.debug("Invalid input: {}", error);
+        return ResponseEntity.badRequest().body(Response.error(error.isEmpty() ? "Invalid input" : error));
+    }
+
     @ExceptionHandler
     protected ResponseEntity<?> handleException(Throwable ex) {
         log.error("Error handling web request.", ex);
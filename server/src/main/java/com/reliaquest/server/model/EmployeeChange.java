@@ -0,0 +1,19 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * One create or delete in the store's change log.
+ *
+ * @param sequence the store version this change produced
+ * @param employee the created employee; {@code null} for deletions
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeChange(long sequence, Type type, UUID id, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
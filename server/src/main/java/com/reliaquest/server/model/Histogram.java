@@ -0,0 +1,7 @@
+package com.reliaquest.server.model;
+
+/**
+ * Counts of values in consecutive buckets of equal width; bucket {@code i} covers
+ * {@code [lowerBound + i * bucketWidth, lowerBound + (i + 1) * bucketWidth)}.
+ */
+public record Histogram(int lowerBound, long bucketWidth, long[] counts) {}
@@ -1,7 +1,8 @@
 package com.reliaquest.server.model;
 
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.reliaquest.server.codec.MockEmployeeCodec;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -11,7 +12,8 @@ import lombok.NonNull;
 @Data
 @AllArgsConstructor
 @Builder(toBuilder = true)
-@JsonNaming(MockEmployee.PrefixNamingStrategy.class)
+@JsonSerialize(using = MockEmployeeCodec.Serializer.class)
+@JsonDeserialize(using = MockEmployeeCodec.Deserializer.class)
 public class MockEmployee {
 
     private UUID id;
@@ -31,15 +33,4 @@ public class MockEmployee {
                 .title(input.getTitle())
                 .build();
     }
-
-    static class PrefixNamingStrategy extends PropertyNamingStrategies.NamingBase {
-
-        @Override
-        public String translate(String propertyName) {
-            if ("id".equals(propertyName)) {
-                return propertyName;
-            }
-            return "employee_" + propertyName;
-        }
-    }
 }
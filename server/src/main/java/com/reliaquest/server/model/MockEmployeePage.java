@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * @param nextCursor opaque cursor of the following page, or {@code null} if this is the last page
+ */
+public record MockEmployeePage(List<MockEmployee> employees, String nextCursor) {}
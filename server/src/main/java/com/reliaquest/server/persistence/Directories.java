@@ -0,0 +1,30 @@
+package com.reliaquest.server.persistence;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class Directories {
+
+    private Directories() {}
+
+    /**
+     * Syncs the entries of {@code directory}, making files created, renamed or deleted in it durable. A no-op on
+     * platforms, like Windows, that cannot open a directory; those persist such changes with the files themselves.
+     */
+    static void sync(Path directory) throws IOException {
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException ex) {
+            if (System.getProperty("os.name", "").startsWith("Windows")) {
+                return;
+            }
+            throw ex;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Binary snapshot of the employee list, read through a memory mapping.
+ *
+ * <pre>
+ * header   magic (int) | format version (int) | employee count (long) | string table position (long)
+ * records  one 40 byte record per employee, in store order:
+ *          id most significant bits (long) | id least significant bits (long) | salary (int) | age (int)
+ *          | name (int) | title (int) | email (int) | null flags (int)
+ * strings  string count (int) | count + 1 offsets into the UTF-8 data (int) | UTF-8 data
+ * </pre>
+ *
+ * String fields hold an index into the string table, or {@code -1} for {@code null}. Each distinct string is stored
+ * once and decoded once per read, so employees sharing a name or title share the String instance. Numbers are
+ * big-endian. Files are replaced atomically, so a reader never sees a partial snapshot, and durably: {@link #write}
+ * returns once the new snapshot survives a crash.
+ */
+public class EmployeeSnapshotFile {
+
+    private static final int MAGIC = 0x4D454D50; // "MEMP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int RECORD_SIZE = 40;
+    private static final int NO_STRING = -1;
+    private static final int NULL_SALARY = 1;
+    private static final int NULL_AGE = 2;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    @Getter
+    private final Path path;
+
+    public EmployeeSnapshotFile(@NonNull Path path) {
+        this.path = path;
+    }
+
+    public boolean exists() {
+        return Files.isRegularFile(path);
+    }
+
+    /**
+     * @throws IOException if the file cannot be read or is not a snapshot in this format
+     */
+    public List<MockEmployee> read() throws IOException {
+        final ByteBuffer buffer;
+        try (final var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " exceeds the 2GB a single mapping can hold");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(path + " is not an employee snapshot");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported employee snapshot version " + buffer.getInt(4) + " in " + path);
+        }
+        final var count = Math.toIntExact(buffer.getLong(8));
+        final var strings = new StringTable(buffer, Math.toIntExact(buffer.getLong(16)));
+        final var employees = new ArrayList<MockEmployee>(count);
+        for (int i = 0; i < count; i++) {
+            final var record = HEADER_SIZE + i * RECORD_SIZE;
+            final var nulls = buffer.getInt(record + 36);
+            employees.add(new MockEmployee(
+                    new UUID(buffer.getLong(record), buffer.getLong(record + 8)),
+                    strings.get(buffer.getInt(record + 24)),
+                    (nulls & NULL_SALARY) != 0 ? null : buffer.getInt(record + 16),
+                    (nulls & NULL_AGE) != 0 ? null : buffer.getInt(record + 20),
+                    strings.get(buffer.getInt(record + 28)),
+                    strings.get(buffer.getInt(record + 32))));
+        }
+        return employees;
+    }
+
+    /**
+     * Writes the employees to a temporary file next to the snapshot and then moves it into place.
+     */
+    public void write(@NonNull List<MockEmployee> employees) throws IOException {
+        final var parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (final var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                final var buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+                buffer.putInt(MAGIC)
+                        .putInt(FORMAT_VERSION)
+                        .putLong(employees.size())
+                        .putLong(HEADER_SIZE + (long) employees.size() * RECORD_SIZE);
+                final var strings = new StringTableBuilder();
+                for (final var employee : employees) {
+                    if (buffer.remaining() < RECORD_SIZE) {
+                        drain(buffer, channel);
+                    }
+                    buffer.putLong(employee.getId().getMostSignificantBits())
+                            .putLong(employee.getId().getLeastSignificantBits())
+                            .putInt(employee.getSalary() == null ? 0 : employee.getSalary())
+                            .putInt(employee.getAge() == null ? 0 : employee.getAge())
+                            .putInt(strings.indexOf(employee.getName()))
+                            .putInt(strings.indexOf(employee.getTitle()))
+                            .putInt(strings.indexOf(employee.getEmail()))
+                            .putInt((employee.getSalary() == null ? NULL_SALARY : 0)
+                                    | (employee.getAge() == null ? NULL_AGE : 0));
+                }
+                strings.writeTo(buffer, channel);
+                drain(buffer, channel);
+                channel.force(false);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // The rename is only durable once the directory is synced; until then a crash could bring back the old
+            // snapshot after the log segments it needs were deleted.
+            Directories.sync(parent);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static final class StringTable {
+
+        private final ByteBuffer buffer;
+        private final int offsets;
+        private final int data;
+        private final String[] decoded;
+        private byte[] scratch = new byte[64];
+
+        private StringTable(ByteBuffer buffer, int position) {
+            final var count = buffer.getInt(position);
+            this.buffer = buffer;
+            this.offsets = position + 4;
+            this.data = offsets + (count + 1) * 4;
+            this.decoded = new String[count];
+        }
+
+        private String get(int index) {
+            if (index == NO_STRING) {
+                return null;
+            }
+            var string = decoded[index];
+            if (string == null) {
+                final var start = buffer.getInt(offsets + index * 4);
+                final var length = buffer.getInt(offsets + (index + 1) * 4) - start;
+                if (scratch.length < length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                buffer.get(data + start, scratch, 0, length);
+                string = new String(scratch, 0, length, StandardCharsets.UTF_8);
+                decoded[index] = string;
+            }
+            return string;
+        }
+    }
+
+    private static final class StringTableBuilder {
+
+        private final HashMap<String, Integer> indexes = new HashMap<>();
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private int[] offsets = new int[1024];
+
+        private int indexOf(String string) {
+            if (string == null) {
+                return NO_STRING;
+            }
+            return indexes.computeIfAbsent(string, ignored -> {
+                final var index = indexes.size();
+                if (index + 1 == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                data.writeBytes(string.getBytes(StandardCharsets.UTF_8));
+                offsets[index + 1] = data.size();
+                return index;
+            });
+        }
+
+        private void writeTo(ByteBuffer buffer, FileChannel channel) throws IOException {
+            if (buffer.remaining() < 4) {
+                drain(buffer, channel);
+            }
+            buffer.putInt(indexes.size());
+            for (int i = 0; i <= indexes.size(); i++) {
+                if (buffer.remaining() < 4) {
+                    drain(buffer, channel);
+                }
+                buffer.putInt(offsets[i]);
+            }
+            drain(buffer, channel);
+            data.writeTo(Channels.newOutputStream(channel));
+        }
+    }
+}
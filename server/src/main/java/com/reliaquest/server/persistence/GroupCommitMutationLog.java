@@ -0,0 +1,480 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only {@link MutationLog} split into numbered segment files ({@code <prefix>.1}, {@code <prefix>.2}, ...).
+ *
+ * <p>Appends only copy the record into an in-memory batch. A single flusher thread writes the batch and syncs it with
+ * one {@code fsync}. Records appended while a sync is in progress join the next batch, so concurrent mutations share
+ * syncs instead of paying for one each; a non-zero commit window also holds every sync back that long to gather more.
+ *
+ * <p>Each record is framed as {@code length (int) | CRC32 (int) | payload}, so replay stops cleanly at a record torn by
+ * a crash. Replay is idempotent: a creation of an id that is already present, or a deletion of one that is absent,
+ * changes nothing. That lets {@link #rotate()} start a new segment without coordinating with the snapshot that will
+ * make the old ones redundant.
+ *
+ * <p>The first failed write or sync fails the log for good: the segment is cut back to the last synced record, the
+ * batch is dropped, and every later append or wait throws. After a failed {@code fsync} it is unknown which written
+ * pages reached the disk, so a retry could not tell what it made durable, and a record whose caller was told it
+ * failed must not come back on replay.
+ */
+@Slf4j
+public class GroupCommitMutationLog implements MutationLog, Closeable {
+
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    private static final int NULL_STRING = -1;
+    private static final int NULL_SALARY = 1;
+    private static final int NULL_AGE = 2;
+
+    private final Path prefix;
+    private final long commitWindowNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition synced = lock.newCondition();
+
+    // Guarded by lock.
+    private ByteArrayOutputStream batch = new ByteArrayOutputStream();
+    private long appendedPosition;
+    private long durablePosition;
+    private IOException failure;
+    private FileChannel segment;
+    private long segmentNumber;
+    private final List<FileChannel> retiredSegments = new ArrayList<>();
+    private boolean closed;
+
+    private final Thread flusher;
+
+    /**
+     * Starts a new segment after the highest existing one.
+     */
+    public GroupCommitMutationLog(@NonNull Path prefix, long commitWindowNanos) throws IOException {
+        this.prefix = prefix.toAbsolutePath();
+        this.commitWindowNanos = commitWindowNanos;
+        Files.createDirectories(this.prefix.getParent());
+        final var existing = segments(this.prefix);
+        segmentNumber = existing.isEmpty() ? 1 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+        segment = openSegment(segmentNumber);
+        flusher = new Thread(this::flushLoop, "mutation-log-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public long appendCreated(@NonNull MockEmployee employee) {
+        final var payload = new ByteArrayOutputStream(128);
+        try (final var out = new DataOutputStream(payload)) {
+            out.writeByte(CREATED);
+            writeId(out, employee.getId());
+            out.writeInt(employee.getSalary() == null ? 0 : employee.getSalary());
+            out.writeInt(employee.getAge() == null ? 0 : employee.getAge());
+            out.writeByte(
+                    (employee.getSalary() == null ? NULL_SALARY : 0) | (employee.getAge() == null ? NULL_AGE : 0));
+            writeString(out, employee.getName());
+            writeString(out, employee.getTitle());
+            writeString(out, employee.getEmail());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return append(payload);
+    }
+
+    @Override
+    public long appendDeleted(@NonNull UUID id) {
+        final var payload = new ByteArrayOutputStream(17);
+        try (final var out = new DataOutputStream(payload)) {
+            out.writeByte(DELETED);
+            writeId(out, id);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return append(payload);
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        lock.lock();
+        try {
+            while (durablePosition < position && failure == null) {
+                synced.awaitUninterruptibly();
+            }
+            if (durablePosition < position) {
+                throw new UncheckedIOException("Mutation log " + prefix + " failed", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Directs later syncs to a new segment. Every record in an earlier segment was appended before this call, so a
+     * snapshot taken after it includes their mutations and makes those segments redundant.
+     */
+    public void rotate() throws IOException {
+        lock.lock();
+        try {
+            final var next = openSegment(segmentNumber + 1);
+            // Records still in the batch go to the new segment; the flusher closes the old one after its current sync.
+            retiredSegments.add(segment);
+            segment = next;
+            segmentNumber++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments before the current one.
+     */
+    public void deleteRetiredSegments() throws IOException {
+        final long current;
+        lock.lock();
+        try {
+            current = segmentNumber;
+        } finally {
+            lock.unlock();
+        }
+        for (final var segment : segments(prefix)) {
+            if (segmentNumber(segment) < current) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    /**
+     * @return the number of records appended since the log was opened
+     */
+    public long appendedPosition() {
+        lock.lock();
+        try {
+            return appendedPosition;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Syncs what has been appended and stops the flusher.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            for (final var channel : retiredSegments) {
+                channel.close();
+            }
+            segment.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies every record of every segment under {@code prefix}, oldest first, to {@code employees}.
+     *
+     * @return the number of records applied
+     */
+    public static long replay(@NonNull Path prefix, @NonNull Map<UUID, MockEmployee> employees) throws IOException {
+        long count = 0;
+        for (final var segment : segments(prefix.toAbsolutePath())) {
+            count += replaySegment(segment, employees);
+        }
+        return count;
+    }
+
+    /**
+     * Deletes every segment under {@code prefix}; only for a log that is not open.
+     */
+    public static void deleteSegments(@NonNull Path prefix) throws IOException {
+        for (final var segment : segments(prefix.toAbsolutePath())) {
+            Files.deleteIfExists(segment);
+        }
+    }
+
+    private long append(ByteArrayOutputStream payload) {
+        final var crc = new CRC32();
+        crc.update(payload.toByteArray());
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Mutation log " + prefix + " is closed");
+            }
+            if (failure != null) {
+                throw new UncheckedIOException("Mutation log " + prefix + " failed", failure);
+            }
+            final var out = new DataOutputStream(batch);
+            out.writeInt(payload.size());
+            out.writeInt((int) crc.getValue());
+            payload.writeTo(out);
+            appended.signal();
+            return ++appendedPosition;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        lock.lock();
+        try {
+            while (true) {
+                while (batch.size() == 0 && !closed) {
+                    appended.awaitUninterruptibly();
+                }
+                if (batch.size() == 0) {
+                    return;
+                }
+                // Give concurrent mutations the commit window to join this sync.
+                var remaining = commitWindowNanos;
+                while (remaining > 0 && !closed) {
+                    remaining = appended.awaitNanos(remaining);
+                }
+                final var bytes = batch;
+                final var position = appendedPosition;
+                final var target = segment;
+                final var retired = List.copyOf(retiredSegments);
+                retiredSegments.clear();
+                batch = new ByteArrayOutputStream(bytes.size());
+                lock.unlock();
+                final IOException error;
+                try {
+                    error = flush(target, bytes, retired);
+                } finally {
+                    lock.lock();
+                }
+                if (error != null) {
+                    log.error("Failed to sync mutation log {}; rejecting further mutations", prefix, error);
+                    // Still open; close() closes them.
+                    retiredSegments.addAll(retired);
+                    fail(error);
+                    return;
+                }
+                durablePosition = position;
+                synced.signalAll();
+            }
+        } catch (InterruptedException ex) {
+            // Nothing syncs from here on; fail the waiting and later callers instead of leaving them blocked.
+            fail(new InterruptedIOException("Mutation log flusher was interrupted"));
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes and syncs a batch, then closes the segments retired before it. A batch that fails is cut off the segment
+     * again, so neither a torn frame nor a record whose caller is told it failed is left for replay.
+     *
+     * @return the failure, or {@code null} once the batch is durable
+     */
+    private IOException flush(FileChannel target, ByteArrayOutputStream bytes, List<FileChannel> retired) {
+        final long durableSize;
+        try {
+            // Every earlier write to this segment was synced, or the log would have failed already.
+            durableSize = target.size();
+        } catch (IOException ex) {
+            return ex;
+        }
+        try {
+            final var buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            sync(target);
+        } catch (IOException ex) {
+            try {
+                target.truncate(durableSize);
+                target.force(false);
+            } catch (IOException truncateFailure) {
+                ex.addSuppressed(truncateFailure);
+            }
+            return ex;
+        }
+        try {
+            for (final var channel : retired) {
+                channel.close();
+            }
+        } catch (IOException ex) {
+            return ex;
+        }
+        return null;
+    }
+
+    // Package-private so tests can make a sync fail.
+    void sync(FileChannel channel) throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Drops the records nobody will sync and wakes their waiters with {@code error}, as will every later call.
+     */
+    private void fail(IOException error) {
+        failure = error;
+        batch = new ByteArrayOutputStream();
+        synced.signalAll();
+    }
+
+    /**
+     * Creates the segment and syncs its directory entry, without which a crash could lose the file with every record
+     * synced to it.
+     */
+    private FileChannel openSegment(long number) throws IOException {
+        final var channel = FileChannel.open(
+                Path.of(prefix + "." + number),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        try {
+            Directories.sync(prefix.getParent());
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        return channel;
+    }
+
+    private static long replaySegment(Path segment, Map<UUID, MockEmployee> employees) throws IOException {
+        long count = 0;
+        // A crash can leave the tail zero-filled or full of garbage, so a length is only trusted once it is positive
+        // and fits in what is left of the file; an empty payload would pass its checksum, as the CRC32 of nothing is 0.
+        var remaining = Files.size(segment);
+        try (final var in = new DataInputStream(Files.newInputStream(segment))) {
+            while (true) {
+                final byte[] payload;
+                try {
+                    final var length = in.readInt();
+                    final var expectedCrc = in.readInt();
+                    remaining -= 8;
+                    if (length <= 0 || length > remaining) {
+                        log.warn("Ignoring torn record at the end of {}", segment);
+                        return count;
+                    }
+                    payload = in.readNBytes(length);
+                    remaining -= length;
+                    final var crc = new CRC32();
+                    crc.update(payload);
+                    if (payload.length != length || (int) crc.getValue() != expectedCrc) {
+                        log.warn("Ignoring torn record at the end of {}", segment);
+                        return count;
+                    }
+                } catch (EOFException ex) {
+                    return count;
+                }
+                try {
+                    apply(new DataInputStream(new ByteArrayInputStream(payload)), employees);
+                } catch (EOFException ex) {
+                    // apply reads the whole record before changing anything, so a short one leaves employees as is.
+                    log.warn("Ignoring truncated record at the end of {}", segment);
+                    return count;
+                }
+                count++;
+            }
+        }
+    }
+
+    private static void apply(DataInputStream record, Map<UUID, MockEmployee> employees) throws IOException {
+        final var type = record.readByte();
+        final var id = new UUID(record.readLong(), record.readLong());
+        if (type == DELETED) {
+            employees.remove(id);
+            return;
+        }
+        final var salary = record.readInt();
+        final var age = record.readInt();
+        final var nulls = record.readByte();
+        employees.putIfAbsent(
+                id,
+                new MockEmployee(
+                        id,
+                        readString(record),
+                        (nulls & NULL_SALARY) != 0 ? null : salary,
+                        (nulls & NULL_AGE) != 0 ? null : age,
+                        readString(record),
+                        readString(record)));
+    }
+
+    private static List<Path> segments(Path prefix) throws IOException {
+        final var directory = prefix.getParent();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        final var name = prefix.getFileName() + ".";
+        try (final var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(name))
+                    .filter(file -> segmentNumber(file) > 0)
+                    .sorted((a, b) -> Long.compare(segmentNumber(a), segmentNumber(b)))
+                    .toList();
+        }
+    }
+
+    private static long segmentNumber(Path segment) {
+        final var name = segment.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private static void writeId(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(NULL_STRING);
+            return;
+        }
+        final var bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        final var length = in.readInt();
+        return length == NULL_STRING ? null : new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+}
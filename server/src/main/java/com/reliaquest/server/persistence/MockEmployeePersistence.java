@@ -0,0 +1,181 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the employee dataset across restarts in an {@link EmployeeSnapshotFile} plus a {@link GroupCommitMutationLog}
+ * of the creates and deletes made since. The first start writes the generated dataset; later starts map the snapshot
+ * and replay the log instead of generating. The log is periodically compacted into a new snapshot, and once more on a
+ * graceful shutdown. Enabled with {@code mock.persistence.enabled}; with {@code mock.persistence.wal.enabled} off,
+ * only the shutdown snapshot is kept.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+public class MockEmployeePersistence {
+
+    private final EmployeeSnapshotFile snapshotFile;
+    private final Path logPath;
+    private final boolean logEnabled;
+    private final Duration commitWindow;
+    private final Duration compactionInterval;
+    private final ObjectProvider<MockEmployeeStore> store;
+
+    private GroupCommitMutationLog mutationLog;
+    private ScheduledExecutorService compactor;
+    private long compactedPosition;
+
+    public MockEmployeePersistence(
+            @Value("${mock.persistence.path:data/employees.bin}") Path path,
+            @Value("${mock.persistence.wal.enabled:true}") boolean logEnabled,
+            @Value("${mock.persistence.wal.path:data/employees.wal}") Path logPath,
+            @Value("${mock.persistence.wal.commit-window:0ms}") Duration commitWindow,
+            @Value("${mock.persistence.compaction-interval:5m}") Duration compactionInterval,
+            ObjectProvider<MockEmployeeStore> store) {
+        this.snapshotFile = new EmployeeSnapshotFile(path);
+        this.logEnabled = logEnabled;
+        this.logPath = logPath;
+        this.commitWindow = commitWindow;
+        this.compactionInterval = compactionInterval;
+        this.store = store;
+    }
+
+    /**
+     * @return the persisted employees with the logged mutations applied, or empty if nothing has been persisted yet
+     */
+    public Optional<List<MockEmployee>> load() {
+        try {
+            if (!snapshotFile.exists()) {
+                // Mutations of a dataset that is gone must not be replayed onto the one about to be generated.
+                GroupCommitMutationLog.deleteSegments(logPath);
+                return Optional.empty();
+            }
+            final var start = System.nanoTime();
+            final var snapshot = snapshotFile.read();
+            final var employees = new LinkedHashMap<UUID, MockEmployee>(Math.max(16, snapshot.size() * 4 / 3 + 1));
+            snapshot.forEach(employee -> employees.put(employee.getId(), employee));
+            final var replayed = GroupCommitMutationLog.replay(logPath, employees);
+            log.info(
+                    "Loaded {} employee(s) from {} and replayed {} logged mutation(s) in {}ms",
+                    employees.size(),
+                    snapshotFile.getPath(),
+                    replayed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return Optional.of(replayed == 0 ? snapshot : new ArrayList<>(employees.values()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to load employees from " + snapshotFile.getPath(), ex);
+        }
+    }
+
+    public void save(List<MockEmployee> employees) {
+        try {
+            final var start = System.nanoTime();
+            snapshotFile.write(employees);
+            log.info(
+                    "Saved {} employee(s) to {} in {}ms",
+                    employees.size(),
+                    snapshotFile.getPath(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to save employees to " + snapshotFile.getPath(), ex);
+        }
+    }
+
+    /**
+     * Opens the log for the store's mutations, to be called once the loaded or generated dataset is in place, and
+     * starts compacting it periodically.
+     */
+    public synchronized MutationLog mutationLog() {
+        if (!logEnabled) {
+            return MutationLog.NONE;
+        }
+        if (mutationLog == null) {
+            try {
+                mutationLog = new GroupCommitMutationLog(logPath, commitWindow.toNanos());
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Failed to open mutation log " + logPath, ex);
+            }
+            compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final var thread = new Thread(runnable, "mutation-log-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactor.scheduleWithFixedDelay(
+                    this::compactQuietly,
+                    compactionInterval.toMillis(),
+                    compactionInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+            log.info("Logging mutations to {} with a {}ms commit window", logPath, commitWindow.toMillis());
+        }
+        return mutationLog;
+    }
+
+    /**
+     * Writes the store to a new snapshot and drops the log segments it makes redundant. Does nothing if no mutation
+     * has been logged since the last compaction.
+     */
+    public synchronized void compact() throws IOException {
+        final var mockEmployeeStore = store.getIfAvailable();
+        if (mutationLog == null || mockEmployeeStore == null) {
+            return;
+        }
+        final var position = mutationLog.appendedPosition();
+        if (position == compactedPosition) {
+            return;
+        }
+        // The snapshot must be taken after the rotation, and the rotation made between mutations, so the snapshot
+        // includes every mutation in the retired segments.
+        try {
+            mockEmployeeStore.betweenMutations(() -> {
+                try {
+                    mutationLog.rotate();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        save(mockEmployeeStore.snapshot());
+        mutationLog.deleteRetiredSegments();
+        compactedPosition = position;
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to compact mutation log {}", logPath, ex);
+        }
+    }
+
+    @PreDestroy
+    synchronized void saveOnShutdown() throws IOException {
+        if (mutationLog == null) {
+            store.ifAvailable(mockEmployeeStore -> save(mockEmployeeStore.snapshot()));
+            return;
+        }
+        compactor.shutdownNow();
+        compact();
+        mutationLog.close();
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.UUID;
+
+/**
+ * Records store mutations so they survive a restart. Appending only queues a record and returns its position;
+ * {@link #awaitDurable(long)} then blocks until the record is on disk, so callers waiting at the same time can share
+ * one sync. A log that failed to write or sync a record may refuse every later append with an
+ * {@link java.io.UncheckedIOException}.
+ */
+public interface MutationLog {
+
+    /**
+     * Keeps nothing; used when persistence is disabled.
+     */
+    MutationLog NONE = new MutationLog() {
+
+        @Override
+        public long appendCreated(MockEmployee employee) {
+            return 0;
+        }
+
+        @Override
+        public long appendDeleted(UUID id) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long position) {}
+    };
+
+    /**
+     * @return the position of the record
+     */
+    long appendCreated(MockEmployee employee);
+
+    /**
+     * @return the position of the record
+     */
+    long appendDeleted(UUID id);
+
+    /**
+     * Blocks until every record up to {@code position} is durable.
+     *
+     * @throws java.io.UncheckedIOException if the log could not be written
+     */
+    void awaitDurable(long position);
+}
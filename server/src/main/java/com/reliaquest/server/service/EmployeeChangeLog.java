@@ -0,0 +1,113 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import lombok.NonNull;
+
+/**
+ * The most recent creates and deletes of a {@link MockEmployeeStore}, numbered with the store versions they produced.
+ * Kept in a ring of fixed capacity, so the oldest changes are evicted as new ones arrive; a reader that has fallen
+ * further behind than that has to start over from a full snapshot.
+ *
+ * <p>Readers can register to be woken once a change after a given sequence exists, which lets a long poll wait without
+ * holding a thread.
+ */
+public class EmployeeChangeLog {
+
+    private final long firstSequence;
+
+    // Guarded by this; lastSequence is also read without the lock.
+    private final EmployeeChange[] ring;
+    private volatile long lastSequence;
+    private final Set<Runnable> waiters = new LinkedHashSet<>();
+
+    /**
+     * @param initialSequence the version of the store before the first change
+     */
+    public EmployeeChangeLog(int capacity, long initialSequence) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Change log capacity must be positive: " + capacity);
+        }
+        this.ring = new EmployeeChange[capacity];
+        this.firstSequence = initialSequence;
+        this.lastSequence = initialSequence;
+    }
+
+    /**
+     * @return the sequence of the latest change, which is the current store version
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Records a change with the next sequence. Waiters are not woken until {@link #wakeWaiters()}, so callers can
+     * append while holding locks and wake them after releasing those.
+     *
+     * @return the sequence of the change
+     */
+    synchronized long append(@NonNull EmployeeChange.Type type, @NonNull MockEmployee employee) {
+        final var sequence = lastSequence + 1;
+        ring[(int) (sequence % ring.length)] = new EmployeeChange(
+                sequence, type, employee.getId(), type == EmployeeChange.Type.CREATED ? employee : null);
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Runs the waiters registered before the latest change.
+     */
+    void wakeWaiters() {
+        final List<Runnable> woken;
+        synchronized (this) {
+            if (waiters.isEmpty()) {
+                return;
+            }
+            woken = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        woken.forEach(Runnable::run);
+    }
+
+    /**
+     * @return up to {@code limit} changes after {@code since}, oldest first; empty if {@code since} is not a sequence
+     *     this log can continue from, because its changes were evicted or it was never issued
+     */
+    public synchronized Optional<List<EmployeeChange>> after(long since, int limit) {
+        if (since < Math.max(firstSequence, lastSequence - ring.length) || since > lastSequence) {
+            return Optional.empty();
+        }
+        final var end = Math.min(lastSequence, since + limit);
+        final var changes = new ArrayList<EmployeeChange>((int) (end - since));
+        for (long sequence = since + 1; sequence <= end; sequence++) {
+            changes.add(ring[(int) (sequence % ring.length)]);
+        }
+        return Optional.of(changes);
+    }
+
+    /**
+     * Runs {@code waiter} once a change after {@code since} exists: on this thread if one already does, otherwise on
+     * the thread that wakes waiters after appending it.
+     *
+     * @return cancels the wait; a waiter that has run or been cancelled is not run again
+     */
+    public Runnable await(long since, @NonNull Runnable waiter) {
+        synchronized (this) {
+            if (lastSequence <= since) {
+                waiters.add(waiter);
+                return () -> {
+                    synchronized (this) {
+                        waiters.remove(waiter);
+                    }
+                };
+            }
+        }
+        waiter.run();
+        return () -> {};
+    }
+}
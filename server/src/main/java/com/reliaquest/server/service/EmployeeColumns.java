@@ -0,0 +1,187 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.Histogram;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalInt;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Column-oriented copy of one version of the store. Salaries and ages sit in parallel {@code int[]} columns, so an
+ * aggregate is a loop over contiguous primitives instead of a pointer chase and an unboxing per employee. Row
+ * {@code i} of every column belongs to the {@code i}-th employee in insertion order. Immutable.
+ */
+public final class EmployeeColumns {
+
+    // Stands in for a missing value; no salary or age can be this low.
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    @Getter
+    private final long version;
+
+    private final List<MockEmployee> employees;
+    private final int[] salaries;
+    private final int[] ages;
+
+    EmployeeColumns(long version, @NonNull List<MockEmployee> employees) {
+        this.version = version;
+        this.employees = employees;
+        this.salaries = new int[employees.size()];
+        this.ages = new int[employees.size()];
+        for (int row = 0; row < employees.size(); row++) {
+            final var employee = employees.get(row);
+            salaries[row] = employee.getSalary() == null ? MISSING : employee.getSalary();
+            ages[row] = employee.getAge() == null ? MISSING : employee.getAge();
+        }
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    /**
+     * @return the highest value of the attribute, or empty if no employee has one
+     */
+    public OptionalInt max(@NonNull Attribute attribute) {
+        final var column = column(attribute);
+        var max = MISSING;
+        for (final var value : column) {
+            max = Math.max(max, value);
+        }
+        return max == MISSING ? OptionalInt.empty() : OptionalInt.of(max);
+    }
+
+    /**
+     * Selects with a bounded min-heap of row numbers, so only {@code n} rows are ever held and the scan itself
+     * compares ints.
+     *
+     * @return the {@code n} employees with the highest value of the attribute, highest first, ties in insertion order;
+     *     employees without a value are skipped
+     */
+    public List<MockEmployee> top(@NonNull Attribute attribute, int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        final var column = column(attribute);
+        final var heap = new int[Math.min(n, column.length)];
+        var size = 0;
+        for (int row = 0; row < column.length; row++) {
+            final var value = column[row];
+            if (value == MISSING) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = row;
+                siftUp(column, heap, size++);
+            } else if (value > column[heap[0]]) {
+                // A later row only displaces the weakest kept one with a strictly higher value, so ties keep the
+                // earlier rows.
+                heap[0] = row;
+                siftDown(column, heap, size);
+            }
+        }
+        // Popping the weakest row each time fills the result from the back.
+        final var top = new MockEmployee[size];
+        for (int i = size - 1; i >= 0; i--) {
+            top[i] = employees.get(heap[0]);
+            heap[0] = heap[i];
+            siftDown(column, heap, i);
+        }
+        return List.of(top);
+    }
+
+    /**
+     * Splits the range from the lowest to the highest value of the attribute into {@code buckets} buckets of equal
+     * width and counts the employees in each.
+     *
+     * @return the histogram, without buckets if no employee has a value
+     */
+    public Histogram histogram(@NonNull Attribute attribute, int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("buckets must be positive: " + buckets);
+        }
+        final var column = column(attribute);
+        var min = Integer.MAX_VALUE;
+        var max = MISSING;
+        for (final var value : column) {
+            if (value != MISSING) {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+        }
+        if (max == MISSING) {
+            return new Histogram(0, 0, new long[0]);
+        }
+        // Ceiling division, so the highest value still falls into the last bucket.
+        final var width = ((long) max - min + buckets) / buckets;
+        final var counts = new long[buckets];
+        for (final var value : column) {
+            if (value != MISSING) {
+                counts[(int) ((value - (long) min) / width)]++;
+            }
+        }
+        return new Histogram(min, width, counts);
+    }
+
+    private int[] column(Attribute attribute) {
+        return switch (attribute) {
+            case SALARY -> salaries;
+            case AGE -> ages;
+        };
+    }
+
+    /**
+     * Whether row {@code a} ranks below row {@code b}: a lower value, or the same value further down the store.
+     */
+    private static boolean below(int[] column, int a, int b) {
+        return column[a] < column[b] || (column[a] == column[b] && a > b);
+    }
+
+    private static void siftUp(int[] column, int[] heap, int index) {
+        final var row = heap[index];
+        while (index > 0) {
+            final var parent = (index - 1) >>> 1;
+            if (!below(column, row, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = row;
+    }
+
+    private static void siftDown(int[] column, int[] heap, int size) {
+        final var row = heap[0];
+        var index = 0;
+        while (true) {
+            var child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && below(column, heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!below(column, heap[child], row)) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = row;
+    }
+
+    public enum Attribute {
+        SALARY,
+        AGE;
+
+        /**
+         * @param value path segment such as {@code salary} or {@code age}, case-insensitive
+         * @throws IllegalArgumentException if the value does not name an attribute
+         */
+        public static Attribute fromParameter(@NonNull String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+}
@@ -3,12 +3,17 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.Histogram;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,37 +27,128 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    public List<MockEmployee> getMockEmployees() {
+        return mockEmployeeStore.snapshot();
+    }
+
+    /**
+     * @return all employees with the store version they reflect, which changes with every create and delete
+     */
+    public MockEmployeeStore.Snapshot getVersionedMockEmployees() {
+        return mockEmployeeStore.versionedSnapshot();
+    }
+
+    /**
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @throws IllegalArgumentException if the cursor was not issued by this service
+     */
+    public MockEmployeePage getMockEmployees(String cursor, int limit) {
+        final var page = mockEmployeeStore.page(cursor == null ? 0 : decodeCursor(cursor), limit);
+        return new MockEmployeePage(
+                page.employees(), page.nextSequence() == null ? null : encodeCursor(page.nextSequence()));
+    }
+
+    /**
+     * @return the highest value of the attribute, or empty if no employee has one
+     */
+    public OptionalInt max(@NonNull EmployeeColumns.Attribute attribute) {
+        return mockEmployeeStore.columns().max(attribute);
+    }
+
+    /**
+     * @return the {@code n} employees with the highest value of the attribute, highest first, ties in insertion order
+     */
+    public List<MockEmployee> top(@NonNull EmployeeColumns.Attribute attribute, int n) {
+        return mockEmployeeStore.columns().top(attribute, n);
+    }
+
+    public Histogram histogram(@NonNull EmployeeColumns.Attribute attribute, int buckets) {
+        return mockEmployeeStore.columns().histogram(attribute, buckets);
+    }
+
+    /**
+     * @return up to {@code limit} changes after the version {@code since}, oldest first; empty if the change log
+     *     cannot continue from {@code since}
+     */
+    public Optional<List<EmployeeChange>> getChanges(long since, int limit) {
+        return mockEmployeeStore.changeLog().after(since, limit);
+    }
+
+    /**
+     * Runs {@code waiter} once there is a change after the version {@code since}.
+     *
+     * @return cancels the wait
+     */
+    public Runnable awaitChanges(long since, @NonNull Runnable waiter) {
+        return mockEmployeeStore.changeLog().await(since, waiter);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return mockEmployeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newMockEmployee(input);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * @return the created employees, in input order
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var mockEmployees = inputs.stream().map(this::newMockEmployee).toList();
+        mockEmployeeStore.addAll(mockEmployees);
+        log.debug("Added {} employee(s)", mockEmployees.size());
+        return mockEmployees;
+    }
+
+    /**
+     * @return the deleted employees in input order, {@code null} where no employee had the id
+     */
+    public List<MockEmployee> deleteAll(@NonNull List<UUID> uuids) {
+        return uuids.stream()
+                .map(uuid -> deleteById(uuid).orElse(null))
+                .collect(Collectors.toList());
+    }
+
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        final var mockEmployee = mockEmployeeStore.removeById(uuid);
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+        final var mockEmployee = mockEmployeeStore.removeFirstByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    private MockEmployee newMockEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
+
+    private static String encodeCursor(long sequence) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, ex);
+        }
+    }
 }
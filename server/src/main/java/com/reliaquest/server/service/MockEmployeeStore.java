@@ -0,0 +1,381 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.MutationLog;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Thread-safe, indexed storage for mock employees.
+ *
+ * <ul>
+ *   <li>Primary hash index on id, so lookups by id are O(1) and lock-free.
+ *   <li>Insertion-ordered index on a per-store sequence number, which gives a stable iteration order.
+ *   <li>Case-folded name multimap, so delete-by-name removes the oldest employee with that name without a scan. It
+ *       is built on the first delete-by-name rather than up front, which keeps loading a large dataset cheap.
+ * </ul>
+ *
+ * <p>Mutations on the same case-folded name serialize on one of a fixed set of striped locks; mutations on different
+ * names run concurrently. {@link #snapshot()} returns an immutable, consistent copy: it briefly excludes mutations
+ * while copying and is then reused until the next mutation, so repeated reads of an unchanged store cost nothing.
+ * {@link #columns()} is the same copy in columnar form, for aggregates.
+ *
+ * <p>Mutations are recorded in a {@link MutationLog} and applied only once their record is durable, so a mutating call
+ * that fails leaves the store as it was. The latest ones are also kept in an {@link EmployeeChangeLog}, whose last
+ * sequence is the store version, for readers that follow the store incrementally.
+ */
+public class MockEmployeeStore {
+
+    private static final int STRIPES = 64;
+
+    private final ConcurrentHashMap<UUID, Long> sequencesById;
+    private final ConcurrentSkipListMap<Long, MockEmployee> employeesBySequence = new ConcurrentSkipListMap<>();
+    // Only read or replaced under snapshotLock; null until the first delete-by-name.
+    private ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> sequencesByName;
+
+    private final ReentrantLock[] nameLocks = new ReentrantLock[STRIPES];
+    // Mutations share the read side; taking a snapshot takes the write side so no mutation is half applied.
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    // Mutations share the read side from logging until applied; betweenMutations takes the write side.
+    private final ReentrantReadWriteLock logLock = new ReentrantReadWriteLock();
+
+    private final MutationLog mutationLog;
+
+    private final AtomicLong sequences = new AtomicLong();
+    // Its last sequence is the store version.
+    private final EmployeeChangeLog changeLog;
+    private volatile Snapshot snapshot = new Snapshot(0, List.of());
+    private volatile EmployeeColumns columns;
+
+    public static final int DEFAULT_CHANGE_LOG_CAPACITY = 10_000;
+
+    public MockEmployeeStore(@NonNull Collection<MockEmployee> employees) {
+        this(employees, MutationLog.NONE, DEFAULT_CHANGE_LOG_CAPACITY);
+    }
+
+    /**
+     * @param mutationLog receives every mutation made after construction, in the order mutations of the same employee
+     *     are applied; a mutation is applied once its record is durable
+     * @param changeLogCapacity how many of the latest changes {@link #changeLog()} retains
+     * @throws IllegalArgumentException if two employees have the same id
+     */
+    public MockEmployeeStore(
+            @NonNull Collection<MockEmployee> employees, @NonNull MutationLog mutationLog, int changeLogCapacity) {
+        this.mutationLog = mutationLog;
+        for (int i = 0; i < STRIPES; i++) {
+            nameLocks[i] = new ReentrantLock();
+        }
+        sequencesById = new ConcurrentHashMap<>(Math.max(16, employees.size() * 4 / 3 + 1));
+        // Not yet shared, so the initial employees are indexed without taking any locks.
+        for (final var employee : employees) {
+            index(employee, sequences.incrementAndGet());
+        }
+        changeLog = new EmployeeChangeLog(changeLogCapacity, employees.size());
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        final var sequence = sequencesById.get(id);
+        return sequence == null ? Optional.empty() : Optional.ofNullable(employeesBySequence.get(sequence));
+    }
+
+    /**
+     * @throws IllegalArgumentException if an employee with the same id is already stored
+     */
+    public void add(@NonNull MockEmployee employee) {
+        addAll(List.of(employee));
+    }
+
+    /**
+     * Adds the employees like {@link #add(MockEmployee)}, but waits only once for all of their records to be durable.
+     *
+     * @throws IllegalArgumentException if an employee with the same id is already stored or given twice; none of the
+     *     employees is added then
+     */
+    public void addAll(@NonNull List<MockEmployee> employees) {
+        // Taken in stripe order, so two batches sharing stripes cannot deadlock.
+        final var locks = employees.stream()
+                .mapToInt(employee -> stripe(fold(employee.getName())))
+                .distinct()
+                .sorted()
+                .mapToObj(stripe -> nameLocks[stripe])
+                .toList();
+        locks.forEach(ReentrantLock::lock);
+        try {
+            final var ids = new HashSet<UUID>();
+            for (final var employee : employees) {
+                if (sequencesById.containsKey(employee.getId()) || !ids.add(employee.getId())) {
+                    throw new IllegalArgumentException("Duplicate employee id " + employee.getId());
+                }
+            }
+            logThenApply(
+                    () -> {
+                        long logPosition = 0;
+                        for (final var employee : employees) {
+                            logPosition = mutationLog.appendCreated(employee);
+                        }
+                        return logPosition;
+                    },
+                    () -> {
+                        for (final var employee : employees) {
+                            index(employee, sequences.incrementAndGet());
+                            changeLog.append(EmployeeChange.Type.CREATED, employee);
+                        }
+                    });
+        } finally {
+            locks.reversed().forEach(ReentrantLock::unlock);
+        }
+        changeLog.wakeWaiters();
+    }
+
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final var found = findById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        // Names never change, so the stripe found outside the lock is the one guarding this employee.
+        return Optional.ofNullable(remove(fold(found.get().getName()), () -> {
+            final var sequence = sequencesById.get(id);
+            return sequence == null ? null : employeesBySequence.get(sequence);
+        }));
+    }
+
+    /**
+     * Removes the oldest employee whose name matches ignoring case.
+     */
+    public Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var folded = fold(name);
+        ensureNameIndex();
+        return Optional.ofNullable(remove(folded, () -> {
+            final var sequences = sequencesByName.get(folded);
+            return sequences == null || sequences.isEmpty() ? null : employeesBySequence.get(sequences.first());
+        }));
+    }
+
+    /**
+     * Runs {@code action} while no mutation is between logging its record and being applied, holding back new ones
+     * meanwhile. A snapshot taken after the action therefore includes every mutation logged before it.
+     */
+    public void betweenMutations(@NonNull Runnable action) {
+        logLock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            logLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return an immutable, consistent copy of all employees in insertion order
+     */
+    public List<MockEmployee> snapshot() {
+        return versionedSnapshot().employees();
+    }
+
+    /**
+     * @return the same copy as {@link #snapshot()}, together with the {@link #version()} it reflects
+     */
+    public Snapshot versionedSnapshot() {
+        var current = snapshot;
+        if (current.version() == changeLog.lastSequence()) {
+            return current;
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            current = snapshot;
+            final var currentVersion = changeLog.lastSequence();
+            if (current.version() != currentVersion) {
+                current = new Snapshot(currentVersion, List.copyOf(employeesBySequence.values()));
+                snapshot = current;
+            }
+            return current;
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the current snapshot in columnar form, built on first use and then reused until the next mutation
+     */
+    public EmployeeColumns columns() {
+        final var current = versionedSnapshot();
+        var cached = columns;
+        if (cached == null || cached.getVersion() != current.version()) {
+            // Racing callers may each build a copy; any of them is consistent with its version.
+            cached = new EmployeeColumns(current.version(), current.employees());
+            columns = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * Returns up to {@code limit} employees added after the given sequence number, in insertion order. Following
+     * {@link Page#nextSequence()} from {@code 0} visits every employee that stays in the store exactly once, however
+     * the store changes in between.
+     */
+    public Page page(long afterSequence, int limit) {
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 1024));
+        var lastSequence = afterSequence;
+        for (final var entry : employeesBySequence.tailMap(afterSequence, false).entrySet()) {
+            if (employees.size() == limit) {
+                return new Page(employees, lastSequence);
+            }
+            employees.add(entry.getValue());
+            lastSequence = entry.getKey();
+        }
+        return new Page(employees, null);
+    }
+
+    public int size() {
+        return employeesBySequence.size();
+    }
+
+    /**
+     * @return a number that increases with every mutation
+     */
+    public long version() {
+        return changeLog.lastSequence();
+    }
+
+    /**
+     * @return the latest changes, numbered with the versions they produced; applying those after a snapshot's version
+     *     to that snapshot gives the current store
+     */
+    public EmployeeChangeLog changeLog() {
+        return changeLog;
+    }
+
+    /**
+     * Removes the employee {@code target} finds, if any, while holding the lock of its name, so that employee cannot
+     * change between being found and being removed.
+     */
+    private MockEmployee remove(String foldedName, Supplier<MockEmployee> target) {
+        final var nameLock = nameLocks[stripe(foldedName)];
+        final MockEmployee employee;
+        nameLock.lock();
+        try {
+            snapshotLock.readLock().lock();
+            try {
+                employee = target.get();
+            } finally {
+                snapshotLock.readLock().unlock();
+            }
+            if (employee == null) {
+                return null;
+            }
+            logThenApply(() -> mutationLog.appendDeleted(employee.getId()), () -> {
+                unindex(employee);
+                changeLog.append(EmployeeChange.Type.DELETED, employee);
+            });
+        } finally {
+            nameLock.unlock();
+        }
+        changeLog.wakeWaiters();
+        return employee;
+    }
+
+    /**
+     * Appends the records of a mutation and applies it only once they are durable, so a mutation whose record cannot
+     * be written or synced fails without having changed the store. Callers hold the locks of the names concerned,
+     * which keeps those employees from changing meanwhile; mutations of other names log concurrently and share
+     * syncs. The mutation is applied together with its changes under the read side of the snapshot lock, so a
+     * snapshot never sees a mutation without its change.
+     */
+    private void logThenApply(LongSupplier logRecords, Runnable mutation) {
+        logLock.readLock().lock();
+        try {
+            mutationLog.awaitDurable(logRecords.getAsLong());
+            snapshotLock.readLock().lock();
+            try {
+                mutation.run();
+            } finally {
+                snapshotLock.readLock().unlock();
+            }
+        } finally {
+            logLock.readLock().unlock();
+        }
+    }
+
+    private void index(MockEmployee employee, long sequence) {
+        if (sequencesById.putIfAbsent(employee.getId(), sequence) != null) {
+            throw new IllegalArgumentException("Duplicate employee id " + employee.getId());
+        }
+        employeesBySequence.put(sequence, employee);
+        if (sequencesByName != null) {
+            indexName(sequencesByName, employee, sequence);
+        }
+    }
+
+    private void unindex(MockEmployee employee) {
+        final var sequence = sequencesById.remove(employee.getId());
+        employeesBySequence.remove(sequence);
+        final var name = fold(employee.getName());
+        final var sequences = name == null || sequencesByName == null ? null : sequencesByName.get(name);
+        if (sequences != null) {
+            sequences.remove(sequence);
+            if (sequences.isEmpty()) {
+                sequencesByName.remove(name, sequences);
+            }
+        }
+    }
+
+    private void ensureNameIndex() {
+        snapshotLock.readLock().lock();
+        try {
+            if (sequencesByName != null) {
+                return;
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+        snapshotLock.writeLock().lock();
+        try {
+            if (sequencesByName == null) {
+                final var names = new ConcurrentHashMap<String, ConcurrentSkipListSet<Long>>();
+                employeesBySequence.forEach((sequence, employee) -> indexName(names, employee, sequence));
+                sequencesByName = names;
+            }
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    private static void indexName(
+            ConcurrentHashMap<String, ConcurrentSkipListSet<Long>> names, MockEmployee employee, long sequence) {
+        final var name = fold(employee.getName());
+        if (name != null) {
+            names.computeIfAbsent(name, ignored -> new ConcurrentSkipListSet<>())
+                    .add(sequence);
+        }
+    }
+
+    private static int stripe(String foldedName) {
+        return Math.floorMod(Objects.hashCode(foldedName), STRIPES);
+    }
+
+    private static String fold(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param nextSequence where the next page starts, or {@code null} if this is the last page
+     */
+    public record Page(List<MockEmployee> employees, Long nextSequence) {}
+
+    public record Snapshot(long version, List<MockEmployee> employees) {}
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Admits {@code limit} requests, then rejects everything until {@code backoff} has passed since the last admitted
+ * request, then starts over. This is the shape of the original mock server limit, without its races.
+ */
+final class FixedWindowRateLimit implements RateLimit {
+
+    private final int limit;
+    private final long backoffNanos;
+    private final AtomicReference<Window> window;
+    private volatile long lastAccessNanos;
+
+    FixedWindowRateLimit(int limit, long backoffNanos, long nowNanos) {
+        this.limit = limit;
+        this.backoffNanos = backoffNanos;
+        this.window = new AtomicReference<>(new Window(0, nowNanos));
+        this.lastAccessNanos = nowNanos;
+    }
+
+    @Override
+    public long tryAcquire(long nowNanos) {
+        lastAccessNanos = nowNanos;
+        while (true) {
+            final var current = window.get();
+            final Window next;
+            if (current.count() < limit) {
+                next = new Window(current.count() + 1, nowNanos);
+            } else {
+                final var wait = current.lastAdmittedNanos() + backoffNanos - nowNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                next = new Window(1, nowNanos);
+            }
+            if (window.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public long lastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    private record Window(int count, long lastAdmittedNanos) {}
+}
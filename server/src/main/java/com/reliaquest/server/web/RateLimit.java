@@ -0,0 +1,14 @@
+package com.reliaquest.server.web;
+
+/**
+ * Admission state of a single client.
+ */
+interface RateLimit {
+
+    /**
+     * @return {@code 0} if the request is admitted, otherwise how many nanoseconds the client should wait
+     */
+    long tryAcquire(long nowNanos);
+
+    long lastAccessNanos();
+}
@@ -0,0 +1,156 @@
+package com.reliaquest.server.web;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.random.RandomGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rate limits each client separately, keyed by the configured header or else by remote address. Rejected requests
+ * get a 429 with a {@code Retry-After} header. Limits of clients that have been idle for a while are dropped.
+ *
+ * <ul>
+ *   <li>{@code token-bucket}: bursts of up to {@code capacity} requests, refilled at {@code refill-per-second}.
+ *   <li>{@code fixed-window}: {@code capacity} requests, then nothing until {@code backoff} after the last one.
+ *   <li>{@code random}: {@code fixed-window} with a limit of 5-9 requests and a backoff of 30-89s drawn at startup,
+ *       as the mock server originally behaved. Enabled by the {@code random-limit} profile.
+ *   <li>{@code none}: no limit.
+ * </ul>
+ *
+ * Every mode except {@code random} is deterministic for a given request sequence. Decisions are counted as
+ * {@code mock.rate-limit.requests} by outcome.
+ */
+@Slf4j
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor, MeterBinder {
+
+    private final String clientHeader;
+    private final long idleTimeoutNanos;
+    private final LongFunction<RateLimit> rateLimitFactory;
+
+    private final ConcurrentHashMap<String, RateLimit> rateLimits = new ConcurrentHashMap<>();
+    private final AtomicLong lastEvictionNanos = new AtomicLong(System.nanoTime());
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public RateLimitInterceptor(
+            @Value("${mock.rate-limit.mode:token-bucket}") String mode,
+            @Value("${mock.rate-limit.capacity:20}") int capacity,
+            @Value("${mock.rate-limit.refill-per-second:10}") double refillPerSecond,
+            @Value("${mock.rate-limit.backoff:30s}") Duration backoff,
+            @Value("${mock.rate-limit.client-header:}") String clientHeader,
+            @Value("${mock.rate-limit.idle-timeout:10m}") Duration idleTimeout) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        this.clientHeader = StringUtils.hasText(clientHeader) ? clientHeader.trim() : null;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.rateLimitFactory = rateLimitFactory(
+                Mode.valueOf(mode.trim().replace('-', '_').toUpperCase(Locale.ROOT)),
+                capacity,
+                refillPerSecond,
+                backoff);
+        log.info(
+                "Rate limiting mode={}, clients keyed by {}",
+                mode,
+                this.clientHeader == null ? "remote address" : this.clientHeader);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // A request completed asynchronously, like a long poll, is dispatched a second time; it was admitted already.
+        if (rateLimitFactory == null || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        final var now = System.nanoTime();
+        evictIdle(now);
+        final var wait = rateLimits
+                .computeIfAbsent(clientKey(request), ignored -> rateLimitFactory.apply(now))
+                .tryAcquire(now);
+        if (wait == 0) {
+            admitted.increment();
+            return true;
+        }
+        rejected.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ceilSeconds(wait))));
+        return false;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        requestCounter(registry, "admitted", admitted);
+        requestCounter(registry, "rejected", rejected);
+    }
+
+    private static void requestCounter(MeterRegistry registry, String outcome, LongAdder count) {
+        FunctionCounter.builder("mock.rate-limit.requests", count, LongAdder::sum)
+                .description("Rate limited requests by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static LongFunction<RateLimit> rateLimitFactory(
+            Mode mode, int capacity, double refillPerSecond, Duration backoff) {
+        switch (mode) {
+            case TOKEN_BUCKET:
+                return now -> new TokenBucketRateLimit(capacity, refillPerSecond, now);
+            case FIXED_WINDOW:
+                return now -> new FixedWindowRateLimit(capacity, backoff.toNanos(), now);
+            case RANDOM:
+                final var limit = RandomGenerator.getDefault().nextInt(5, 10);
+                final var randomBackoff =
+                        Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+                log.info("Random rate limit: {} request(s), then {}s backoff", limit, randomBackoff.toSeconds());
+                return now -> new FixedWindowRateLimit(limit, randomBackoff.toNanos(), now);
+            default:
+                return null;
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        if (clientHeader != null) {
+            final var client = request.getHeader(clientHeader);
+            if (StringUtils.hasText(client)) {
+                return client;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void evictIdle(long now) {
+        final var last = lastEvictionNanos.get();
+        if (now - last < idleTimeoutNanos || !lastEvictionNanos.compareAndSet(last, now)) {
+            return;
+        }
+        rateLimits.values().removeIf(rateLimit -> now - rateLimit.lastAccessNanos() > idleTimeoutNanos);
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    enum Mode {
+        TOKEN_BUCKET,
+        FIXED_WINDOW,
+        RANDOM,
+        NONE
+    }
+}
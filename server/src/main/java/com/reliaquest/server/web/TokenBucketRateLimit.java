@@ -0,0 +1,45 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to {@code capacity} tokens, refilled at a fixed rate.
+ *
+ * <p>Implemented as the equivalent generic cell rate algorithm: instead of a token count and a refill timestamp, a
+ * single theoretical arrival time is advanced by one emission interval per admitted request. A request is admitted
+ * while that time stays within {@code capacity} intervals of now, which is a single compare-and-set on one long.
+ */
+final class TokenBucketRateLimit implements RateLimit {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalNanos = new AtomicLong(Long.MIN_VALUE);
+    private volatile long lastAccessNanos;
+
+    TokenBucketRateLimit(int capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000d / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.lastAccessNanos = nowNanos;
+    }
+
+    @Override
+    public long tryAcquire(long nowNanos) {
+        lastAccessNanos = nowNanos;
+        while (true) {
+            final var current = theoreticalArrivalNanos.get();
+            final var next = Math.max(current, nowNanos) + intervalNanos;
+            final var wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Override
+    public long lastAccessNanos() {
+        return lastAccessNanos;
+    }
+}
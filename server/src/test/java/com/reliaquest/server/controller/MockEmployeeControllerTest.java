@@ -0,0 +1,128 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"mock.rate-limit.mode=none", "mock.persistence.enabled=false"})
+class MockEmployeeControllerTest {
+
+    private static final String BASE_URL = "/api/v1/employee";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private static Map<String, Object> input(String name, int salary, int age, String title) {
+        return Map.of("name", name, "salary", salary, "age", age, "title", title);
+    }
+
+    @Test
+    void fullListIsCompressedAndRevalidatesWithWeakTag() {
+        final var headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        final var full = restTemplate.exchange(BASE_URL, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertEquals(HttpStatus.OK, full.getStatusCode());
+        assertEquals("gzip", full.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        final var etag = full.getHeaders().getETag();
+        assertTrue(etag.startsWith("W/\""), etag);
+
+        headers.setIfNoneMatch(etag);
+        final var unchanged = restTemplate.exchange(BASE_URL, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        assertEquals(HttpStatus.NOT_MODIFIED, unchanged.getStatusCode());
+        assertNull(unchanged.getBody());
+
+        restTemplate.postForEntity(BASE_URL, input("Ada", 100, 30, "Engineer"), JsonNode.class);
+        final var changed = restTemplate.exchange(BASE_URL, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        assertEquals(HttpStatus.OK, changed.getStatusCode());
+    }
+
+    @Test
+    void changesLongPollAnswersOnceEmployeeIsCreated() throws Exception {
+        final var list = restTemplate.getForEntity(BASE_URL, JsonNode.class);
+        final var epoch = list.getHeaders().getFirst(MockEmployeeController.CHANGE_EPOCH_HEADER);
+        final var since = list.getHeaders().getFirst(MockEmployeeController.CHANGE_SEQUENCE_HEADER);
+
+        final var poll = CompletableFuture.supplyAsync(() -> restTemplate.getForEntity(
+                BASE_URL + "/changes?since={since}&epoch={epoch}&wait=10", JsonNode.class, since, epoch));
+        Thread.sleep(200);
+        final var created = restTemplate
+                .postForEntity(BASE_URL, input("Ada", 100, 30, "Engineer"), JsonNode.class)
+                .getBody()
+                .get("data");
+
+        final var response = poll.get(5, TimeUnit.SECONDS);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final var changes = response.getBody().get("data");
+        assertEquals(1, changes.size());
+        assertEquals("CREATED", changes.get(0).get("type").asText());
+        assertEquals(created.get("id").asText(), changes.get(0).get("id").asText());
+        assertEquals(Long.parseLong(since) + 1, changes.get(0).get("sequence").asLong());
+    }
+
+    @Test
+    void changesAreGoneForAnotherEpochOrUnknownSequence() {
+        final var list = restTemplate.getForEntity(BASE_URL, JsonNode.class);
+        final var since = Long.parseLong(list.getHeaders().getFirst(MockEmployeeController.CHANGE_SEQUENCE_HEADER));
+
+        assertEquals(
+                HttpStatus.GONE,
+                restTemplate
+                        .getForEntity(BASE_URL + "/changes?since={since}&epoch=other", JsonNode.class, since)
+                        .getStatusCode());
+        assertEquals(
+                HttpStatus.GONE,
+                restTemplate
+                        .getForEntity(BASE_URL + "/changes?since={since}", JsonNode.class, since + 1_000)
+                        .getStatusCode());
+        assertEquals(
+                HttpStatus.BAD_REQUEST,
+                restTemplate
+                        .getForEntity(BASE_URL + "/changes?since={since}&wait=3600", JsonNode.class, since)
+                        .getStatusCode());
+    }
+
+    @Test
+    void batchCreateReturnsEmployeesInInputOrder() {
+        final var response = restTemplate.postForEntity(
+                BASE_URL + "/batch",
+                Map.of("employees", List.of(input("Ada", 100, 30, "Engineer"), input("Grace", 200, 40, "Admiral"))),
+                JsonNode.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final var data = response.getBody().get("data");
+        assertEquals("Ada", data.get(0).get("employee_name").asText());
+        assertEquals("Grace", data.get(1).get("employee_name").asText());
+    }
+
+    @Test
+    void batchCreateWithInvalidItemsAnswersBadRequestNamingThem() {
+        final var response = restTemplate.postForEntity(
+                BASE_URL + "/batch",
+                Map.of("employees", List.of(input("Ada", 100, 30, "Engineer"), input("Tim", 100, 12, " "))),
+                JsonNode.class);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        final var error = response.getBody().get("error").asText();
+        assertTrue(error.contains("employees[1].age"), error);
+        assertTrue(error.contains("employees[1].title"), error);
+        assertFalse(error.contains("employees[0]"), error);
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EmployeeSnapshotFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripsFieldsNullsAndUnicode() throws IOException {
+        final var employees = List.of(
+                new MockEmployee(UUID.randomUUID(), "Zoë 😀", 100, 30, "Engineer", "zoe@company.com"),
+                new MockEmployee(UUID.randomUUID(), null, null, null, null, null),
+                new MockEmployee(new UUID(0, 0), "", 0, 0, "", ""));
+        final var file = new EmployeeSnapshotFile(directory.resolve("employees.bin"));
+        assertFalse(file.exists());
+
+        file.write(employees);
+
+        assertTrue(file.exists());
+        assertEquals(employees, file.read());
+    }
+
+    @Test
+    void roundTripsMoreThanOneWriteBufferAndSharesStrings() throws IOException {
+        final var employees = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 5_000; i++) {
+            employees.add(new MockEmployee(
+                    UUID.randomUUID(), "Name " + i % 100, i, 16 + i % 60, "Title " + i % 7, "e" + i + "@company.com"));
+        }
+        final var file = new EmployeeSnapshotFile(directory.resolve("employees.bin"));
+
+        file.write(employees);
+        final var read = file.read();
+
+        assertEquals(employees, read);
+        assertSame(read.get(0).getTitle(), read.get(7).getTitle());
+        assertSame(read.get(1).getName(), read.get(101).getName());
+    }
+
+    @Test
+    void replacesExistingSnapshotWithoutLeavingTemporaryFiles() throws IOException {
+        final var path = directory.resolve("employees.bin");
+        final var file = new EmployeeSnapshotFile(path);
+        file.write(List.of(new MockEmployee(UUID.randomUUID(), "Old", 1, 20, "t", "e")));
+        final var replacement = List.of(new MockEmployee(UUID.randomUUID(), "New", 2, 30, "t", "e"));
+
+        file.write(replacement);
+
+        assertEquals(replacement, file.read());
+        try (final var files = Files.list(directory)) {
+            assertEquals(List.of(path), files.toList());
+        }
+    }
+
+    @Test
+    void rejectsFilesInAnotherFormat() throws IOException {
+        final var path = directory.resolve("employees.bin");
+        Files.writeString(path, "not a snapshot, just text");
+
+        assertThrows(IOException.class, () -> new EmployeeSnapshotFile(path).read());
+        Files.write(path, new byte[3]);
+        assertThrows(IOException.class, () -> new EmployeeSnapshotFile(path).read());
+    }
+}
@@ -0,0 +1,192 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GroupCommitMutationLogTest {
+
+    @TempDir
+    Path directory;
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100, 30, "Engineer", null);
+    }
+
+    private Path prefix() {
+        return directory.resolve("employees.wal");
+    }
+
+    private LinkedHashMap<UUID, MockEmployee> replay() throws IOException {
+        final var employees = new LinkedHashMap<UUID, MockEmployee>();
+        GroupCommitMutationLog.replay(prefix(), employees);
+        return employees;
+    }
+
+    @Test
+    void replaysCreatesAndDeletesInOrder() throws IOException {
+        final var first = employee("Ada");
+        final var second = new MockEmployee(UUID.randomUUID(), null, null, null, null, "g@company.com");
+        try (final var log = new GroupCommitMutationLog(prefix(), 0)) {
+            log.appendCreated(first);
+            log.appendCreated(second);
+            log.appendDeleted(first.getId());
+            log.awaitDurable(log.appendCreated(first));
+        }
+
+        assertEquals(List.of(second, first), List.copyOf(replay().values()));
+    }
+
+    @Test
+    void replayStopsAtTornRecord() throws IOException {
+        final var kept = employee("Ada");
+        try (final var log = new GroupCommitMutationLog(prefix(), 0)) {
+            log.awaitDurable(log.appendCreated(kept));
+            log.awaitDurable(log.appendCreated(employee("Torn")));
+        }
+        final var segment = Path.of(prefix() + ".1");
+        try (final var channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Cut the second record off in the middle, as a crash during its write would.
+            channel.truncate(channel.size() - 5);
+        }
+
+        assertEquals(List.of(kept), List.copyOf(replay().values()));
+    }
+
+    @Test
+    void replayStopsAtZeroFilledTail() throws IOException {
+        final var kept = employee("Ada");
+        try (final var log = new GroupCommitMutationLog(prefix(), 0)) {
+            log.awaitDurable(log.appendCreated(kept));
+        }
+        // File systems may extend the file before the data reaches it, leaving zeros that frame as an empty record.
+        Files.write(Path.of(prefix() + ".1"), new byte[64], StandardOpenOption.APPEND);
+
+        assertEquals(List.of(kept), List.copyOf(replay().values()));
+    }
+
+    @Test
+    void replayStopsAtTailWithGarbageLength() throws IOException {
+        final var kept = employee("Ada");
+        try (final var log = new GroupCommitMutationLog(prefix(), 0)) {
+            log.awaitDurable(log.appendCreated(kept));
+        }
+        final var segment = Path.of(prefix() + ".1");
+        final var records = Files.readAllBytes(segment);
+        for (final var length : new int[] {-1, Integer.MAX_VALUE, 9}) {
+            // The last length runs one byte past the end of the file.
+            final var tail = ByteBuffer.allocate(16).putInt(length).putInt(0).array();
+            Files.write(segment, records);
+            Files.write(segment, tail, StandardOpenOption.APPEND);
+
+            assertEquals(List.of(kept), List.copyOf(replay().values()));
+        }
+    }
+
+    @Test
+    void replayStopsAtRecordFailingItsChecksum() throws IOException {
+        final var kept = employee("Ada");
+        try (final var log = new GroupCommitMutationLog(prefix(), 0)) {
+            log.awaitDurable(log.appendCreated(kept));
+            log.awaitDurable(log.appendCreated(employee("Corrupt")));
+            log.awaitDurable(log.appendCreated(employee("After")));
+        }
+        final var segment = Path.of(prefix() + ".1");
+        final var bytes = Files.readAllBytes(segment);
+        final var secondRecord =
+                8 + ((bytes[0] & 0xff) << 24 | (bytes[1] & 0xff) << 16 | (bytes[2] & 0xff) << 8 | (bytes[3] & 0xff));
+        bytes[secondRecord + 8 + 20] ^= 1;
+        Files.write(segment, bytes);
+
+        assertEquals(List.of(kept), List.copyOf(replay().values()));
+    }
+
+    @Test
+    void rotationStartsNewSegmentAndRetiredOnesCanBeDeleted() throws IOException {
+        final var before = employee("Before");
+        final var after = employee("After");
+        try (final var log = new GroupCommitMutationLog(prefix(), 0)) {
+            log.awaitDurable(log.appendCreated(before));
+            log.rotate();
+            log.awaitDurable(log.appendCreated(after));
+
+            assertEquals(List.of(before, after), List.copyOf(replay().values()));
+            log.deleteRetiredSegments();
+        }
+
+        assertEquals(List.of(after), List.copyOf(replay().values()));
+        // A reopened log continues after the highest segment.
+        try (final var log = new GroupCommitMutationLog(prefix(), 0)) {
+            log.awaitDurable(log.appendDeleted(after.getId()));
+        }
+        assertEquals(List.of(), List.copyOf(replay().values()));
+        assertEquals(true, Files.exists(Path.of(prefix() + ".3")));
+    }
+
+    @Test
+    void failedSyncIsCutOffTheSegmentAndFailsTheLogForGood() throws IOException {
+        final var kept = employee("Ada");
+        final var failing = new AtomicBoolean();
+        try (final var log = new GroupCommitMutationLog(prefix(), 0) {
+            @Override
+            void sync(FileChannel channel) throws IOException {
+                if (failing.get()) {
+                    throw new IOException("Injected sync failure");
+                }
+                super.sync(channel);
+            }
+        }) {
+            log.awaitDurable(log.appendCreated(kept));
+            failing.set(true);
+
+            final var position = log.appendCreated(employee("Lost"));
+            assertThrows(UncheckedIOException.class, () -> log.awaitDurable(position));
+            // Neither a retry nor a later record may be made durable behind the failed one.
+            assertThrows(UncheckedIOException.class, () -> log.appendDeleted(kept.getId()));
+            assertThrows(UncheckedIOException.class, () -> log.awaitDurable(position));
+        }
+
+        // The lost record was written before its sync failed; a restart must not replay it.
+        assertEquals(List.of(kept), List.copyOf(replay().values()));
+        final var added = employee("Grace");
+        try (final var log = new GroupCommitMutationLog(prefix(), 0)) {
+            log.awaitDurable(log.appendCreated(added));
+        }
+        assertEquals(List.of(kept, added), List.copyOf(replay().values()));
+    }
+
+    @Test
+    void interruptedFlusherFailsWaitersInsteadOfBlockingThem() throws IOException {
+        try (final var log = new GroupCommitMutationLog(prefix(), TimeUnit.MILLISECONDS.toNanos(50))) {
+            Thread.getAllStackTraces().keySet().stream()
+                    .filter(thread -> thread.getName().equals("mutation-log-flusher") && thread.isAlive())
+                    .forEach(Thread::interrupt);
+
+            final var position = log.appendCreated(employee("Ada"));
+            final var failure = assertTimeoutPreemptively(
+                    Duration.ofSeconds(5),
+                    () -> assertThrows(UncheckedIOException.class, () -> log.awaitDurable(position)));
+
+            assertInstanceOf(InterruptedIOException.class, failure.getCause());
+        }
+    }
+}
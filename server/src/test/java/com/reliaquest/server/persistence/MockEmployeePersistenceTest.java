@@ -0,0 +1,80 @@
+package com.reliaquest.server.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+class MockEmployeePersistenceTest {
+
+    @TempDir
+    Path directory;
+
+    private static MockEmployee employee(String name) {
+        return new MockEmployee(UUID.randomUUID(), name, 100, 30, "Engineer", null);
+    }
+
+    private MockEmployeePersistence persistence(StaticListableBeanFactory beans) {
+        return new MockEmployeePersistence(
+                directory.resolve("employees.bin"),
+                true,
+                directory.resolve("employees.wal"),
+                Duration.ZERO,
+                Duration.ofHours(1),
+                beans.getBeanProvider(MockEmployeeStore.class));
+    }
+
+    @Test
+    void recoversSnapshotPlusLogAfterCompactionAndCrash() throws IOException {
+        final var beans = new StaticListableBeanFactory();
+        final var persistence = persistence(beans);
+        assertTrue(persistence.load().isEmpty());
+        final var generated = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 10; i++) {
+            generated.add(employee("Employee " + i));
+        }
+        persistence.save(generated);
+        final var store = new MockEmployeeStore(generated, persistence.mutationLog(), 100);
+        beans.addBean("store", store);
+
+        store.add(employee("Compacted"));
+        store.removeById(generated.get(0).getId());
+        persistence.compact();
+        store.add(employee("Logged"));
+        store.removeFirstByName("employee 5");
+        // A crash: the log stops without the snapshot a graceful shutdown writes.
+        ((GroupCommitMutationLog) persistence.mutationLog()).close();
+
+        assertEquals(
+                store.snapshot(),
+                persistence(new StaticListableBeanFactory()).load().orElseThrow());
+        try (final var files = Files.list(directory)) {
+            // Compaction dropped the segment it folded into the snapshot.
+            assertEquals(
+                    List.of("employees.bin", "employees.wal.2"),
+                    files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+    }
+
+    @Test
+    void startsOverWhenSnapshotIsMissing() throws IOException {
+        Files.writeString(directory.resolve("employees.wal.1"), "orphaned");
+
+        assertTrue(persistence(new StaticListableBeanFactory(Map.of())).load().isEmpty());
+        try (final var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class EmployeeChangeLogTest {
+
+    private static MockEmployee employee() {
+        return MockEmployee.builder().id(UUID.randomUUID()).name("Ada").build();
+    }
+
+    private static List<Long> sequences(List<EmployeeChange> changes) {
+        return changes.stream().map(EmployeeChange::sequence).toList();
+    }
+
+    @Test
+    void numbersChangesFromInitialSequence() {
+        final var log = new EmployeeChangeLog(4, 10);
+        final var created = employee();
+        assertEquals(11, log.append(EmployeeChange.Type.CREATED, created));
+        assertEquals(12, log.append(EmployeeChange.Type.DELETED, created));
+
+        final var changes = log.after(10, 100).orElseThrow();
+        assertEquals(List.of(11L, 12L), sequences(changes));
+        assertEquals(created, changes.get(0).employee());
+        assertNull(changes.get(1).employee());
+        assertEquals(created.getId(), changes.get(1).id());
+        assertEquals(List.of(12L), sequences(log.after(11, 1).orElseThrow()));
+        assertEquals(List.of(), log.after(12, 100).orElseThrow());
+    }
+
+    @Test
+    void readerThatFellBehindTheRingCannotContinue() {
+        final var log = new EmployeeChangeLog(3, 0);
+        for (int i = 0; i < 7; i++) {
+            log.append(EmployeeChange.Type.CREATED, employee());
+        }
+
+        // Sequences 5 to 7 are kept; continuing from 4 still sees all of them, from 3 would miss 4.
+        assertEquals(List.of(5L, 6L, 7L), sequences(log.after(4, 10).orElseThrow()));
+        assertTrue(log.after(3, 10).isEmpty());
+        // Neither can a sequence that was never issued, or one from before the log started.
+        assertTrue(log.after(8, 10).isEmpty());
+        assertTrue(new EmployeeChangeLog(3, 5).after(4, 10).isEmpty());
+    }
+
+    @Test
+    void waitersRunOnceAfterNextChangeUnlessCancelled() {
+        final var log = new EmployeeChangeLog(4, 0);
+        final var woken = new AtomicInteger();
+        final var cancelled = new AtomicInteger();
+        log.await(0, woken::incrementAndGet);
+        log.await(0, cancelled::incrementAndGet).run();
+
+        assertEquals(0, woken.get());
+        log.append(EmployeeChange.Type.CREATED, employee());
+        log.wakeWaiters();
+        log.wakeWaiters();
+        assertEquals(1, woken.get());
+        assertEquals(0, cancelled.get());
+
+        // A change after the sequence already exists, so the waiter runs right away.
+        log.await(0, woken::incrementAndGet);
+        assertEquals(2, woken.get());
+        assertThrows(IllegalArgumentException.class, () -> new EmployeeChangeLog(0, 0));
+    }
+}
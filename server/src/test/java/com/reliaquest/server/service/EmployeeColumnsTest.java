@@ -0,0 +1,106 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class EmployeeColumnsTest {
+
+    private static MockEmployee employee(Integer salary, Integer age) {
+        return new MockEmployee(UUID.randomUUID(), "Name", salary, age, "Title", null);
+    }
+
+    @Test
+    void maxSkipsMissingValues() {
+        final var columns = new EmployeeColumns(1, List.of(employee(10, null), employee(null, 40), employee(30, 20)));
+
+        assertEquals(OptionalInt.of(30), columns.max(EmployeeColumns.Attribute.SALARY));
+        assertEquals(OptionalInt.of(40), columns.max(EmployeeColumns.Attribute.AGE));
+        assertEquals(
+                OptionalInt.empty(),
+                new EmployeeColumns(1, List.of(employee(null, null))).max(EmployeeColumns.Attribute.SALARY));
+    }
+
+    @Test
+    void topMatchesStableSortOnRandomData() {
+        final var random = new Random(11);
+        final var employees = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 2_000; i++) {
+            // Few distinct values, so there are many ties to keep in insertion order.
+            employees.add(employee(random.nextInt(10) == 0 ? null : random.nextInt(50), 16 + random.nextInt(60)));
+        }
+        final var columns = new EmployeeColumns(1, employees);
+        final var bySalary = employees.stream()
+                .filter(employee -> Objects.nonNull(employee.getSalary()))
+                .sorted(Comparator.comparing(MockEmployee::getSalary).reversed())
+                .toList();
+
+        for (final var n : new int[] {1, 10, 333, 5_000}) {
+            assertEquals(
+                    bySalary.subList(0, Math.min(n, bySalary.size())),
+                    columns.top(EmployeeColumns.Attribute.SALARY, n));
+        }
+        assertThrows(IllegalArgumentException.class, () -> columns.top(EmployeeColumns.Attribute.AGE, 0));
+    }
+
+    @Test
+    void histogramCoversFullRangeInEqualBuckets() {
+        final var employees =
+                IntStream.rangeClosed(16, 75).mapToObj(age -> employee(1, age)).toList();
+        final var histogram = new EmployeeColumns(1, employees).histogram(EmployeeColumns.Attribute.AGE, 6);
+
+        assertEquals(16, histogram.lowerBound());
+        assertEquals(10, histogram.bucketWidth());
+        assertArrayEquals(new long[] {10, 10, 10, 10, 10, 10}, histogram.counts());
+    }
+
+    @Test
+    void histogramHandlesExtremeAndMissingValues() {
+        final var histogram = new EmployeeColumns(
+                        1, List.of(employee(1, 20), employee(Integer.MAX_VALUE, 20), employee(null, 20)))
+                .histogram(EmployeeColumns.Attribute.SALARY, 3);
+        assertEquals(1, histogram.lowerBound());
+        // The width does not overflow, and the highest value still lands in the last bucket.
+        assertArrayEquals(new long[] {1, 0, 1}, histogram.counts());
+
+        final var single =
+                new EmployeeColumns(1, List.of(employee(5, 20))).histogram(EmployeeColumns.Attribute.SALARY, 4);
+        assertEquals(1, single.counts()[0]);
+
+        final var empty =
+                new EmployeeColumns(1, List.of(employee(null, null))).histogram(EmployeeColumns.Attribute.AGE, 4);
+        assertEquals(0, empty.counts().length);
+        assertThrows(IllegalArgumentException.class, () -> new EmployeeColumns(1, List.of())
+                .histogram(EmployeeColumns.Attribute.AGE, 0));
+    }
+
+    @Test
+    void attributeParsesPathSegmentsIgnoringCase() {
+        assertEquals(EmployeeColumns.Attribute.SALARY, EmployeeColumns.Attribute.fromParameter(" Salary "));
+        assertEquals(EmployeeColumns.Attribute.AGE, EmployeeColumns.Attribute.fromParameter("age"));
+        assertThrows(IllegalArgumentException.class, () -> EmployeeColumns.Attribute.fromParameter("title"));
+    }
+
+    @Test
+    void storeReusesColumnsUntilNextMutation() {
+        final var store = new MockEmployeeStore(List.of(employee(10, 20)));
+        final var columns = store.columns();
+        assertSame(columns, store.columns());
+
+        store.add(employee(99, 30));
+        assertEquals(OptionalInt.of(99), store.columns().max(EmployeeColumns.Attribute.SALARY));
+        assertEquals(columns.getVersion() + 1, store.columns().getVersion());
+    }
+}
@@ -0,0 +1,255 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.persistence.MutationLog;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(1000)
+                .age(30)
+                .title("Engineer")
+                .email(name + "@company.com")
+                .build();
+    }
+
+    private static Set<UUID> ids(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getId).collect(Collectors.toSet());
+    }
+
+    private static Set<UUID> replay(List<MockEmployee> initial, EmployeeChangeLog changeLog, long version) {
+        final var ids = ids(initial);
+        for (final var change : changeLog
+                .after(initial.size(), (int) (version - initial.size()))
+                .orElseThrow()) {
+            if (change.type() == EmployeeChange.Type.CREATED) {
+                ids.add(change.id());
+            } else {
+                ids.remove(change.id());
+            }
+        }
+        return ids;
+    }
+
+    @Test
+    void keepsInsertionOrderAndIndexesById() {
+        final var first = employee("Ada");
+        final var second = employee("Grace");
+        final var store = new MockEmployeeStore(List.of(first, second));
+        final var third = employee("Linus");
+        store.add(third);
+
+        assertEquals(List.of(first, second, third), store.snapshot());
+        assertEquals(third, store.findById(third.getId()).orElseThrow());
+        assertThrows(IllegalArgumentException.class, () -> store.add(third));
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void removeFirstByNameRemovesOldestIgnoringCase() {
+        final var older = employee("Ada");
+        final var newer = employee("ADA");
+        final var store = new MockEmployeeStore(List.of(employee("Grace"), older, newer));
+
+        assertEquals(older, store.removeFirstByName("ada").orElseThrow());
+        assertEquals(newer, store.removeFirstByName("aDa").orElseThrow());
+        assertTrue(store.removeFirstByName("ada").isEmpty());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void removeByIdKeepsNameIndexInStep() {
+        final var older = employee("Ada");
+        final var newer = employee("Ada");
+        final var store = new MockEmployeeStore(List.of(older, newer));
+        // Builds the name index, so the removal by id has to keep it current.
+        assertEquals(older, store.removeFirstByName("Ada").orElseThrow());
+
+        assertEquals(newer, store.removeById(newer.getId()).orElseThrow());
+        assertTrue(store.removeById(newer.getId()).isEmpty());
+        assertTrue(store.removeFirstByName("Ada").isEmpty());
+    }
+
+    @Test
+    void addAllWaitsOnceForTheLastRecord() {
+        final var awaited = new ArrayList<Long>();
+        final var mutationLog = new MutationLog() {
+            private long position;
+
+            @Override
+            public long appendCreated(MockEmployee employee) {
+                return ++position;
+            }
+
+            @Override
+            public long appendDeleted(UUID id) {
+                return ++position;
+            }
+
+            @Override
+            public void awaitDurable(long position) {
+                awaited.add(position);
+            }
+        };
+        final var store = new MockEmployeeStore(List.of(), mutationLog, 16);
+        final var employees = List.of(employee("Ada"), employee("Grace"), employee("Linus"));
+
+        store.addAll(employees);
+
+        assertEquals(employees, store.snapshot());
+        assertEquals(List.of(3L), awaited);
+        assertEquals(3, store.changeLog().after(0, 10).orElseThrow().size());
+    }
+
+    @Test
+    void mutationWhoseRecordIsNotDurableLeavesStoreUnchanged() {
+        final var mutationLog = new MutationLog() {
+            @Override
+            public long appendCreated(MockEmployee employee) {
+                return 1;
+            }
+
+            @Override
+            public long appendDeleted(UUID id) {
+                return 1;
+            }
+
+            @Override
+            public void awaitDurable(long position) {
+                throw new UncheckedIOException(new IOException("disk full"));
+            }
+        };
+        final var existing = employee("Ada");
+        final var store = new MockEmployeeStore(List.of(existing), mutationLog, 16);
+
+        assertThrows(UncheckedIOException.class, () -> store.add(employee("Grace")));
+        assertThrows(UncheckedIOException.class, () -> store.removeById(existing.getId()));
+        assertThrows(UncheckedIOException.class, () -> store.removeFirstByName("Ada"));
+
+        assertEquals(List.of(existing), store.snapshot());
+        assertEquals(1, store.version());
+        assertEquals(List.of(), store.changeLog().after(1, 10).orElseThrow());
+    }
+
+    @Test
+    void snapshotIsReusedUntilNextMutation() {
+        final var store = new MockEmployeeStore(List.of(employee("Ada")));
+        final var snapshot = store.versionedSnapshot();
+        assertSame(snapshot, store.versionedSnapshot());
+
+        store.add(employee("Grace"));
+        final var next = store.versionedSnapshot();
+        assertEquals(snapshot.version() + 1, next.version());
+        assertEquals(1, snapshot.employees().size());
+        assertEquals(2, next.employees().size());
+        assertEquals(next.version(), store.version());
+    }
+
+    @Test
+    void pagingVisitsEveryRemainingEmployeeOnceWhileStoreChanges() {
+        final var employees = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 10; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        final var store = new MockEmployeeStore(employees);
+
+        final var seen = new ArrayList<MockEmployee>();
+        var page = store.page(0, 3);
+        seen.addAll(page.employees());
+        // Removing a visited and an unvisited employee does not shift the next page.
+        store.removeById(employees.get(0).getId());
+        store.removeById(employees.get(5).getId());
+        while (page.nextSequence() != null) {
+            page = store.page(page.nextSequence(), 3);
+            seen.addAll(page.employees());
+        }
+
+        final var expected = new ArrayList<>(employees);
+        expected.remove(5);
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void concurrentMutationsOnManyNamesLeaveConsistentStore() throws Exception {
+        final var initial = new ArrayList<MockEmployee>();
+        for (int i = 0; i < 400; i++) {
+            initial.add(employee("Name " + (i % 100)));
+        }
+        final var store = new MockEmployeeStore(initial);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final var start = new CountDownLatch(1);
+        try {
+            final var removals = new ArrayList<Future<List<MockEmployee>>>();
+            final var additions = new ArrayList<Future<List<MockEmployee>>>();
+            for (int t = 0; t < 4; t++) {
+                final var thread = t;
+                removals.add(executor.submit(() -> {
+                    start.await();
+                    final var removed = new ArrayList<MockEmployee>();
+                    for (int i = 0; i < 100; i++) {
+                        store.removeFirstByName("name " + ((thread * 25 + i) % 100))
+                                .ifPresent(removed::add);
+                    }
+                    return removed;
+                }));
+                additions.add(executor.submit(() -> {
+                    start.await();
+                    final var added = new ArrayList<MockEmployee>();
+                    for (int i = 0; i < 100; i++) {
+                        final var employee = employee("Added " + thread + "-" + i);
+                        store.add(employee);
+                        added.add(employee);
+                        // A snapshot taken mid-flight is the initial list with exactly the changes up to its version.
+                        final var snapshot = store.versionedSnapshot();
+                        assertEquals(replay(initial, store.changeLog(), snapshot.version()), ids(snapshot.employees()));
+                    }
+                    return added;
+                }));
+            }
+            start.countDown();
+
+            final var removedIds = new HashSet<UUID>();
+            for (final var removal : removals) {
+                for (final var employee : removal.get()) {
+                    assertTrue(removedIds.add(employee.getId()), "removed twice: " + employee);
+                }
+            }
+            final var expected = new ArrayList<MockEmployee>();
+            initial.stream()
+                    .filter(employee -> !removedIds.contains(employee.getId()))
+                    .forEach(expected::add);
+            for (final var addition : additions) {
+                expected.addAll(addition.get());
+            }
+
+            final var snapshot = store.snapshot();
+            assertEquals(expected.size(), snapshot.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(snapshot));
+            assertEquals(initial.size() + removedIds.size() + 400L, store.version());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class FixedWindowRateLimitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void rejectsUntilBackoffAfterLastAdmittedRequest() {
+        final var start = 1_000 * SECOND;
+        final var limit = new FixedWindowRateLimit(2, 30 * SECOND, start);
+
+        assertEquals(0, limit.tryAcquire(start));
+        assertEquals(0, limit.tryAcquire(start + 5 * SECOND));
+        // The backoff runs from the last admitted request, and rejected requests do not extend it.
+        assertEquals(30 * SECOND, limit.tryAcquire(start + 5 * SECOND));
+        assertEquals(10 * SECOND, limit.tryAcquire(start + 25 * SECOND));
+        assertEquals(start + 25 * SECOND, limit.lastAccessNanos());
+
+        assertEquals(0, limit.tryAcquire(start + 35 * SECOND));
+        assertEquals(0, limit.tryAcquire(start + 35 * SECOND));
+        assertEquals(30 * SECOND, limit.tryAcquire(start + 35 * SECOND));
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitInterceptorTest {
+
+    private static RateLimitInterceptor interceptor(String mode, String clientHeader) {
+        return new RateLimitInterceptor(mode, 2, 0.5, Duration.ofSeconds(30), clientHeader, Duration.ofMinutes(10));
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String client) {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr(remoteAddress);
+        if (client != null) {
+            request.addHeader("X-Client", client);
+        }
+        return request;
+    }
+
+    private static boolean admit(RateLimitInterceptor interceptor, MockHttpServletRequest request) {
+        return interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+
+    @Test
+    void rejectsWithRetryAfterOnceClientExceedsLimit() {
+        final var interceptor = interceptor("token-bucket", "");
+        assertTrue(admit(interceptor, request("10.0.0.1", null)));
+        assertTrue(admit(interceptor, request("10.0.0.1", null)));
+
+        final var response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("10.0.0.1", null), response, new Object()));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), response.getStatus());
+        // One token every two seconds.
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void limitsEachClientSeparately() {
+        final var byAddress = interceptor("fixed-window", "");
+        admit(byAddress, request("10.0.0.1", null));
+        admit(byAddress, request("10.0.0.1", null));
+        assertFalse(admit(byAddress, request("10.0.0.1", null)));
+        assertTrue(admit(byAddress, request("10.0.0.2", null)));
+
+        final var byHeader = interceptor("fixed-window", "X-Client");
+        admit(byHeader, request("10.0.0.1", "a"));
+        admit(byHeader, request("10.0.0.1", "a"));
+        assertFalse(admit(byHeader, request("10.0.0.1", "a")));
+        assertTrue(admit(byHeader, request("10.0.0.1", "b")));
+        // Without the header, the client falls back to its address.
+        assertTrue(admit(byHeader, request("10.0.0.1", null)));
+    }
+
+    @Test
+    void asyncDispatchAndNoneModeAreNotLimited() {
+        final var interceptor = interceptor("token-bucket", "");
+        admit(interceptor, request("10.0.0.1", null));
+        admit(interceptor, request("10.0.0.1", null));
+        final var redispatch = request("10.0.0.1", null);
+        redispatch.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(admit(interceptor, redispatch));
+
+        final var none = interceptor("none", "");
+        for (int i = 0; i < 100; i++) {
+            assertTrue(admit(none, request("10.0.0.1", null)));
+        }
+    }
+
+    @Test
+    void countsDecisionsByOutcome() {
+        final var interceptor = interceptor("token-bucket", "");
+        final var registry = new SimpleMeterRegistry();
+        interceptor.bindTo(registry);
+        for (int i = 0; i < 5; i++) {
+            admit(interceptor, request("10.0.0.1", null));
+        }
+
+        assertEquals(
+                2,
+                registry.get("mock.rate-limit.requests")
+                        .tag("outcome", "admitted")
+                        .functionCounter()
+                        .count());
+        assertEquals(
+                3,
+                registry.get("mock.rate-limit.requests")
+                        .tag("outcome", "rejected")
+                        .functionCounter()
+                        .count());
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimitTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admitsBurstThenOneRequestPerInterval() {
+        final var start = 1_000 * SECOND;
+        final var limit = new TokenBucketRateLimit(3, 2, start);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limit.tryAcquire(start));
+        }
+        assertEquals(SECOND / 2, limit.tryAcquire(start));
+        assertEquals(SECOND / 4, limit.tryAcquire(start + SECOND / 4));
+        assertEquals(0, limit.tryAcquire(start + SECOND / 2));
+        assertEquals(SECOND / 2, limit.tryAcquire(start + SECOND / 2));
+    }
+
+    @Test
+    void idleTimeRefillsNoMoreThanCapacity() {
+        final var start = 1_000 * SECOND;
+        final var limit = new TokenBucketRateLimit(2, 10, start);
+        limit.tryAcquire(start);
+        limit.tryAcquire(start);
+
+        final var later = start + 60 * SECOND;
+        assertEquals(0, limit.tryAcquire(later));
+        assertEquals(0, limit.tryAcquire(later));
+        assertEquals(SECOND / 10, limit.tryAcquire(later));
+        assertEquals(later, limit.lastAccessNanos());
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacity() throws Exception {
+        final var now = 1_000 * SECOND;
+        final var limit = new TokenBucketRateLimit(100, 1, now);
+        final var admitted = new AtomicInteger();
+        final var executor = Executors.newFixedThreadPool(8);
+        final var start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < 8; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < 100; i++) {
+                        if (limit.tryAcquire(now) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            start.countDown();
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(100, admitted.get());
+    }
+}